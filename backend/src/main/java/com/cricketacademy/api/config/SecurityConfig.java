@@ -42,6 +42,8 @@ public class SecurityConfig {
                                 .csrf(AbstractHttpConfigurer::disable)
                                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                                 .authorizeHttpRequests(auth -> auth
+                                                // Must precede the public /api/bookings/** rule below
+                                                .requestMatchers("/api/bookings/admin/**").hasRole("ADMIN")
                                                 .requestMatchers(
                                                                 "/auth/**",
                                                                 "/api/auth/**",
@@ -60,11 +62,15 @@ public class SecurityConfig {
                                                                 "/api/payments/config",
                                                                 "/api/payments/methods",
                                                                 "/api/payments/razorpay/order",
+                                                                // Gateways cannot log in; webhooks are signature-checked instead
+                                                                "/api/payments/webhook/**",
                                                                 "/error")
                                                 .permitAll()
                                                 // Allow public read access to contact info for Homepage "Get in Touch"
                                                 .requestMatchers(HttpMethod.GET, "/api/contact", "/api/contact/*")
                                                 .permitAll()
+                                                // Issues real gateway refunds
+                                                .requestMatchers("/api/payments/razorpay/refund").hasRole("ADMIN")
                                                 .requestMatchers("/api/payments/**").authenticated()
                                                 .requestMatchers("/uploads/**").permitAll()
                                                 .requestMatchers("/api/admin/upload/**").hasRole("ADMIN")
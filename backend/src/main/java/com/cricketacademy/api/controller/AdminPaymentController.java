@@ -0,0 +1,35 @@
+package com.cricketacademy.api.controller;
+
+import com.cricketacademy.api.service.PaymentReconciliationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/payments")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@CrossOrigin(origins = "*")
+public class AdminPaymentController {
+
+    private final PaymentReconciliationService reconciliationService;
+
+    @GetMapping("/reconciliation")
+    public ResponseEntity<?> getLastReconciliationReport() {
+        return reconciliationService.getLastReport()
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @PostMapping("/reconciliation/run")
+    public ResponseEntity<?> runReconciliation() {
+        return reconciliationService.run()
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(Map.of("message", "Reconciliation is already running")));
+    }
+}
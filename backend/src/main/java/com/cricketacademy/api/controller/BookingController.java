@@ -1,16 +1,31 @@
 package com.cricketacademy.api.controller;
 
+import com.cricketacademy.api.dto.AvailabilityCalendarDTO;
+import com.cricketacademy.api.dto.BookingFilterDTO;
+import com.cricketacademy.api.dto.BookingPageDTO;
 import com.cricketacademy.api.dto.BookingRequestDTO;
 import com.cricketacademy.api.dto.BookingResponseDTO;
+import com.cricketacademy.api.service.AvailabilityCalendarService;
+import com.cricketacademy.api.service.BookingExportService;
 import com.cricketacademy.api.service.BookingService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -20,6 +35,11 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
+    private final AvailabilityCalendarService availabilityCalendarService;
+
+    @Value("${app.booking.export-timeout-ms:1800000}")
+    private long exportTimeoutMillis;
 
     @PostMapping
     public ResponseEntity<BookingResponseDTO> createBooking(@RequestBody BookingRequestDTO request) {
@@ -48,6 +68,29 @@ public class BookingController {
         }
     }
 
+    /**
+     * Occupancy of every ground and/or net for up to 31 days in one call.
+     * Pass {@code encoding=packed} for a base64 bitset instead of the matrix.
+     */
+    @GetMapping("/availability-calendar")
+    public ResponseEntity<AvailabilityCalendarDTO> getAvailabilityCalendar(
+            @RequestParam LocalDate from,
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Long groundId,
+            @RequestParam(required = false) String encoding) {
+        try {
+            return ResponseEntity.ok(availabilityCalendarService.getCalendar(from, days, type, groundId,
+                    "packed".equalsIgnoreCase(encoding)));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid availability calendar request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error building availability calendar: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @GetMapping("/date/{date}/type/{type}")
     public ResponseEntity<List<BookingResponseDTO>> getBookingsByDateAndType(
             @PathVariable LocalDate date,
@@ -173,6 +216,59 @@ public class BookingController {
         }
     }
 
+    // Admin: keyset-paginated listing with optional filters, newest first
+    @GetMapping("/admin/page")
+    public ResponseEntity<BookingPageDTO> getBookingsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String paymentStatus,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) String groundId) {
+        try {
+            BookingFilterDTO filter = new BookingFilterDTO(status, paymentStatus, from, to, groundId);
+            return ResponseEntity.ok(bookingService.getBookingsPage(filter, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid booking page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error fetching booking page: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Admin: stream every booking as NDJSON (default) or CSV without buffering the table
+    @GetMapping("/admin/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "ndjson") String format, HttpServletRequest request) {
+        BookingExportService.Format exportFormat;
+        try {
+            exportFormat = BookingExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.error("Unsupported export format: {}", format);
+            return ResponseEntity.badRequest().build();
+        }
+
+        // A full export outlives the default async timeout; extend it for this request only
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor("bookingExportTimeout",
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                        ((AsyncWebRequest) webRequest).setTimeout(exportTimeoutMillis);
+                    }
+                });
+
+        boolean csv = exportFormat == BookingExportService.Format.CSV;
+        StreamingResponseBody body = outputStream -> bookingExportService.export(exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(csv ? MediaType.parseMediaType("text/csv; charset=UTF-8")
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+
     @GetMapping("/admin/{bookingId}")
     public ResponseEntity<BookingResponseDTO> getBookingById(@PathVariable Long bookingId) {
         try {
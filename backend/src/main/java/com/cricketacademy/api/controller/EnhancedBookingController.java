@@ -1,16 +1,19 @@
 package com.cricketacademy.api.controller;
 
 import com.cricketacademy.api.dto.EnhancedBookingRequestDTO;
+import com.cricketacademy.api.dto.PriceQuoteRequestDTO;
 import com.cricketacademy.api.entity.Booking;
 import com.cricketacademy.api.entity.PricingPackage;
 import com.cricketacademy.api.entity.AddOnService;
 import com.cricketacademy.api.entity.Team;
 import com.cricketacademy.api.service.BookingService;
+import com.cricketacademy.api.service.PriceQuoteEngine;
 import com.cricketacademy.api.repository.BookingRepository;
 import com.cricketacademy.api.repository.PricingPackageRepository;
 import com.cricketacademy.api.repository.AddOnServiceRepository;
 import com.cricketacademy.api.repository.TeamRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -27,6 +30,10 @@ public class EnhancedBookingController {
     private final PricingPackageRepository pricingPackageRepository;
     private final AddOnServiceRepository addOnServiceRepository;
     private final TeamRepository teamRepository;
+    private final PriceQuoteEngine priceQuoteEngine;
+
+    @Value("${app.pricing.max-batch-size:10000}")
+    private int maxQuoteBatchSize;
 
     @PostMapping("/enhanced")
     public ResponseEntity<Booking> createEnhancedBooking(@RequestBody EnhancedBookingRequestDTO request) {
@@ -38,6 +45,26 @@ public class EnhancedBookingController {
         return ResponseEntity.ok(pricingPackageRepository.findByPackageTypeAndIsActiveTrue(type));
     }
 
+    @PostMapping("/quotes")
+    public ResponseEntity<?> quote(@RequestBody PriceQuoteRequestDTO request) {
+        if (request.getSlots() == null || request.getSlots().isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("message", "At least one slot is required"));
+        }
+        if (request.getSlots().size() > maxQuoteBatchSize) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "At most " + maxQuoteBatchSize + " slots can be quoted at once"));
+        }
+        List<PriceQuoteEngine.Slot> slots = request.getSlots().stream()
+                .map(slot -> new PriceQuoteEngine.Slot(slot.getDate(), slot.getStartTime(), slot.getEndTime()))
+                .toList();
+        try {
+            return ResponseEntity.ok(priceQuoteEngine.quoteAll(request.getPackageType(),
+                    request.getPricingPackageId(), slots, request.getNumberOfPlayers()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @GetMapping("/add-on-services")
     public ResponseEntity<List<AddOnService>> getAddOnServices() {
         return ResponseEntity.ok(addOnServiceRepository.findByIsAvailableTrue());
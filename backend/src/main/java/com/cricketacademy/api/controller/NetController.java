@@ -9,6 +9,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -81,8 +82,11 @@ public class NetController {
     }
 
     @GetMapping("/{id}/availability")
-    public ResponseEntity<List<NetDTO>> getAvailableNetsByDate(@PathVariable Long id) {
-        return ResponseEntity.ok(netService.getAvailableNetsByDate(id));
+    public ResponseEntity<List<NetDTO>> getNetAvailabilityForDay(
+            @PathVariable Long id,
+            @RequestParam(required = false) String date) {
+        String day = date != null ? date : LocalDate.now().toString();
+        return ResponseEntity.ok(netService.getAvailableNetsByDate(id, day));
     }
 
     @GetMapping("/{id}/bookings")
@@ -94,7 +98,7 @@ public class NetController {
     public ResponseEntity<List<NetDTO>> getAvailableNetsByDate(
             @PathVariable Long id,
             @PathVariable String date) {
-        return ResponseEntity.ok(netService.getAvailableNetsByDate(id));
+        return ResponseEntity.ok(netService.getAvailableNetsByDate(id, date));
     }
 
     @GetMapping("/{id}/bookings/{date}/available/{time}")
@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,9 +23,11 @@ public class PaymentController {
     private final EmailService emailService;
 
     @PostMapping("/create-order")
-    public ResponseEntity<PaymentResponseDTO> createPaymentOrder(@RequestBody Map<String, Object> paymentRequest) {
+    public ResponseEntity<PaymentResponseDTO> createPaymentOrder(@RequestBody Map<String, Object> paymentRequest,
+            Principal principal) {
         try {
-            PaymentResponseDTO response = paymentService.createPaymentOrder(paymentRequest);
+            PaymentResponseDTO response = paymentService.createPaymentOrder(paymentRequest,
+                    principal != null ? principal.getName() : null);
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
             log.error("Invalid payment request: {}", e.getMessage());
@@ -108,22 +111,32 @@ public class PaymentController {
         }
     }
 
+    /**
+     * Accepts a gateway webhook. The raw body is verified and queued, then
+     * acknowledged straight away; processing happens asynchronously.
+     */
     @PostMapping("/webhook/{gateway}")
     public ResponseEntity<Void> handleWebhook(
             @PathVariable String gateway,
-            @RequestBody Map<String, Object> webhookData) {
+            @RequestBody String payload,
+            @RequestHeader(value = "X-Razorpay-Signature", required = false) String signature,
+            @RequestHeader(value = "X-Razorpay-Event-Id", required = false) String eventId) {
         try {
-            paymentService.handleWebhook(gateway, webhookData);
+            paymentService.handleWebhook(gateway, payload, signature, eventId);
             return ResponseEntity.ok().build();
+        } catch (SecurityException | IllegalArgumentException e) {
+            log.warn("Rejected webhook from {}: {}", gateway, e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
-            log.error("Error processing webhook: {}", e.getMessage());
+            log.error("Error queueing webhook: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
         }
     }
 
     // Razorpay specific endpoints
     @PostMapping("/razorpay/order")
-    public ResponseEntity<PaymentResponseDTO> createRazorpayOrder(@RequestBody Map<String, Object> orderRequest) {
+    public ResponseEntity<PaymentResponseDTO> createRazorpayOrder(@RequestBody Map<String, Object> orderRequest,
+            Principal principal) {
         try {
             log.info("Received Razorpay order request: {}", orderRequest);
 
@@ -144,8 +157,13 @@ public class PaymentController {
             if (orderRequest.get("receipt") != null) {
                 razorpayRequest.put("receipt", orderRequest.get("receipt"));
             }
+            if (orderRequest.get("bookingId") != null) {
+                razorpayRequest.put("bookingId", orderRequest.get("bookingId"));
+            }
 
-            PaymentResponseDTO response = paymentService.createPaymentOrder(razorpayRequest);
+            // Anonymous callers still get an order, but it is never linked to the booking
+            PaymentResponseDTO response = paymentService.createPaymentOrder(razorpayRequest,
+                    principal != null ? principal.getName() : null);
             log.info("Razorpay order created successfully: {}", response.getOrderId());
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
@@ -217,16 +235,27 @@ public class PaymentController {
     @PostMapping("/razorpay/refund")
     public ResponseEntity<?> refundRazorpayPayment(@RequestBody Map<String, Object> refundRequest) {
         try {
-            // For now, return a basic response. In production, you'd process refund via
-            // Razorpay API
-            Map<String, Object> refund = Map.of(
-                    "success", true,
-                    "refundId", "refund_" + System.currentTimeMillis(),
-                    "message", "Refund processed successfully");
-            return ResponseEntity.ok(refund);
+            Object paymentId = refundRequest.get("paymentId");
+            if (paymentId == null) {
+                return ResponseEntity.badRequest().body(Map.of(
+                        "success", false,
+                        "message", "paymentId is required"));
+            }
+            Object amount = refundRequest.get("amount");
+            Long refundAmount = amount instanceof Number ? ((Number) amount).longValue()
+                    : amount != null ? Long.valueOf(amount.toString()) : null;
+
+            return ResponseEntity.ok(paymentService.refundPayment(paymentId.toString(), refundAmount));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid refund request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "Invalid refund request: " + e.getMessage()));
         } catch (Exception e) {
             log.error("Error processing Razorpay refund: {}", e.getMessage());
-            return ResponseEntity.internalServerError().build();
+            return ResponseEntity.internalServerError().body(Map.of(
+                    "success", false,
+                    "message", "Failed to process refund. Please try again."));
         }
     }
 
@@ -1,37 +1,77 @@
 package com.cricketacademy.api.controller;
 
-import com.cricketacademy.api.dto.FacilityItemDTO;
-import com.cricketacademy.api.dto.StarPlayerDTO;
 import com.cricketacademy.api.service.HomepageContentService;
+import com.cricketacademy.api.service.HomepagePayloadCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
 
+/**
+ * Public homepage content, served from pre-serialized payloads. Responses carry
+ * an ETag and {@code Cache-Control: no-cache}, so browsers revalidate on every
+ * load and receive 304 Not Modified while the content is unchanged.
+ */
 @RestController
 @RequestMapping("/api/homepage")
 @RequiredArgsConstructor
 public class PublicHomepageController {
 
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
     private final HomepageContentService service;
+    private final HomepagePayloadCache payloadCache;
 
     @GetMapping("/players")
-    public ResponseEntity<List<StarPlayerDTO>> getPlayers() {
-        return ResponseEntity.ok(service.listPlayers());
+    public ResponseEntity<byte[]> getPlayers(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return respond(payloadCache.json(HomepagePayloadCache.Section.PLAYERS, service::listPlayers),
+                MediaType.APPLICATION_JSON, ifNoneMatch);
     }
 
     @GetMapping("/facilities")
-    public ResponseEntity<List<FacilityItemDTO>> getFacilities() {
-        return ResponseEntity.ok(service.listFacilities());
+    public ResponseEntity<byte[]> getFacilities(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return respond(payloadCache.json(HomepagePayloadCache.Section.FACILITIES, service::listFacilities),
+                MediaType.APPLICATION_JSON, ifNoneMatch);
     }
 
     @GetMapping("/hero-image")
-    public ResponseEntity<String> getHeroImageUrl() {
-        String imageUrl = service.getHeroImageUrl();
-        if (imageUrl == null || imageUrl.trim().isEmpty()) {
-            return ResponseEntity.ok("");
+    public ResponseEntity<byte[]> getHeroImageUrl(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return respond(payloadCache.text(HomepagePayloadCache.Section.HERO_IMAGE, () -> {
+            String imageUrl = service.getHeroImageUrl();
+            return imageUrl == null || imageUrl.trim().isEmpty() ? "" : imageUrl;
+        }), TEXT_PLAIN_UTF8, ifNoneMatch);
+    }
+
+    /**
+     * Resized copies of the hero image as JSON; {@code null} when there are
+     * none yet.
+     */
+    @GetMapping("/hero-image/variants")
+    public ResponseEntity<byte[]> getHeroImageVariants(
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return respond(payloadCache.json(HomepagePayloadCache.Section.HERO_IMAGE_VARIANTS,
+                service::getHeroImageVariants), MediaType.APPLICATION_JSON, ifNoneMatch);
+    }
+
+    private ResponseEntity<byte[]> respond(HomepagePayloadCache.Payload payload, MediaType contentType,
+            String ifNoneMatch) {
+        if (ifNoneMatch != null && (ifNoneMatch.contains(payload.etag()) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(payload.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
         }
-        return ResponseEntity.ok(imageUrl);
+        return ResponseEntity.ok()
+                .eTag(payload.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(contentType)
+                .body(payload.body());
     }
-}
\ No newline at end of file
+}
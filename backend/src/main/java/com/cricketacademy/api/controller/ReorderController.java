@@ -4,6 +4,7 @@ import com.cricketacademy.api.repository.FacilityItemRepository;
 import com.cricketacademy.api.repository.StarPlayerRepository;
 import com.cricketacademy.api.entity.FacilityItem;
 import com.cricketacademy.api.entity.StarPlayer;
+import com.cricketacademy.api.service.HomepagePayloadCache;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +22,7 @@ public class ReorderController {
 
     private final StarPlayerRepository starRepo;
     private final FacilityItemRepository facRepo;
+    private final HomepagePayloadCache payloadCache;
 
     @Data
     public static class ReorderItem {
@@ -37,6 +39,7 @@ public class ReorderController {
                 p.setSortOrder(item.sortOrder);
             }
         }
+        payloadCache.invalidate(HomepagePayloadCache.Section.PLAYERS);
         return ResponseEntity.noContent().build();
     }
 
@@ -49,6 +52,7 @@ public class ReorderController {
                 f.setSortOrder(item.sortOrder);
             }
         }
+        payloadCache.invalidate(HomepagePayloadCache.Section.FACILITIES);
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -1,6 +1,12 @@
 package com.cricketacademy.api.controller;
 
+import com.cricketacademy.api.exception.FileTooLargeException;
+import com.cricketacademy.api.service.ImageDerivativeService;
+import com.cricketacademy.api.service.RemoteFileFetcher;
+import com.cricketacademy.api.service.UploadStore;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -8,31 +14,32 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.UUID;
-import javax.net.ssl.SSLContext;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import javax.net.ssl.SSLHandshakeException;
-import javax.net.ssl.SSLParameters;
-import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Arrays;
 
 @RestController
 @RequestMapping("/api/admin/upload")
 @PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
 public class UploadController {
 
-    @Value("${app.upload.dir:uploads}")
-    private String uploadDir;
+    private static final Pattern DRIVE_FILE_PATH = Pattern.compile("/file/d/([^/]+)");
+    private static final Pattern DRIVE_CONFIRM_TOKEN = Pattern.compile("confirm=([0-9A-Za-z_\\-]+)");
+    private static final int DRIVE_WARNING_SCAN_BYTES = 256 * 1024;
+
+    private final RemoteFileFetcher remoteFileFetcher;
+    private final UploadStore uploadStore;
+    private final ImageDerivativeService imageDerivativeService;
 
     @Value("${app.upload.max-size-bytes:20971520}") // default 20MB
     private long maxSizeBytes;
@@ -46,12 +53,6 @@ public class UploadController {
             "127.0.0.1",
             "ibb.co");
 
-    private Path ensureUploadDir() throws IOException {
-        Path dir = Paths.get(uploadDir).toAbsolutePath();
-        Files.createDirectories(dir);
-        return dir;
-    }
-
     private static String getFileExtension(String filename) {
         if (filename == null)
             return "";
@@ -119,8 +120,6 @@ public class UploadController {
             return ResponseEntity.badRequest().body("Only image and video files are allowed");
         }
 
-        Path dir = ensureUploadDir();
-
         String originalName = file.getOriginalFilename();
         String ext = getFileExtension(originalName);
         if (ext.isEmpty()) {
@@ -130,10 +129,13 @@ public class UploadController {
             ext = ".bin"; // generic fallback
         }
 
-        String filename = UUID.randomUUID() + ext;
-        Path target = dir.resolve(filename);
-        Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-        return ResponseEntity.ok("/uploads/" + filename);
+        try (InputStream in = file.getInputStream()) {
+            String storedUrl = uploadStore.store(in, ext, contentType, maxSizeBytes).url();
+            imageDerivativeService.submit(storedUrl);
+            return ResponseEntity.ok(storedUrl);
+        } catch (FileTooLargeException e) {
+            return ResponseEntity.badRequest().body("File too large");
+        }
     }
 
     @PostMapping(value = "/from-url", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.TEXT_PLAIN_VALUE)
@@ -152,65 +154,17 @@ public class UploadController {
         }
 
         try {
-            SSLContext sslContext = SSLContext.getDefault(); // Use system default SSL context
-
-            SSLParameters sslParams = new SSLParameters();
-            sslParams.setProtocols(new String[] { "TLSv1.3", "TLSv1.2" });
-            sslParams.setCipherSuites(new String[] {
-                    "TLS_AES_256_GCM_SHA384",
-                    "TLS_AES_128_GCM_SHA256",
-                    "TLS_CHACHA20_POLY1305",
-                    "TLS_ECDHE_ECDSA_WITH_AES_256_GCM_SHA384",
-                    "TLS_ECDHE_RSA_WITH_AES_256_GCM_SHA384",
-                    "TLS_ECDHE_ECDSA_WITH_AES_128_GCM_SHA256",
-                    "TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256",
-                    "TLS_ECDHE_ECDSA_WITH_CHACHA20_POLY1305",
-                    "TLS_ECDHE_RSA_WITH_CHACHA20_POLY1305"
-            });
-
-            // Use default JVM-supported protocols and cipher suites for broad compatibility
-            HttpClient client = HttpClient.newBuilder()
-                    .sslContext(sslContext)
-                    .connectTimeout(Duration.ofSeconds(15))
-                    .followRedirects(HttpClient.Redirect.NORMAL)
-                    .version(HttpClient.Version.HTTP_2)
-                    .build();
-
-            // Add headers to mimic browser behavior and reduce hotlink protection issues
             // Special handling for Google Drive links to obtain a direct-download URL
             String effectiveUrl = url;
+            String driveFileId = null;
             try {
                 URI u = URI.create(url);
-                String host = u.getHost() == null ? "" : u.getHost();
-                if (host.equals("drive.google.com") || host.equals("docs.google.com")) {
-                    String fileId = null;
-                    String path = u.getPath();
-                    if (path != null) {
-                        java.util.regex.Matcher m = java.util.regex.Pattern.compile("/file/d/([^/]+)").matcher(path);
-                        if (m.find()) {
-                            fileId = m.group(1);
-                        }
-                    }
-                    if (fileId == null) {
-                        String query = u.getQuery();
-                        if (query != null) {
-                            for (String p : query.split("&")) {
-                                int eq = p.indexOf('=');
-                                String key = eq >= 0 ? p.substring(0, eq) : p;
-                                String val = eq >= 0 ? p.substring(eq + 1) : "";
-                                if ("id".equals(key)) {
-                                    fileId = val;
-                                    break;
-                                }
-                            }
-                        }
-                    }
-                    if (fileId != null && !fileId.isEmpty()) {
-                        // Direct download endpoint; HttpClient will follow redirects
-                        effectiveUrl = "https://drive.google.com/uc?export=download&id=" + fileId;
-                    }
+                driveFileId = googleDriveFileId(u);
+                if (driveFileId != null) {
+                    // Direct download endpoint; HttpClient will follow redirects
+                    effectiveUrl = "https://drive.google.com/uc?export=download&id=" + driveFileId;
                 }
-            } catch (Exception ignored) {
+            } catch (IllegalArgumentException ignored) {
             }
 
             URI targetUri = URI.create(effectiveUrl);
@@ -219,153 +173,99 @@ public class UploadController {
             if (port != -1 && port != 80 && port != 443) {
                 origin += ":" + port;
             }
-            HttpRequest req = HttpRequest.newBuilder(targetUri)
-                    .timeout(Duration.ofSeconds(25))
-                    .header("User-Agent",
-                            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
-                    .header("Accept", "image/*,video/*,*/*")
-                    .header("Accept-Language", "en-US,en;q=0.9")
-                    .header("Accept-Encoding", "gzip, deflate, br")
-                    // Many hosts require Origin/Referer to allow resource access
-                    .header("Origin", origin)
-                    .header("Referer", origin + "/")
-                    .GET()
-                    .build();
-
-            HttpResponse<byte[]> resp = client.send(req, HttpResponse.BodyHandlers.ofByteArray());
-
-            if (resp.statusCode() >= 400) {
-                // Enhanced error handling for Google Drive URLs
-                if ((targetUri.getHost() != null && (targetUri.getHost().contains("drive.google.com")
-                        || targetUri.getHost().contains("docs.google.com")))
-                        && resp.statusCode() == 403) {
-                    String message = "Access denied (403 Forbidden) when trying to fetch the Google Drive URL. " +
-                            "This usually means the file or folder is not publicly shared. " +
-                            "Please ensure the file or folder is shared publicly or accessible via a direct download link. "
-                            +
-                            "For folders, Google Drive does not allow direct downloads; you need to share individual files publicly. "
-                            +
-                            "Refer to Google Drive sharing settings to update permissions.";
-                    return ResponseEntity.badRequest().body(message);
-                }
-                return ResponseEntity.badRequest().body("Failed to fetch URL: HTTP " + resp.statusCode() +
-                        ". Server returned error status.");
-            }
-
-            byte[] data = resp.body();
-            if (data == null || data.length == 0) {
-                return ResponseEntity.badRequest().body("Empty content from URL");
-            }
-
-            if (data.length > maxSizeBytes) {
-                return ResponseEntity.badRequest().body("File too large. Maximum size: " +
-                        (maxSizeBytes / (1024 * 1024)) + "MB");
-            }
-
-            String ct = resp.headers().firstValue("content-type").orElse(null);
+            // Many hosts require Origin/Referer to allow resource access
+            Map<String, String> headers = new LinkedHashMap<>();
+            headers.put("Origin", origin);
+            headers.put("Referer", origin + "/");
 
-            // If Google Drive returned an HTML page, try confirm-token flow
-            if (ct != null && ct.startsWith("text/html") && targetUri.getHost() != null &&
-                    (targetUri.getHost().contains("drive.google.com")
-                            || targetUri.getHost().contains("docs.google.com"))) {
-                try {
-                    String html = new String(resp.body(), java.nio.charset.StandardCharsets.UTF_8);
-                    java.util.regex.Matcher m = java.util.regex.Pattern.compile("confirm=([0-9A-Za-z_\\-]+)")
-                            .matcher(html);
-                    String confirmToken = null;
-                    if (m.find()) {
-                        confirmToken = m.group(1);
-                    }
-                    // Extract fileId again from URL
-                    String fileId2 = null;
-                    try {
-                        String path = targetUri.getPath();
-                        if (path != null) {
-                            java.util.regex.Matcher m2 = java.util.regex.Pattern.compile("/file/d/([^/]+)")
-                                    .matcher(path);
-                            if (m2.find())
-                                fileId2 = m2.group(1);
-                        }
-                        if (fileId2 == null) {
-                            String query = targetUri.getQuery();
-                            if (query != null) {
-                                for (String p : query.split("&")) {
-                                    int eq = p.indexOf('=');
-                                    String key = eq >= 0 ? p.substring(0, eq) : p;
-                                    String val = eq >= 0 ? p.substring(eq + 1) : "";
-                                    if ("id".equals(key)) {
-                                        fileId2 = val;
-                                        break;
-                                    }
-                                }
-                            }
-                        }
-                    } catch (Exception ignored) {
+            Path dir = uploadStore.root();
+            RemoteFileFetcher.Download download = remoteFileFetcher.fetch(targetUri, headers, dir, maxSizeBytes);
+            try {
+                if (download.statusCode() >= 400) {
+                    // Enhanced error handling for Google Drive URLs
+                    if (isGoogleDriveHost(targetUri) && download.statusCode() == 403) {
+                        String message = "Access denied (403 Forbidden) when trying to fetch the Google Drive URL. " +
+                                "This usually means the file or folder is not publicly shared. " +
+                                "Please ensure the file or folder is shared publicly or accessible via a direct download link. "
+                                +
+                                "For folders, Google Drive does not allow direct downloads; you need to share individual files publicly. "
+                                +
+                                "Refer to Google Drive sharing settings to update permissions.";
+                        return ResponseEntity.badRequest().body(message);
                     }
+                    return ResponseEntity.badRequest().body("Failed to fetch URL: HTTP " + download.statusCode() +
+                            ". Server returned error status.");
+                }
 
-                    if (confirmToken != null && fileId2 != null) {
+                String ct = download.contentType();
+
+                // If Google Drive returned an HTML page (virus-scan warning), follow the confirm-token flow
+                if (ct != null && ct.startsWith("text/html") && isGoogleDriveHost(targetUri)) {
+                    String confirmToken = findDriveConfirmToken(download.file());
+                    String fileId = googleDriveFileId(targetUri);
+                    if (confirmToken != null && fileId != null) {
                         String confirmUrl = "https://drive.google.com/uc?export=download&confirm=" + confirmToken
-                                + "&id=" + fileId2;
+                                + "&id=" + fileId;
                         // Collect cookies from first response
-                        java.util.List<String> setCookies = resp.headers().allValues("set-cookie");
                         StringBuilder cookieSb = new StringBuilder();
-                        for (String sc : setCookies) {
+                        for (String sc : download.headers().allValues("set-cookie")) {
                             int semi = sc.indexOf(';');
                             String nv = semi >= 0 ? sc.substring(0, semi) : sc;
                             if (cookieSb.length() > 0)
                                 cookieSb.append("; ");
                             cookieSb.append(nv);
                         }
-                        String cookieHeader = cookieSb.toString();
-
-                        HttpRequest confirmReq = HttpRequest.newBuilder(URI.create(confirmUrl))
-                                .timeout(Duration.ofSeconds(25))
-                                .header("User-Agent",
-                                        "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
-                                .header("Accept", "image/*,video/*,*/*")
-                                .header("Accept-Language", "en-US,en;q=0.9")
-                                .header("Accept-Encoding", "gzip, deflate, br")
-                                .header("Origin", origin)
-                                .header("Referer", origin + "/")
-                                .header("Cookie", cookieHeader)
-                                .GET()
-                                .build();
-
-                        resp = client.send(confirmReq, HttpResponse.BodyHandlers.ofByteArray());
-                        ct = resp.headers().firstValue("content-type").orElse(ct);
+                        Map<String, String> confirmHeaders = new LinkedHashMap<>(headers);
+                        confirmHeaders.put("Cookie", cookieSb.toString());
+
+                        RemoteFileFetcher.Download confirmed = remoteFileFetcher.fetch(URI.create(confirmUrl),
+                                confirmHeaders, dir, maxSizeBytes);
+                        download.close();
+                        download = confirmed;
+                        ct = download.contentType() != null ? download.contentType() : ct;
                     }
-                } catch (Exception ignored) {
                 }
-            }
 
-            // Validate content type
-            if (ct != null && !ct.startsWith("image/") && !ct.startsWith("video/")) {
-                return ResponseEntity.badRequest().body("Only image and video content types are allowed. " +
-                        "Received content type: " + ct);
-            }
+                if (download.size() == 0) {
+                    return ResponseEntity.badRequest().body("Empty content from URL");
+                }
 
-            String nameFromUrl = null;
-            try {
-                String path = URI.create(url).getPath();
-                if (path != null && !path.isEmpty()) {
-                    int idx = path.lastIndexOf('/');
-                    nameFromUrl = (idx >= 0 ? path.substring(idx + 1) : path);
+                // Validate content type
+                if (ct != null && !ct.startsWith("image/") && !ct.startsWith("video/")) {
+                    return ResponseEntity.badRequest().body("Only image and video content types are allowed. " +
+                            "Received content type: " + ct);
                 }
-            } catch (IllegalArgumentException ignored) {
+
+                String nameFromUrl = null;
+                try {
+                    String path = URI.create(url).getPath();
+                    if (path != null && !path.isEmpty()) {
+                        int idx = path.lastIndexOf('/');
+                        nameFromUrl = (idx >= 0 ? path.substring(idx + 1) : path);
+                    }
+                } catch (IllegalArgumentException ignored) {
+                }
+
+                String ext = getFileExtension(preferredName);
+                if (ext.isEmpty())
+                    ext = getFileExtension(nameFromUrl);
+                if (ext.isEmpty())
+                    ext = extFromContentType(ct);
+                if (ext.isEmpty())
+                    ext = ".bin";
+
+                String storedUrl = uploadStore.store(download, ext).url();
+                imageDerivativeService.submit(storedUrl);
+                return ResponseEntity.ok(storedUrl);
+            } finally {
+                download.close();
             }
 
-            String ext = getFileExtension(preferredName);
-            if (ext.isEmpty())
-                ext = getFileExtension(nameFromUrl);
-            if (ext.isEmpty())
-                ext = extFromContentType(ct);
-            if (ext.isEmpty())
-                ext = ".bin";
+        } catch (FileTooLargeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
 
-            Path dir = ensureUploadDir();
-            String filename = UUID.randomUUID() + ext;
-            Files.write(dir.resolve(filename), data);
-            return ResponseEntity.ok("/uploads/" + filename);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
 
         } catch (SSLHandshakeException e) {
             // Log detailed SSL handshake error for debugging
@@ -376,10 +276,6 @@ public class UploadController {
                     ". The URL may have SSL/TLS issues, use an unsupported protocol version, " +
                     "or be blocked by the server. Please ensure the URL uses a valid SSL certificate.");
 
-        } catch (NoSuchAlgorithmException e) {
-            System.err.println("SSL Algorithm not available: " + e.getMessage());
-            return ResponseEntity.badRequest().body("SSL configuration error: " + e.getMessage());
-
         } catch (IOException e) {
             System.err.println("Network/IO error: " + e.getMessage());
             return ResponseEntity.badRequest().body("Failed to fetch URL: " + e.getMessage() +
@@ -395,4 +291,52 @@ public class UploadController {
                     e.getMessage());
         }
     }
+
+    private static boolean isGoogleDriveHost(URI uri) {
+        String host = uri.getHost();
+        return host != null && (host.contains("drive.google.com") || host.contains("docs.google.com"));
+    }
+
+    /**
+     * Extracts the file id from a Google Drive share link ("/file/d/{id}/..."
+     * or "?id={id}"), or returns null for other URLs.
+     */
+    private static String googleDriveFileId(URI uri) {
+        String host = uri.getHost() == null ? "" : uri.getHost();
+        if (!host.equals("drive.google.com") && !host.equals("docs.google.com")) {
+            return null;
+        }
+        String path = uri.getPath();
+        if (path != null) {
+            Matcher m = DRIVE_FILE_PATH.matcher(path);
+            if (m.find()) {
+                return m.group(1);
+            }
+        }
+        String query = uri.getQuery();
+        if (query != null) {
+            for (String p : query.split("&")) {
+                int eq = p.indexOf('=');
+                String key = eq >= 0 ? p.substring(0, eq) : p;
+                String val = eq >= 0 ? p.substring(eq + 1) : "";
+                if ("id".equals(key) && !val.isEmpty()) {
+                    return val;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the confirm token from the start of Google Drive's download warning
+     * page. Only the first part of the page is read; the token is near the top.
+     */
+    private static String findDriveConfirmToken(Path htmlFile) throws IOException {
+        byte[] head;
+        try (InputStream in = Files.newInputStream(htmlFile)) {
+            head = in.readNBytes(DRIVE_WARNING_SCAN_BYTES);
+        }
+        Matcher m = DRIVE_CONFIRM_TOKEN.matcher(new String(head, StandardCharsets.UTF_8));
+        return m.find() ? m.group(1) : null;
+    }
 }
@@ -0,0 +1,40 @@
+package com.cricketacademy.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Occupancy of every facility over a date range. {@code occupancy[f][d]} is a
+ * bitmask of the booked {@code slots} of facility f on day d (bit i set means
+ * slot i is booked). With the packed encoding {@code occupancy} is omitted and
+ * {@code packed} holds the same bits as base64, bit
+ * {@code (f * days + d) * slots.size() + i}, least significant bit first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AvailabilityCalendarDTO {
+
+    private LocalDate from;
+    private int days;
+    private List<String> slots;
+    private List<Facility> facilities;
+    private int[][] occupancy;
+    private String packed;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Facility {
+        private String type; // "ground" or "net"
+        private Long id;
+        private String name;
+        private Long groundId;
+    }
+}
@@ -0,0 +1,22 @@
+package com.cricketacademy.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Optional server-side filters for admin booking queries; null fields are ignored.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingFilterDTO {
+
+    private String status;
+    private String paymentStatus;
+    private LocalDate fromDate; // inclusive booking date
+    private LocalDate toDate; // inclusive booking date
+    private String groundId;
+}
@@ -0,0 +1,21 @@
+package com.cricketacademy.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the admin booking listing. Pass {@code nextCursor} back as the
+ * {@code cursor} parameter to fetch the following page; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPageDTO {
+
+    private List<BookingResponseDTO> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
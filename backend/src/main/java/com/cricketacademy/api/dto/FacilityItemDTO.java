@@ -10,6 +10,7 @@ public class FacilityItemDTO {
     private String title;
     private String description;
     private String imageUrl;
+    private ImageVariantsDTO imageVariants; // read-only, resized copies of imageUrl
     private List<String> features;
     private Integer sortOrder;
 }
\ No newline at end of file
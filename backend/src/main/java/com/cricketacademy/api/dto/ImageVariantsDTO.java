@@ -0,0 +1,18 @@
+package com.cricketacademy.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resized, metadata-free copies of an uploaded image. Each URL is null until
+ * that size has been generated; fall back to the original URL.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageVariantsDTO {
+    private String thumbnailUrl; // 320px wide
+    private String cardUrl; // 640px wide
+    private String heroUrl; // 1600px wide
+}
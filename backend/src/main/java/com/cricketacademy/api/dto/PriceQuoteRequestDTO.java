@@ -0,0 +1,26 @@
+package com.cricketacademy.api.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Slots to price in one call. {@code pricingPackageId} is optional; without it
+ * the hourly package of the type is used.
+ */
+@Data
+public class PriceQuoteRequestDTO {
+    private String packageType;
+    private Long pricingPackageId;
+    private Integer numberOfPlayers;
+    private List<SlotDTO> slots;
+
+    @Data
+    public static class SlotDTO {
+        private LocalDate date;
+        private LocalTime startTime;
+        private LocalTime endTime;
+    }
+}
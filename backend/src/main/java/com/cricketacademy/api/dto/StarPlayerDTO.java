@@ -9,6 +9,7 @@ public class StarPlayerDTO {
     private Long id; // optional for update
     private String name;
     private String photoUrl;
+    private ImageVariantsDTO photoVariants; // read-only, resized copies of photoUrl
     private List<String> achievements;
     private List<String> playerType;
     private List<String> represents;
@@ -26,7 +26,7 @@ public class Booking {
     private String bookingType; // "ground" or "net"
 
     @Column(nullable = false)
-    private String groundId;
+    private String groundId; // ground id, or the net id for "net" bookings
 
     @Column(nullable = false)
     private String groundName;
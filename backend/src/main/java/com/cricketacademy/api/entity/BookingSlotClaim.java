@@ -0,0 +1,54 @@
+package com.cricketacademy.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One 15-minute cell of a ground claimed by a booking. The unique key on
+ * (ground_id, booking_date, slot_cell) stops two nodes from committing
+ * overlapping bookings for the same ground.
+ */
+@Entity
+@Table(name = "booking_slot_claims", uniqueConstraints = @UniqueConstraint(name = "uk_slot_claim", columnNames = {
+        "ground_id", "booking_date", "slot_cell" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSlotClaim {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ground_id", nullable = false, length = 50)
+    private String groundId;
+
+    @Column(name = "booking_date", nullable = false)
+    private LocalDate bookingDate;
+
+    @Column(name = "slot_cell", nullable = false)
+    private Integer slotCell;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public BookingSlotClaim(String groundId, LocalDate bookingDate, Integer slotCell, Long bookingId) {
+        this.groundId = groundId;
+        this.bookingDate = bookingDate;
+        this.slotCell = slotCell;
+        this.bookingId = bookingId;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -1,5 +1,6 @@
 package com.cricketacademy.api.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -9,11 +10,15 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
-@Table(name = "grounds")
+@Table(name = "grounds", uniqueConstraints = @UniqueConstraint(name = Ground.NAME_INDEX, columnNames = {
+        "name_normalized" }))
 @Data
 public class Ground {
+    public static final String NAME_INDEX = "uk_grounds_name_normalized";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -21,6 +26,11 @@ public class Ground {
     @Column(nullable = false, unique = true)
     private String name;
 
+    // Backs the case-insensitive unique index; maintained from name
+    @JsonIgnore
+    @Column(name = "name_normalized", nullable = false, length = 100)
+    private String nameNormalized;
+
     @Column(columnDefinition = "TEXT")
     private String description;
 
@@ -159,4 +169,27 @@ public class Ground {
     @OneToMany(mappedBy = "ground", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
     @JsonManagedReference
     private List<Net> nets;
+
+    @PrePersist
+    @PreUpdate
+    protected void normalizeName() {
+        nameNormalized = normalizedName(name, id, nameNormalized);
+    }
+
+    public static String normalizeName(String name) {
+        return name != null ? name.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * The normalized name to store for a row. Rows that V60 found duplicating
+     * an older row's name were given a "#id" suffix; they keep it until they are
+     * renamed, otherwise the next edit would bring the collision back.
+     */
+    public static String normalizedName(String name, Long id, String current) {
+        String normalized = normalizeName(name);
+        if (normalized != null && id != null && (normalized + "#" + id).equals(current)) {
+            return current;
+        }
+        return normalized;
+    }
 }
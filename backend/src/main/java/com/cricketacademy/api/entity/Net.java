@@ -1,6 +1,7 @@
 package com.cricketacademy.api.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
@@ -10,9 +11,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "nets")
+@Table(name = "nets", uniqueConstraints = @UniqueConstraint(name = Net.NAME_INDEX, columnNames = { "ground_id",
+        "name_normalized" }))
 @Data
 public class Net {
+    public static final String NAME_INDEX = "uk_nets_ground_name_normalized";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -20,6 +24,11 @@ public class Net {
     @Column(nullable = false)
     private String name;
 
+    // Backs the case-insensitive (ground_id, name) unique index; maintained from name
+    @JsonIgnore
+    @Column(name = "name_normalized", nullable = false, length = 100)
+    private String nameNormalized;
+
     @Column(name = "net_number", length = 20)
     private String netNumber;
 
@@ -172,6 +181,12 @@ public class Net {
     @JsonBackReference
     private Ground ground;
 
+    @PrePersist
+    @PreUpdate
+    protected void normalizeName() {
+        nameNormalized = Ground.normalizedName(name, id, nameNormalized);
+    }
+
     public enum LocationType {
         INDOOR, OUTDOOR
     }
@@ -0,0 +1,31 @@
+package com.cricketacademy.api.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The last successfully scraped reviews of one source, stored as the JSON
+ * list served by the reviews API.
+ */
+@Entity
+@Table(name = "review_snapshots")
+@Data
+@NoArgsConstructor
+public class ReviewSnapshot {
+
+    @Id
+    @Column(name = "source", length = 32)
+    private String source;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String payload;
+
+    @Column(name = "fetched_at", nullable = false)
+    private LocalDateTime fetchedAt;
+}
@@ -5,12 +5,19 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Child collections use SUBSELECT fetching: touching one collection of a loaded
+ * player loads that collection for every player from the same query, so a
+ * homepage listing costs one query per collection rather than one per player.
+ */
 @Entity
 @Table(name = "star_players")
 @Data
@@ -29,24 +36,29 @@ public class StarPlayer {
     private String photoUrl;
 
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "star_player_achievements", joinColumns = @JoinColumn(name = "player_id"))
     @Column(name = "achievement")
     private List<String> achievements = new ArrayList<>();
 
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "star_player_types", joinColumns = @JoinColumn(name = "player_id"))
     @Column(name = "player_type")
     private List<String> playerType = new ArrayList<>();
 
     @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "star_player_represents", joinColumns = @JoinColumn(name = "player_id"))
     @Column(name = "represents")
     private List<String> represents = new ArrayList<>();
 
     @OneToMany(mappedBy = "player", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     private List<StarPlayerStat> stats = new ArrayList<>();
 
     @OneToMany(mappedBy = "player", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
     private List<StarPlayerTournament> tournaments = new ArrayList<>();
 
     @Column(name = "sort_order", nullable = false)
@@ -0,0 +1,41 @@
+package com.cricketacademy.api.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stored upload, keyed by the SHA-256 of its bytes. {@code path} is relative
+ * to the upload directory. {@code lastReferencedAt} is refreshed whenever the
+ * object is uploaded again or found referenced by the garbage collector.
+ */
+@Entity
+@Table(name = "upload_objects")
+@Data
+@NoArgsConstructor
+public class UploadObject {
+
+    @Id
+    @Column(name = "sha256", length = 64)
+    private String sha256;
+
+    @Column(name = "path", nullable = false)
+    private String path;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_referenced_at", nullable = false)
+    private LocalDateTime lastReferencedAt;
+}
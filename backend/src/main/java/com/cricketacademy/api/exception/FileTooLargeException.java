@@ -0,0 +1,19 @@
+package com.cricketacademy.api.exception;
+
+/**
+ * Exception thrown when an uploaded or downloaded file exceeds the configured
+ * size limit
+ */
+public class FileTooLargeException extends RuntimeException {
+
+    private final long maxBytes;
+
+    public FileTooLargeException(long maxBytes) {
+        super("File too large. Maximum size: " + (maxBytes / (1024 * 1024)) + "MB");
+        this.maxBytes = maxBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
@@ -0,0 +1,16 @@
+package com.cricketacademy.api.exception;
+
+/**
+ * Exception thrown when a payment gateway call fails, times out or is
+ * short-circuited because the gateway is unhealthy
+ */
+public class PaymentGatewayException extends RuntimeException {
+
+    public PaymentGatewayException(String message) {
+        super(message);
+    }
+
+    public PaymentGatewayException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
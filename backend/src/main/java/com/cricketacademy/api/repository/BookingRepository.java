@@ -1,17 +1,30 @@
 package com.cricketacademy.api.repository;
 
+import com.cricketacademy.api.dto.BookingResponseDTO;
 import com.cricketacademy.api.entity.Booking;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+
+        List<String> DEFAULT_TIME_SLOTS = List.of(
+                        "09:00-10:00", "10:00-11:00", "11:00-12:00", "12:00-13:00",
+                        "13:00-14:00", "14:00-15:00", "15:00-16:00", "16:00-17:00",
+                        "17:00-18:00", "18:00-19:00");
 
         List<Booking> findByBookingDateAndBookingType(LocalDate bookingDate, String bookingType);
 
@@ -28,19 +41,67 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
         List<Booking> findByUserIdOrderByCreatedAtDesc(Long userId);
 
+        Optional<Booking> findFirstByPaymentId(String paymentId);
+
+        /**
+         * Keyset page of bookings still awaiting an online payment that carry a
+         * gateway order reference. Cancelled bookings are left out so a late
+         * capture never revives them.
+         */
+        @Query("SELECT b FROM Booking b WHERE b.paymentStatus = 'PENDING' AND b.status <> 'CANCELLED' " +
+                        "AND b.id > :afterId " +
+                        "AND b.createdAt < :createdBefore " +
+                        "AND b.paymentId LIKE 'order!_%' ESCAPE '!' ORDER BY b.id")
+        List<Booking> findPendingGatewayPayments(@Param("afterId") Long afterId,
+                        @Param("createdBefore") LocalDateTime createdBefore, Pageable pageable);
+
+        /**
+         * Time ranges of every non-cancelled booking in [from, to], for building
+         * availability calendars in one query.
+         */
+        @Query("SELECT b.bookingType AS bookingType, b.groundId AS groundId, b.bookingDate AS bookingDate, " +
+                        "b.startTime AS startTime, b.endTime AS endTime FROM Booking b " +
+                        "WHERE b.bookingDate BETWEEN :from AND :to AND b.status <> 'CANCELLED'")
+        List<OccupiedInterval> findOccupiedIntervals(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
         @Query("SELECT DISTINCT CONCAT(b.startTime, '-', b.endTime) FROM Booking b " +
                         "WHERE b.bookingDate = :date AND b.groundId = :groundId " +
                         "AND b.status != 'CANCELLED'")
         List<String> getBookedTimeSlots(@Param("date") LocalDate date, @Param("groundId") String groundId);
 
+        /**
+         * Streams every booking as a {@link BookingResponseDTO} for exports. A fetch
+         * size of Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of
+         * buffering the whole result. Must be consumed inside a read-only transaction
+         * and closed afterwards.
+         */
+        @QueryHints({
+                        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+                        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+        })
+        @Query("SELECT new com.cricketacademy.api.dto.BookingResponseDTO(b.id, b.bookingType, b.groundId, " +
+                        "b.groundName, b.groundDescription, b.bookingDate, b.startTime, b.endTime, b.matchType, " +
+                        "b.matchOvers, b.price, b.customerName, b.customerEmail, b.customerPhone, b.userId, " +
+                        "b.status, b.paymentStatus, b.paymentId, b.createdAt, b.updatedAt) " +
+                        "FROM Booking b ORDER BY b.id")
+        Stream<BookingResponseDTO> streamAllForExport();
+
         default List<String> getAvailableTimeSlots(LocalDate date, String groundId) {
-                List<String> allSlots = List.of(
-                                "09:00-10:00", "10:00-11:00", "11:00-12:00", "12:00-13:00",
-                                "13:00-14:00", "14:00-15:00", "15:00-16:00", "16:00-17:00",
-                                "17:00-18:00", "18:00-19:00");
                 List<String> bookedSlots = getBookedTimeSlots(date, groundId);
-                return allSlots.stream()
+                return DEFAULT_TIME_SLOTS.stream()
                                 .filter(slot -> !bookedSlots.contains(slot))
                                 .collect(java.util.stream.Collectors.toList());
         }
+
+        interface OccupiedInterval {
+                String getBookingType();
+
+                String getGroundId();
+
+                LocalDate getBookingDate();
+
+                LocalTime getStartTime();
+
+                LocalTime getEndTime();
+        }
 }
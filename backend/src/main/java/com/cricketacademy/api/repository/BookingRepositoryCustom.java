@@ -0,0 +1,23 @@
+package com.cricketacademy.api.repository;
+
+import com.cricketacademy.api.dto.BookingFilterDTO;
+import com.cricketacademy.api.dto.BookingResponseDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+        /**
+         * Keyset page of bookings ordered by (createdAt, id) descending, projected
+         * straight into {@link BookingResponseDTO} so the facility flags and add-on
+         * JSON are never read.
+         *
+         * @param filter         optional filters, may be null
+         * @param afterCreatedAt createdAt of the last row of the previous page, or null
+         * @param afterId        id of the last row of the previous page, or null
+         * @param limit          maximum number of rows to return
+         */
+        List<BookingResponseDTO> findAdminPage(BookingFilterDTO filter, LocalDateTime afterCreatedAt, Long afterId,
+                        int limit);
+}
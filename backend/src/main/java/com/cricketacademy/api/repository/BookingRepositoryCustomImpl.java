@@ -0,0 +1,71 @@
+package com.cricketacademy.api.repository;
+
+import com.cricketacademy.api.dto.BookingFilterDTO;
+import com.cricketacademy.api.dto.BookingResponseDTO;
+import com.cricketacademy.api.entity.Booking;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Override
+        public List<BookingResponseDTO> findAdminPage(BookingFilterDTO filter, LocalDateTime afterCreatedAt,
+                        Long afterId, int limit) {
+                CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+                CriteriaQuery<BookingResponseDTO> query = cb.createQuery(BookingResponseDTO.class);
+                Root<Booking> b = query.from(Booking.class);
+
+                query.select(cb.construct(BookingResponseDTO.class,
+                                b.get("id"), b.get("bookingType"), b.get("groundId"), b.get("groundName"),
+                                b.get("groundDescription"), b.get("bookingDate"), b.get("startTime"),
+                                b.get("endTime"), b.get("matchType"), b.get("matchOvers"), b.get("price"),
+                                b.get("customerName"), b.get("customerEmail"), b.get("customerPhone"),
+                                b.get("userId"), b.get("status"), b.get("paymentStatus"), b.get("paymentId"),
+                                b.get("createdAt"), b.get("updatedAt")));
+
+                // Only add predicates for filters that are set so the planner sees plain equality/range terms
+                List<Predicate> predicates = new ArrayList<>();
+                if (filter != null) {
+                        if (filter.getStatus() != null) {
+                                predicates.add(cb.equal(b.get("status"), filter.getStatus()));
+                        }
+                        if (filter.getPaymentStatus() != null) {
+                                predicates.add(cb.equal(b.get("paymentStatus"), filter.getPaymentStatus()));
+                        }
+                        if (filter.getGroundId() != null) {
+                                predicates.add(cb.equal(b.get("groundId"), filter.getGroundId()));
+                        }
+                        if (filter.getFromDate() != null) {
+                                predicates.add(cb.greaterThanOrEqualTo(b.<LocalDate>get("bookingDate"), filter.getFromDate()));
+                        }
+                        if (filter.getToDate() != null) {
+                                predicates.add(cb.lessThanOrEqualTo(b.<LocalDate>get("bookingDate"), filter.getToDate()));
+                        }
+                }
+                if (afterCreatedAt != null && afterId != null) {
+                        predicates.add(cb.or(
+                                        cb.lessThan(b.<LocalDateTime>get("createdAt"), afterCreatedAt),
+                                        cb.and(cb.equal(b.get("createdAt"), afterCreatedAt),
+                                                        cb.lessThan(b.<Long>get("id"), afterId))));
+                }
+
+                query.where(predicates.toArray(new Predicate[0]))
+                                .orderBy(cb.desc(b.get("createdAt")), cb.desc(b.get("id")));
+
+                return entityManager.createQuery(query)
+                                .setMaxResults(limit)
+                                .getResultList();
+        }
+}
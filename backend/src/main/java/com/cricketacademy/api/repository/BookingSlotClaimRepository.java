@@ -0,0 +1,18 @@
+package com.cricketacademy.api.repository;
+
+import com.cricketacademy.api.entity.BookingSlotClaim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface BookingSlotClaimRepository extends JpaRepository<BookingSlotClaim, Long> {
+
+        @Transactional
+        @Modifying
+        @Query("DELETE FROM BookingSlotClaim c WHERE c.bookingId = :bookingId")
+        int deleteByBookingId(@Param("bookingId") Long bookingId);
+}
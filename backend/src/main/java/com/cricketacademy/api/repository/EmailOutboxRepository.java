@@ -0,0 +1,74 @@
+package com.cricketacademy.api.repository;
+
+import com.cricketacademy.api.entity.EmailOutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Ids of messages due for delivery. SENDING rows whose lease has run out
+     * (their dispatcher died mid-send) are due again as well.
+     */
+    @Query("SELECT e.id FROM EmailOutboxMessage e WHERE e.status IN :statuses " +
+            "AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt, e.id")
+    List<Long> findDueIds(@Param("statuses") Collection<EmailOutboxMessage.Status> statuses,
+            @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claims the given messages for one dispatcher run and counts the attempt.
+     * Counting here rather than after sending means a message whose send never
+     * returns (the dispatcher dies mid-send) still uses up its attempts. The
+     * due-check is repeated so that only one node wins each row when several
+     * poll at once.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage e SET e.status = :sending, e.claimToken = :claimToken, " +
+            "e.nextAttemptAt = :leaseUntil, e.attempts = e.attempts + 1 WHERE e.id IN :ids " +
+            "AND e.status IN :statuses AND e.nextAttemptAt <= :now AND e.attempts < :maxAttempts")
+    int claim(@Param("ids") Collection<Long> ids,
+            @Param("statuses") Collection<EmailOutboxMessage.Status> statuses,
+            @Param("sending") EmailOutboxMessage.Status sending,
+            @Param("claimToken") String claimToken,
+            @Param("now") LocalDateTime now,
+            @Param("leaseUntil") LocalDateTime leaseUntil,
+            @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Gives up on messages whose lease ran out on their last allowed attempt,
+     * so a message that keeps killing its dispatcher ends up FAILED.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage e SET e.status = :failed, e.claimToken = NULL, e.lastError = :reason " +
+            "WHERE e.status = :sending AND e.nextAttemptAt <= :now AND e.attempts >= :maxAttempts")
+    int failExpiredLeases(@Param("sending") EmailOutboxMessage.Status sending,
+            @Param("failed") EmailOutboxMessage.Status failed,
+            @Param("reason") String reason,
+            @Param("now") LocalDateTime now,
+            @Param("maxAttempts") int maxAttempts);
+
+    List<EmailOutboxMessage> findByClaimToken(String claimToken);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage e SET e.status = :sent, e.sentAt = :sentAt, e.claimToken = NULL " +
+            "WHERE e.id IN :ids AND e.claimToken = :claimToken")
+    int markSent(@Param("ids") Collection<Long> ids,
+            @Param("claimToken") String claimToken,
+            @Param("sent") EmailOutboxMessage.Status sent,
+            @Param("sentAt") LocalDateTime sentAt);
+
+    long countByStatusIn(Collection<EmailOutboxMessage.Status> statuses);
+}
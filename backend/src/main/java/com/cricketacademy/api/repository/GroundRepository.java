@@ -11,6 +11,10 @@ import java.util.List;
 public interface GroundRepository extends JpaRepository<Ground, Long> {
     List<Ground> findByIsActiveTrue();
 
+    boolean existsByNameNormalized(String nameNormalized);
+
+    boolean existsByNameNormalizedAndIdNot(String nameNormalized, Long id);
+
     @Query("SELECT g FROM Ground g WHERE g.isActive = true ORDER BY g.name")
     List<Ground> findAllActiveGrounds();
 }
@@ -13,6 +13,10 @@ public interface NetRepository extends JpaRepository<Net, Long> {
 
     List<Net> findByIsAvailableTrue();
 
+    boolean existsByGroundIdAndNameNormalized(Long groundId, String nameNormalized);
+
+    boolean existsByGroundIdAndNameNormalizedAndIdNot(Long groundId, String nameNormalized, Long id);
+
     @Query("SELECT n FROM Net n WHERE n.ground.id = :groundId AND n.isAvailable = true ORDER BY n.name")
     List<Net> findAllAvailableNetsByGroundId(Long groundId);
 }
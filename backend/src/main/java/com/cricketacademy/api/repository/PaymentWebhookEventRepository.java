@@ -0,0 +1,50 @@
+package com.cricketacademy.api.repository;
+
+import com.cricketacademy.api.entity.PaymentWebhookEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PaymentWebhookEventRepository extends JpaRepository<PaymentWebhookEvent, Long> {
+
+    boolean existsByEventId(String eventId);
+
+    /**
+     * Ids of due events that are at the head of their payment's queue, i.e. no
+     * earlier event for the same payment is still unfinished. This keeps the
+     * events of one payment in order across workers and nodes.
+     */
+    @Query("SELECT e.id FROM PaymentWebhookEvent e WHERE e.status IN :statuses AND e.nextAttemptAt <= :now " +
+            "AND NOT EXISTS (SELECT p.id FROM PaymentWebhookEvent p WHERE p.paymentKey = e.paymentKey " +
+            "AND p.id < e.id AND p.status IN :statuses) ORDER BY e.id")
+    List<Long> findDueIds(@Param("statuses") Collection<PaymentWebhookEvent.Status> statuses,
+            @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PaymentWebhookEvent e SET e.status = :processing, e.claimToken = :claimToken, " +
+            "e.nextAttemptAt = :leaseUntil WHERE e.id IN :ids AND e.status IN :statuses " +
+            "AND e.nextAttemptAt <= :now")
+    int claim(@Param("ids") Collection<Long> ids,
+            @Param("statuses") Collection<PaymentWebhookEvent.Status> statuses,
+            @Param("processing") PaymentWebhookEvent.Status processing,
+            @Param("claimToken") String claimToken,
+            @Param("now") LocalDateTime now,
+            @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    List<PaymentWebhookEvent> findByClaimTokenOrderById(String claimToken);
+
+    long countByStatusIn(Collection<PaymentWebhookEvent.Status> statuses);
+
+    @Query("SELECT MIN(e.receivedAt) FROM PaymentWebhookEvent e WHERE e.status IN :statuses")
+    LocalDateTime findOldestReceivedAt(@Param("statuses") Collection<PaymentWebhookEvent.Status> statuses);
+}
@@ -0,0 +1,9 @@
+package com.cricketacademy.api.repository;
+
+import com.cricketacademy.api.entity.ReviewSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReviewSnapshotRepository extends JpaRepository<ReviewSnapshot, String> {
+}
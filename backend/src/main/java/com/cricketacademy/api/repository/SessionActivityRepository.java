@@ -3,9 +3,11 @@ package com.cricketacademy.api.repository;
 import com.cricketacademy.api.entity.SessionActivity;
 import com.cricketacademy.api.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -27,4 +29,16 @@ public interface SessionActivityRepository extends JpaRepository<SessionActivity
 
     @Query("SELECT sa FROM SessionActivity sa WHERE sa.sessionExpiryTime < :currentTime AND sa.isActive = true")
     List<SessionActivity> findExpiredSessions(@Param("currentTime") LocalDateTime currentTime);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE session_activities SET is_active = false "
+            + "WHERE is_active = true AND session_expiry_time < :currentTime LIMIT :limit", nativeQuery = true)
+    int deactivateExpiredChunk(@Param("currentTime") LocalDateTime currentTime, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM session_activities WHERE is_active = false AND last_activity_time < :cutoff "
+            + "LIMIT :limit", nativeQuery = true)
+    int deleteInactiveChunk(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
 }
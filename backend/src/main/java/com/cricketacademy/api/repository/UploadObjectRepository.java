@@ -0,0 +1,35 @@
+package com.cricketacademy.api.repository;
+
+import com.cricketacademy.api.entity.UploadObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UploadObjectRepository extends JpaRepository<UploadObject, String> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UploadObject o SET o.lastReferencedAt = :now WHERE o.sha256 IN :hashes")
+    int touch(@Param("hashes") Collection<String> hashes, @Param("now") LocalDateTime now);
+
+    @Query("SELECT o FROM UploadObject o WHERE o.lastReferencedAt < :cutoff ORDER BY o.lastReferencedAt")
+    List<UploadObject> findUnreferencedSince(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Deletes the row only if it has not been referenced again since the
+     * cutoff; returns 1 when it was deleted.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UploadObject o WHERE o.sha256 = :sha256 AND o.lastReferencedAt < :cutoff")
+    int deleteIfUnreferenced(@Param("sha256") String sha256, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,138 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.dto.AvailabilityCalendarDTO;
+import com.cricketacademy.api.entity.Ground;
+import com.cricketacademy.api.entity.Net;
+import com.cricketacademy.api.repository.BookingRepository;
+import com.cricketacademy.api.repository.GroundRepository;
+import com.cricketacademy.api.repository.NetRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds week/month availability calendars for grounds and nets from a single
+ * range query over bookings plus the facility catalog, replacing one
+ * available-slots call per day and facility.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AvailabilityCalendarService {
+
+    public static final int MAX_DAYS = 31;
+
+    private final BookingRepository bookingRepository;
+    private final GroundRepository groundRepository;
+    private final NetRepository netRepository;
+
+    /**
+     * @param type    "ground", "net" or null for both
+     * @param groundId optionally restricts the calendar to one ground and its nets
+     * @param packed  return the occupancy as a base64 bitset instead of a matrix
+     */
+    public AvailabilityCalendarDTO getCalendar(LocalDate from, int days, String type, Long groundId,
+            boolean packed) {
+        if (from == null) {
+            throw new IllegalArgumentException("Start date is required");
+        }
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("Days must be between 1 and " + MAX_DAYS);
+        }
+        if (type != null && !"ground".equalsIgnoreCase(type) && !"net".equalsIgnoreCase(type)) {
+            throw new IllegalArgumentException("Type must be ground or net");
+        }
+
+        List<AvailabilityCalendarDTO.Facility> facilities = new ArrayList<>();
+        if (type == null || "ground".equalsIgnoreCase(type)) {
+            for (Ground ground : groundRepository.findAllActiveGrounds()) {
+                if (groundId == null || groundId.equals(ground.getId())) {
+                    facilities.add(new AvailabilityCalendarDTO.Facility("ground", ground.getId(), ground.getName(),
+                            ground.getId()));
+                }
+            }
+        }
+        if (type == null || "net".equalsIgnoreCase(type)) {
+            List<Net> nets = groundId != null ? netRepository.findAllAvailableNetsByGroundId(groundId)
+                    : netRepository.findByIsAvailableTrue();
+            for (Net net : nets) {
+                facilities.add(new AvailabilityCalendarDTO.Facility("net", net.getId(), net.getName(),
+                        net.getGround() != null ? net.getGround().getId() : null));
+            }
+        }
+
+        List<String> slots = BookingRepository.DEFAULT_TIME_SLOTS;
+        int[] slotStarts = new int[slots.size()];
+        int[] slotEnds = new int[slots.size()];
+        for (int i = 0; i < slots.size(); i++) {
+            String[] parts = slots.get(i).split("-");
+            slotStarts[i] = minuteOfDay(LocalTime.parse(parts[0]));
+            slotEnds[i] = minuteOfDay(LocalTime.parse(parts[1]));
+        }
+
+        Map<String, Integer> rows = new HashMap<>();
+        for (int f = 0; f < facilities.size(); f++) {
+            AvailabilityCalendarDTO.Facility facility = facilities.get(f);
+            rows.put(facility.getType() + ":" + facility.getId(), f);
+        }
+
+        int[][] occupancy = new int[facilities.size()][days];
+        LocalDate to = from.plusDays(days - 1L);
+        for (BookingRepository.OccupiedInterval interval : bookingRepository.findOccupiedIntervals(from, to)) {
+            if (interval.getStartTime() == null || interval.getEndTime() == null || interval.getBookingType() == null) {
+                continue;
+            }
+            Integer row = rows.get(interval.getBookingType().toLowerCase() + ":" + interval.getGroundId());
+            if (row == null) {
+                continue;
+            }
+            int day = (int) ChronoUnit.DAYS.between(from, interval.getBookingDate());
+            int start = minuteOfDay(interval.getStartTime());
+            // An end at or before the start (e.g. 00:00) runs to the end of the day
+            int end = interval.getEndTime().isAfter(interval.getStartTime())
+                    ? minuteOfDay(interval.getEndTime())
+                    : 24 * 60;
+            for (int i = 0; i < slotStarts.length; i++) {
+                if (start < slotEnds[i] && end > slotStarts[i]) {
+                    occupancy[row][day] |= 1 << i;
+                }
+            }
+        }
+
+        if (!packed) {
+            return new AvailabilityCalendarDTO(from, days, slots, facilities, occupancy, null);
+        }
+        BitSet bits = new BitSet(facilities.size() * days * slots.size());
+        for (int f = 0; f < facilities.size(); f++) {
+            for (int d = 0; d < days; d++) {
+                int mask = occupancy[f][d];
+                int base = (f * days + d) * slots.size();
+                for (int i = 0; i < slots.size(); i++) {
+                    if ((mask & (1 << i)) != 0) {
+                        bits.set(base + i);
+                    }
+                }
+            }
+        }
+        // BitSet drops trailing zero bytes; pad so clients can index every cell
+        byte[] bytes = new byte[(facilities.size() * days * slots.size() + 7) / 8];
+        byte[] set = bits.toByteArray();
+        System.arraycopy(set, 0, bytes, 0, set.length);
+        return new AvailabilityCalendarDTO(from, days, slots, facilities, null,
+                Base64.getEncoder().encodeToString(bytes));
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
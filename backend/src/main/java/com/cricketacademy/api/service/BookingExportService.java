@@ -0,0 +1,116 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.dto.BookingResponseDTO;
+import com.cricketacademy.api.repository.BookingRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the bookings table to an output stream row by row. Rows come from a
+ * streaming cursor and are written as soon as they are read, so memory use does
+ * not depend on the number of bookings.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingExportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final String[] CSV_HEADER = {
+            "id", "bookingType", "groundId", "groundName", "bookingDate", "startTime", "endTime",
+            "matchType", "matchOvers", "price", "customerName", "customerEmail", "customerPhone",
+            "userId", "status", "paymentStatus", "paymentId", "createdAt", "updatedAt" };
+
+    // Flush to the client every this many rows so data keeps flowing
+    private static final int FLUSH_EVERY = 1000;
+
+    private final BookingRepository bookingRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Streams all bookings in the given format. Runs in its own read-only
+     * transaction because the cursor must stay open while rows are written.
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream outputStream) throws IOException {
+        long rows = 0;
+        long started = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        try (Stream<BookingResponseDTO> bookings = bookingRepository.streamAllForExport()) {
+            if (format == Format.CSV) {
+                writeCsvRow(writer, CSV_HEADER);
+            }
+            Iterator<BookingResponseDTO> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                BookingResponseDTO booking = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, toCsvValues(booking));
+                } else {
+                    writer.write(objectMapper.writeValueAsString(booking));
+                    writer.write('\n');
+                }
+                if (++rows % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} bookings as {} in {} ms", rows, format, System.currentTimeMillis() - started);
+        return rows;
+    }
+
+    private static String[] toCsvValues(BookingResponseDTO b) {
+        return new String[] {
+                str(b.getId()), b.getBookingType(), b.getGroundId(), b.getGroundName(), str(b.getBookingDate()),
+                str(b.getStartTime()), str(b.getEndTime()), b.getMatchType(), str(b.getMatchOvers()),
+                str(b.getPrice()), b.getCustomerName(), b.getCustomerEmail(), b.getCustomerPhone(),
+                str(b.getUserId()), b.getStatus(), b.getPaymentStatus(), b.getPaymentId(),
+                str(b.getCreatedAt()), str(b.getUpdatedAt()) };
+    }
+
+    private static String str(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        // Neutralise spreadsheet formulas in customer-provided fields
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
@@ -1,15 +1,24 @@
 package com.cricketacademy.api.service;
 
+import com.cricketacademy.api.dto.BookingFilterDTO;
+import com.cricketacademy.api.dto.BookingPageDTO;
 import com.cricketacademy.api.dto.BookingRequestDTO;
 import com.cricketacademy.api.dto.BookingResponseDTO;
 import com.cricketacademy.api.entity.Booking;
+import com.cricketacademy.api.entity.BookingSlotClaim;
 import com.cricketacademy.api.repository.BookingRepository;
+import com.cricketacademy.api.repository.BookingSlotClaimRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -19,24 +28,20 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BookingService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
     private final BookingRepository bookingRepository;
     private final EmailService emailService;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final BookingSlotLocks bookingSlotLocks;
+    private final BookingSlotClaimRepository bookingSlotClaimRepository;
+    private final TransactionTemplate transactionTemplate;
 
     public BookingResponseDTO createBooking(BookingRequestDTO request) {
         // Validate request fields
         validateBookingRequest(request);
 
-        // Check for conflicting bookings
-        List<Booking> conflictingBookings = bookingRepository.findConflictingBookings(
-                request.getBookingDate(),
-                request.getGroundId(),
-                request.getStartTime(),
-                request.getEndTime());
-
-        if (!conflictingBookings.isEmpty()) {
-            throw new RuntimeException("Time slot is already booked");
-        }
-
         Booking booking = new Booking();
         booking.setBookingType(request.getBookingType());
         booking.setGroundId(request.getGroundId());
@@ -56,8 +61,53 @@ public class BookingService {
         booking.setPaymentStatus("PENDING");
         booking.setPaymentId(UUID.randomUUID().toString());
 
-        Booking savedBooking = bookingRepository.save(booking);
-        return mapToResponseDTO(savedBooking);
+        return mapToResponseDTO(reserve(booking));
+    }
+
+    /**
+     * Saves a new booking together with the slot claims for its cells, or fails
+     * with "Time slot is already booked". Every path that creates bookings goes
+     * through here so they all see, and are seen by, each other's claims.
+     */
+    public Booking reserve(Booking booking) {
+        // Serialize requests for the same ground and day on this node; the slot
+        // claims' unique key covers requests arriving on other nodes
+        return bookingSlotLocks.withLock(booking.getGroundId(), booking.getBookingDate(),
+                () -> reserveSlot(booking));
+    }
+
+    private Booking reserveSlot(Booking booking) {
+        // Check for conflicting bookings
+        if (!slotOccupancyIndex.isFree(booking.getGroundId(), booking.getBookingDate(),
+                booking.getStartTime(), booking.getEndTime())) {
+            throw new RuntimeException("Time slot is already booked");
+        }
+
+        Booking savedBooking;
+        try {
+            savedBooking = transactionTemplate.execute(status -> {
+                Booking saved = bookingRepository.save(booking);
+                bookingSlotClaimRepository.saveAllAndFlush(slotClaimsFor(saved));
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another node claimed an overlapping cell first; our view of the day is stale
+            slotOccupancyIndex.invalidate(booking.getGroundId(), booking.getBookingDate());
+            throw new RuntimeException("Time slot is already booked");
+        }
+
+        slotOccupancyIndex.occupy(savedBooking);
+        return savedBooking;
+    }
+
+    private List<BookingSlotClaim> slotClaimsFor(Booking booking) {
+        int from = SlotOccupancyIndex.startCell(booking.getStartTime());
+        int to = SlotOccupancyIndex.endCell(booking.getStartTime(), booking.getEndTime());
+        List<BookingSlotClaim> claims = new ArrayList<>(to - from);
+        for (int cell = from; cell < to; cell++) {
+            claims.add(new BookingSlotClaim(booking.getGroundId(), booking.getBookingDate(), cell, booking.getId()));
+        }
+        return claims;
     }
 
     public List<BookingResponseDTO> getBookingsByDateAndType(LocalDate date, String type) {
@@ -96,6 +146,9 @@ public class BookingService {
         }
     }
 
+    /**
+     * Loads every booking in one go; prefer {@link #getBookingsPage} for admin listings.
+     */
     public List<BookingResponseDTO> getAllBookings() {
         try {
             List<Booking> bookings = bookingRepository.findAll();
@@ -113,6 +166,39 @@ public class BookingService {
         }
     }
 
+    /**
+     * Keyset-paginated admin listing, newest first. The cursor is opaque to
+     * clients and encodes the (createdAt, id) of the last row returned.
+     */
+    public BookingPageDTO getBookingsPage(BookingFilterDTO filter, String cursor, Integer limit) {
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                afterCreatedAt = LocalDateTime.parse(parts[0]);
+                afterId = Long.parseLong(parts[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        List<BookingResponseDTO> rows = bookingRepository.findAdminPage(filter, afterCreatedAt, afterId, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<BookingResponseDTO> items = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            BookingResponseDTO last = items.get(items.size() - 1);
+            String key = last.getCreatedAt() + "|" + last.getId();
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+        }
+        return new BookingPageDTO(items, nextCursor, hasMore);
+    }
+
     public BookingResponseDTO getBookingById(Long bookingId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
@@ -132,9 +218,15 @@ public class BookingService {
     }
 
     public void deleteBooking(Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Booking not found"));
-        bookingRepository.delete(booking);
+        // One transaction; fk_slot_claim_booking cascades the delete to the slot claims
+        Booking booking = transactionTemplate.execute(status -> {
+            Booking existing = bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new RuntimeException("Booking not found"));
+            bookingRepository.delete(existing);
+            return existing;
+        });
+        // Only after commit, so a reload cannot pick the deleted row up again
+        slotOccupancyIndex.release(booking);
     }
 
     public List<String> getAvailableTimeSlots(LocalDate date, String groundId) {
@@ -145,17 +237,8 @@ public class BookingService {
                     "12:00-13:00", "13:00-14:00", "14:00-15:00",
                     "15:00-16:00", "16:00-17:00", "17:00-18:00");
 
-            // Get existing bookings for this ground and date
-            List<Booking> existingBookings = bookingRepository.findByBookingDateAndGroundId(date, groundId);
-
-            // Filter out booked slots
-            List<String> bookedSlots = existingBookings.stream()
-                    .map(booking -> booking.getStartTime() + "-" + booking.getEndTime())
-                    .collect(Collectors.toList());
-
-            return allSlots.stream()
-                    .filter(slot -> !bookedSlots.contains(slot))
-                    .collect(Collectors.toList());
+            // Filter out slots overlapping an existing booking
+            return slotOccupancyIndex.availableSlots(groundId, date, allSlots);
 
         } catch (Exception e) {
             log.error("Error fetching available time slots: {}", e.getMessage());
@@ -174,6 +257,7 @@ public class BookingService {
             booking.setPaymentId(paymentId);
 
             Booking updatedBooking = bookingRepository.save(booking);
+            slotOccupancyIndex.occupy(updatedBooking);
 
             // Send booking confirmation email
             sendBookingConfirmationEmail(updatedBooking);
@@ -189,6 +273,93 @@ public class BookingService {
         }
     }
 
+    /**
+     * Finishes bookings that payment reconciliation has just marked paid in
+     * bulk, the way confirmBooking finishes bookings paid online: the slot is
+     * held in the occupancy index and the customer gets the confirmation email.
+     */
+    public void completeReconciledPayments(List<Long> bookingIds) {
+        for (Booking booking : bookingRepository.findAllById(bookingIds)) {
+            if (!"PAID".equals(booking.getPaymentStatus()) || "CANCELLED".equals(booking.getStatus())) {
+                continue;
+            }
+            slotOccupancyIndex.occupy(booking);
+            sendBookingConfirmationEmail(booking);
+        }
+    }
+
+    /**
+     * Attach a gateway order id to a booking that is still awaiting payment, so
+     * reconciliation can look up its real payment state later. Only the
+     * booking's customer may do this; anyone else would be replacing the order
+     * the customer is paying. The booking's status is not changed here.
+     */
+    public void linkPaymentReference(Long bookingId, String reference, String callerEmail) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new IllegalArgumentException("Booking not found: " + bookingId));
+        if (callerEmail == null || !callerEmail.equalsIgnoreCase(booking.getCustomerEmail())) {
+            log.warn("Not linking payment {} to booking {}: caller does not own it", reference, bookingId);
+            return;
+        }
+        if (!"PENDING".equals(booking.getPaymentStatus())) {
+            log.warn("Not linking payment {} to booking {} in payment status {}", reference, bookingId,
+                    booking.getPaymentStatus());
+            return;
+        }
+        booking.setPaymentId(reference);
+        bookingRepository.save(booking);
+    }
+
+    /**
+     * Record a payment captured for a booking that was already cancelled. The
+     * booking stays cancelled and its payment status becomes REFUND_DUE so an
+     * admin can refund it.
+     */
+    public void flagPaymentForRefund(Long bookingId, String paymentId) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found"));
+        if (!"PENDING".equals(booking.getPaymentStatus()) && !"FAILED".equals(booking.getPaymentStatus())) {
+            return;
+        }
+        log.warn("Payment {} captured for cancelled booking {}; flagged for refund", paymentId, bookingId);
+        booking.setPaymentStatus("REFUND_DUE");
+        booking.setPaymentId(paymentId);
+        bookingRepository.save(booking);
+    }
+
+    /**
+     * Record a gateway refund on the booking paid with the given payment.
+     * Partial refunds accumulate in refundAmount until the full price is back.
+     */
+    public void recordRefund(String paymentId, long amountInPaise) {
+        Booking booking = bookingRepository.findFirstByPaymentId(paymentId).orElse(null);
+        if (booking == null) {
+            log.warn("Refund for payment {} matches no booking", paymentId);
+            return;
+        }
+        double refunded = (booking.getRefundAmount() != null ? booking.getRefundAmount() : 0.0)
+                + amountInPaise / 100.0;
+        booking.setRefundAmount(refunded);
+        booking.setPaymentStatus(refunded >= booking.getPrice() ? "REFUNDED" : "PARTIALLY_REFUNDED");
+        bookingRepository.save(booking);
+    }
+
+    /**
+     * Record a failed online payment. Bookings that are already paid are left
+     * untouched, since a failed attempt can be reported after a successful retry.
+     */
+    public BookingResponseDTO markPaymentFailed(Long bookingId, String paymentId) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found"));
+        if ("PAID".equals(booking.getPaymentStatus())) {
+            return mapToResponseDTO(booking);
+        }
+
+        booking.setPaymentStatus("FAILED");
+        booking.setPaymentId(paymentId);
+        return mapToResponseDTO(bookingRepository.save(booking));
+    }
+
     /**
      * Mark an offline payment as received by admin and complete the booking
      */
@@ -239,17 +410,25 @@ public class BookingService {
      */
     public BookingResponseDTO approveCancellation(Long bookingId, Double refundAmount) {
         try {
-            Booking booking = bookingRepository.findById(bookingId)
-                    .orElseThrow(() -> new RuntimeException("Booking not found"));
-
-            booking.setStatus("CANCELLED");
-            booking.setRefundAmount(refundAmount != null ? refundAmount : 0.0);
-            // If payment was taken and refundAmount > 0, mark as REFUNDED
-            if ("PAID".equalsIgnoreCase(booking.getPaymentStatus()) && (refundAmount != null && refundAmount > 0)) {
-                booking.setPaymentStatus("REFUNDED");
-            }
-
-            Booking updatedBooking = bookingRepository.save(booking);
+            // One transaction, so the slot is never freed for a booking that stays active
+            Booking updatedBooking = transactionTemplate.execute(status -> {
+                Booking booking = bookingRepository.findById(bookingId)
+                        .orElseThrow(() -> new RuntimeException("Booking not found"));
+
+                booking.setStatus("CANCELLED");
+                booking.setRefundAmount(refundAmount != null ? refundAmount : 0.0);
+                // If payment was taken and refundAmount > 0, mark as REFUNDED
+                if ("PAID".equalsIgnoreCase(booking.getPaymentStatus())
+                        && (refundAmount != null && refundAmount > 0)) {
+                    booking.setPaymentStatus("REFUNDED");
+                }
+
+                Booking saved = bookingRepository.save(booking);
+                bookingSlotClaimRepository.deleteByBookingId(saved.getId());
+                return saved;
+            });
+            // Only after commit, so a reload cannot pick the booking up as active again
+            slotOccupancyIndex.release(updatedBooking);
             return mapToResponseDTO(updatedBooking);
         } catch (RuntimeException e) {
             log.error("Error approving cancellation: {}", e.getMessage());
@@ -0,0 +1,50 @@
+package com.cricketacademy.api.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-process locks keyed on (groundId, date). Booking requests for the same
+ * ground and day run one at a time on this node, while requests for other
+ * grounds or days never share a lock. Entries are reference counted and
+ * removed once the last holder leaves, so the map only holds keys in use.
+ */
+@Component
+public class BookingSlotLocks {
+
+    private final Map<LockKey, LockEntry> locks = new ConcurrentHashMap<>();
+
+    public <T> T withLock(String groundId, LocalDate date, Supplier<T> action) {
+        LockKey key = new LockKey(groundId, date);
+        LockEntry entry = locks.compute(key, (k, existing) -> {
+            LockEntry e = existing != null ? existing : new LockEntry();
+            e.holders++;
+            return e;
+        });
+        entry.lock.lock();
+        try {
+            return action.get();
+        } finally {
+            entry.lock.unlock();
+            locks.computeIfPresent(key, (k, e) -> --e.holders == 0 ? null : e);
+        }
+    }
+
+    int size() {
+        return locks.size();
+    }
+
+    private record LockKey(String groundId, LocalDate date) {
+    }
+
+    private static final class LockEntry {
+        private final ReentrantLock lock = new ReentrantLock();
+        // Only read and written inside ConcurrentHashMap.compute for this key
+        private int holders;
+    }
+}
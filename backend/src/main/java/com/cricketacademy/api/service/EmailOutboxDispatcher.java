@@ -0,0 +1,257 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.EmailOutboxMessage;
+import com.cricketacademy.api.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox on a small, bounded worker pool. Each poll claims a
+ * batch of due messages and hands it to an idle worker, which sends the whole
+ * batch over a single SMTP connection. Failed messages are retried with
+ * exponential backoff until {@code max-attempts} is reached. An attempt is
+ * counted when the message is claimed, so one that is abandoned mid-send
+ * runs out of attempts too.
+ *
+ * Claims are made with a conditional bulk UPDATE and carry a lease, so several
+ * nodes can poll the same table and a batch abandoned by a crashed node becomes
+ * due again once its lease expires.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final List<EmailOutboxMessage.Status> DUE_STATUSES = List.of(
+            EmailOutboxMessage.Status.PENDING, EmailOutboxMessage.Status.SENDING);
+
+    private static final long MAX_RETRY_DELAY_SECONDS = 3600;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+
+    private final String from;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBaseSeconds;
+    private final long leaseSeconds;
+
+    private final ExecutorService workers;
+    private final Semaphore idleWorkers;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Timer sendLatency;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+            JavaMailSender mailSender,
+            MeterRegistry meterRegistry,
+            @Value("${app.mail.from:no-reply@cricketacademy.com}") String from,
+            @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+            @Value("${app.mail.outbox.workers:2}") int workerCount,
+            @Value("${app.mail.outbox.max-attempts:6}") int maxAttempts,
+            @Value("${app.mail.outbox.retry-base-seconds:30}") long retryBaseSeconds,
+            @Value("${app.mail.outbox.lease-seconds:300}") long leaseSeconds) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.from = from;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseSeconds = retryBaseSeconds;
+        this.leaseSeconds = leaseSeconds;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.idleWorkers = new Semaphore(workerCount);
+
+        Gauge.builder("email.outbox.queue.depth", queueDepth, AtomicLong::get)
+                .description("Outbox messages waiting to be sent")
+                .register(meterRegistry);
+        this.sendLatency = Timer.builder("email.outbox.send.latency")
+                .description("Time to deliver one batch over SMTP")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("email.outbox.sent").register(meterRegistry);
+        this.retriedCounter = Counter.builder("email.outbox.retried").register(meterRegistry);
+        this.failedCounter = Counter.builder("email.outbox.failed").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:2000}")
+    public void poll() {
+        try {
+            queueDepth.set(emailOutboxRepository.countByStatusIn(DUE_STATUSES));
+            while (idleWorkers.tryAcquire()) {
+                Claim claim = claimBatch();
+                if (claim.messages().isEmpty()) {
+                    idleWorkers.release();
+                    return;
+                }
+                try {
+                    workers.execute(() -> {
+                        try {
+                            deliver(claim);
+                        } finally {
+                            idleWorkers.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    idleWorkers.release();
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Email outbox poll failed: {}", e.getMessage());
+        }
+    }
+
+    Claim claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        int abandoned = emailOutboxRepository.failExpiredLeases(EmailOutboxMessage.Status.SENDING,
+                EmailOutboxMessage.Status.FAILED, "Lease expired on the last attempt", now, maxAttempts);
+        if (abandoned > 0) {
+            failedCounter.increment(abandoned);
+            log.error("Gave up on {} emails abandoned mid-send on their last attempt", abandoned);
+        }
+        List<Long> dueIds = emailOutboxRepository.findDueIds(DUE_STATUSES, now, PageRequest.of(0, batchSize));
+        if (dueIds.isEmpty()) {
+            return new Claim(null, List.of());
+        }
+        String claimToken = UUID.randomUUID().toString();
+        emailOutboxRepository.claim(dueIds, DUE_STATUSES, EmailOutboxMessage.Status.SENDING, claimToken, now,
+                now.plusSeconds(leaseSeconds), maxAttempts);
+        return new Claim(claimToken, emailOutboxRepository.findByClaimToken(claimToken));
+    }
+
+    void deliver(Claim claim) {
+        List<EmailOutboxMessage> batch = claim.messages();
+        Map<Long, Exception> failures = new HashMap<>();
+        // MimeMessage compares by identity, so each failure the sender reports maps
+        // back to exactly one outbox row even when two messages have the same content
+        Map<MimeMessage, Long> outboxIds = new IdentityHashMap<>();
+        List<MimeMessage> mimeMessages = new ArrayList<>(batch.size());
+        for (EmailOutboxMessage message : batch) {
+            try {
+                MimeMessage mimeMessage = toMimeMessage(message);
+                outboxIds.put(mimeMessage, message.getId());
+                mimeMessages.add(mimeMessage);
+            } catch (MessagingException e) {
+                failures.put(message.getId(), e);
+            }
+        }
+
+        Exception batchFailure = null;
+        long started = System.nanoTime();
+        if (!mimeMessages.isEmpty()) {
+            try {
+                // JavaMailSender sends an array over one transport connection
+                mailSender.send(mimeMessages.toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                e.getFailedMessages().forEach((failedMessage, error) ->
+                        failures.put(outboxIds.get(failedMessage), error));
+                if (e.getFailedMessages().isEmpty()) {
+                    batchFailure = e;
+                }
+            } catch (MailException e) {
+                batchFailure = e;
+            }
+        }
+        sendLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        List<Long> sentIds = new ArrayList<>();
+        List<EmailOutboxMessage> failed = new ArrayList<>();
+        for (EmailOutboxMessage message : batch) {
+            Exception error = failures.containsKey(message.getId()) ? failures.get(message.getId()) : batchFailure;
+            if (error == null) {
+                sentIds.add(message.getId());
+            } else {
+                scheduleRetry(message, error);
+                failed.add(message);
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            emailOutboxRepository.markSent(sentIds, claim.token(), EmailOutboxMessage.Status.SENT,
+                    LocalDateTime.now());
+            sentCounter.increment(sentIds.size());
+        }
+        if (!failed.isEmpty()) {
+            emailOutboxRepository.saveAll(failed);
+        }
+        log.debug("Email outbox batch done: {} sent, {} failed", sentIds.size(), failed.size());
+    }
+
+    private void scheduleRetry(EmailOutboxMessage message, Exception error) {
+        // Already includes this attempt, counted by the claim
+        int attempts = message.getAttempts();
+        message.setClaimToken(null);
+        String reason = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        message.setLastError(reason.length() > 1000 ? reason.substring(0, 1000) : reason);
+
+        if (attempts >= maxAttempts) {
+            message.setStatus(EmailOutboxMessage.Status.FAILED);
+            failedCounter.increment();
+            log.error("Giving up on email {} to {} after {} attempts: {}", message.getId(),
+                    message.getRecipient(), attempts, reason);
+            return;
+        }
+
+        long delay = Math.min(MAX_RETRY_DELAY_SECONDS, retryBaseSeconds << Math.min(attempts - 1, 20));
+        message.setStatus(EmailOutboxMessage.Status.PENDING);
+        message.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+        retriedCounter.increment();
+        log.warn("Email {} to {} failed (attempt {}), retrying in {}s: {}", message.getId(),
+                message.getRecipient(), attempts, delay, reason);
+    }
+
+    private MimeMessage toMimeMessage(EmailOutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, StandardCharsets.UTF_8.name());
+        helper.setFrom(from);
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getBody());
+        return mimeMessage;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    record Claim(String token, List<EmailOutboxMessage> messages) {
+    }
+}
@@ -1,10 +1,9 @@
 package com.cricketacademy.api.service;
 
+import com.cricketacademy.api.entity.EmailOutboxMessage;
+import com.cricketacademy.api.repository.EmailOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -12,22 +11,23 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
-
-    @Value("${app.mail.from:no-reply@cricketacademy.com}")
-    private String from;
+    private final EmailOutboxRepository emailOutboxRepository;
 
+    /**
+     * Queues an email in the outbox. The row joins the caller's transaction, if
+     * any, and is delivered by {@link EmailOutboxDispatcher} once committed, so
+     * callers never wait on SMTP.
+     */
     public void send(String to, String subject, String body) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(from);
-            message.setTo(to);
+            EmailOutboxMessage message = new EmailOutboxMessage();
+            message.setRecipient(to);
             message.setSubject(subject);
-            message.setText(body);
-            mailSender.send(message);
-            log.info("Email sent to {} with subject '{}'", to, subject);
+            message.setBody(body);
+            emailOutboxRepository.save(message);
+            log.info("Email to {} with subject '{}' queued", to, subject);
         } catch (Exception e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage());
+            log.error("Failed to queue email to {}: {}", to, e.getMessage());
             throw new RuntimeException("Failed to send email");
         }
     }
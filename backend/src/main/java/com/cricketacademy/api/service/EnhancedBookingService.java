@@ -12,20 +12,24 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class EnhancedBookingService {
-    private final BookingRepository bookingRepository;
     private final PricingPackageRepository pricingPackageRepository;
     private final AddOnServiceRepository addOnServiceRepository;
+    private final SlotOccupancyIndex slotOccupancyIndex;
+    private final PriceQuoteEngine priceQuoteEngine;
+    private final BookingService bookingService;
 
     public Booking createEnhancedBooking(EnhancedBookingRequestDTO request) {
-        // Validate request and check availability
-        // Create and save booking entity
+        validate(request);
+
         Booking booking = new Booking();
         booking.setBookingType(request.getBookingType());
         booking.setGroundId(request.getFacilityId());
+        booking.setGroundName(request.getFacilityName() != null ? request.getFacilityName() : request.getFacilityId());
         booking.setBookingDate(request.getBookingDate());
         booking.setStartTime(request.getStartTime());
         booking.setEndTime(request.getEndTime());
@@ -40,16 +44,61 @@ public class EnhancedBookingService {
             booking.setAddOnServices(java.util.Collections.singletonMap("addOnServiceIds", request.getAddOnServices()));
         }
 
-        booking.setPrice(request.getTotalPrice());
+        booking.setPrice(priceOf(request));
         booking.setStatus("PENDING");
         booking.setPaymentStatus("PENDING");
+        booking.setPaymentId(UUID.randomUUID().toString());
+
+        // Same lock, conflict check and slot claims as a standard booking
+        return bookingService.reserve(booking);
+    }
 
-        // Save booking
-        return bookingRepository.save(booking);
+    private void validate(EnhancedBookingRequestDTO request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Booking request cannot be null");
+        }
+        if (request.getFacilityId() == null || request.getFacilityId().trim().isEmpty()) {
+            throw new IllegalArgumentException("Facility ID is required");
+        }
+        if (request.getBookingDate() == null) {
+            throw new IllegalArgumentException("Booking date is required");
+        }
+        if (request.getStartTime() == null) {
+            throw new IllegalArgumentException("Start time is required");
+        }
+        if (request.getEndTime() == null) {
+            throw new IllegalArgumentException("End time is required");
+        }
+    }
+
+    /**
+     * Prices the slot server-side from the active packages plus the base price
+     * of each add-on. The client's total is only used for facility types that
+     * have no pricing package yet.
+     */
+    private Double priceOf(EnhancedBookingRequestDTO request) {
+        if (request.getFacilityType() == null || request.getBookingDate() == null
+                || request.getStartTime() == null || request.getEndTime() == null) {
+            return request.getTotalPrice();
+        }
+        PriceQuoteEngine.Slot slot = new PriceQuoteEngine.Slot(request.getBookingDate(), request.getStartTime(),
+                request.getEndTime());
+        return priceQuoteEngine.quote(request.getFacilityType(), request.getPricingPackageId(), slot,
+                        request.getNumberOfPlayers())
+                .map(quote -> {
+                    double addOns = 0;
+                    if (request.getAddOnServices() != null && !request.getAddOnServices().isEmpty()) {
+                        for (AddOnService addOn : addOnServiceRepository.findAllById(request.getAddOnServices())) {
+                            addOns += addOn.getBasePrice() != null ? addOn.getBasePrice().doubleValue() : 0;
+                        }
+                    }
+                    return quote.amount() + addOns;
+                })
+                .orElse(request.getTotalPrice());
     }
 
     public List<String> getAvailableTimeSlots(LocalDate date, String groundId) {
-        return bookingRepository.getAvailableTimeSlots(date, groundId);
+        return slotOccupancyIndex.availableSlots(groundId, date, BookingRepository.DEFAULT_TIME_SLOTS);
     }
 
     public List<PricingPackage> getActivePricingPackages(String packageType) {
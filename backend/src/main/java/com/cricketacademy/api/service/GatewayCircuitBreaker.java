@@ -0,0 +1,77 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.exception.PaymentGatewayException;
+
+import java.util.function.Supplier;
+
+/**
+ * Minimal consecutive-failure circuit breaker for calls to an external
+ * gateway. After {@code failureThreshold} failures in a row the circuit opens
+ * and calls fail fast for {@code openMillis}; the first call after that is let
+ * through as a probe and closes the circuit again if it succeeds.
+ */
+class GatewayCircuitBreaker {
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private int consecutiveFailures;
+    private long openedAt = -1;
+    private boolean probing;
+
+    GatewayCircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Runs the call unless the circuit is open. Only {@link PaymentGatewayException}
+     * counts as a failure; errors caused by the request itself should be thrown
+     * as other exception types.
+     */
+    <T> T call(Supplier<T> call) {
+        acquirePermission();
+        try {
+            T result = call.get();
+            onSuccess();
+            return result;
+        } catch (PaymentGatewayException e) {
+            onFailure();
+            throw e;
+        } catch (RuntimeException e) {
+            onSuccess();
+            throw e;
+        }
+    }
+
+    synchronized boolean isOpen() {
+        return openedAt >= 0;
+    }
+
+    private synchronized void acquirePermission() {
+        if (openedAt < 0) {
+            return;
+        }
+        if (!probing && System.currentTimeMillis() - openedAt >= openMillis) {
+            probing = true;
+            return;
+        }
+        throw new PaymentGatewayException(name + " is unavailable, circuit open");
+    }
+
+    private synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        openedAt = -1;
+        probing = false;
+    }
+
+    private synchronized void onFailure() {
+        consecutiveFailures++;
+        if (probing || consecutiveFailures >= failureThreshold) {
+            openedAt = System.currentTimeMillis();
+            probing = false;
+        }
+    }
+}
@@ -1,111 +1,188 @@
 package com.cricketacademy.api.service;
 
+import com.cricketacademy.api.entity.ReviewSnapshot;
+import com.cricketacademy.api.repository.ReviewSnapshotRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Serves the homepage reviews from memory; requests never wait on a scrape.
+ * The active {@link ReviewScraper} is polled in the background on a fixed
+ * delay. Reviews older than {@code max-age} are still served while a refresh
+ * runs in the background (stale-while-revalidate).
+ *
+ * Every successful scrape is saved to {@code review_snapshots}, so a node that
+ * has just started serves the last good reviews immediately. Until a scrape
+ * has ever succeeded the built-in reviews are served. A scrape that finds
+ * fewer than {@code min-reviews} leaves the current reviews in place.
+ */
 @Service
+@Slf4j
 public class GoogleReviewService {
 
+    static final String SOURCE = "google";
+
+    private static final TypeReference<List<Map<String, Object>>> REVIEW_LIST = new TypeReference<>() {
+    };
+
+    record Snapshot(List<Map<String, Object>> reviews, LocalDateTime fetchedAt) {
+    }
+
+    private final ReviewScraper reviewScraper;
+    private final ReviewSnapshotRepository reviewSnapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration maxAge;
+    private final long retryIntervalMillis;
+    private final int minReviews;
+    // One background refresh at a time; further requests while one is queued are dropped
+    private final ThreadPoolExecutor refresher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), runnable -> {
+                Thread thread = new Thread(runnable, "review-refresh");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile boolean restored;
+    private final AtomicLong lastAttemptAt = new AtomicLong();
+
+    public GoogleReviewService(ReviewScraper reviewScraper,
+            ReviewSnapshotRepository reviewSnapshotRepository,
+            ObjectMapper objectMapper,
+            @Value("${app.reviews.max-age-minutes:720}") long maxAgeMinutes,
+            @Value("${app.reviews.retry-interval-minutes:15}") long retryIntervalMinutes,
+            @Value("${app.reviews.min-reviews:3}") int minReviews) {
+        this.reviewScraper = reviewScraper;
+        this.reviewSnapshotRepository = reviewSnapshotRepository;
+        this.objectMapper = objectMapper;
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.retryIntervalMillis = TimeUnit.MINUTES.toMillis(retryIntervalMinutes);
+        this.minReviews = minReviews;
+    }
+
     public List<Map<String, Object>> getGoogleReviews() {
-        try {
-            return scrapeGoogleReviews();
-        } catch (Exception e) {
-            System.err.println("Error scraping Google reviews: " + e.getMessage());
+        Snapshot current = current();
+        if (current == null) {
+            refreshInBackground();
             return getFallbackReviews();
         }
+        if (current.fetchedAt().plus(maxAge).isBefore(LocalDateTime.now())) {
+            refreshInBackground();
+        }
+        return current.reviews();
+    }
+
+    @Scheduled(fixedDelayString = "${app.reviews.refresh-interval-ms:21600000}",
+            initialDelayString = "${app.reviews.initial-delay-ms:10000}")
+    public void scheduledRefresh() {
+        refresh();
     }
 
-    private List<Map<String, Object>> scrapeGoogleReviews() {
+    /**
+     * Scrapes now and stores the result. Returns false when the scrape failed
+     * or found too few reviews, or when another refresh is already running.
+     */
+    public boolean refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return false;
+        }
+        lastAttemptAt.set(System.currentTimeMillis());
         try {
-            String searchUrl = "https://www.google.com/search?q=Indusion+Cricket+Ground+Reviews";
-            
-            Document doc = Jsoup.connect(searchUrl)
-                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36")
-                .timeout(10000)
-                .get();
-
-            List<Map<String, Object>> reviews = new ArrayList<>();
-            
-            // Look for review elements in Google search results
-            Elements reviewElements = doc.select("[data-review-id], .review, [data-attrid='kc:/local:lu attribute list']");
-            
-            if (reviewElements.isEmpty()) {
-                // Try alternative selectors
-                reviewElements = doc.select(".gws-localreviews__google-review, .review-item, [data-async-context*='review']");
+            List<Map<String, Object>> reviews = reviewScraper.fetchReviews();
+            if (reviews.size() < minReviews) {
+                log.warn("Review scrape found only {} reviews, keeping the current ones", reviews.size());
+                return false;
             }
+            Snapshot fresh = new Snapshot(List.copyOf(reviews), LocalDateTime.now());
+            snapshot.set(fresh);
+            persist(fresh);
+            log.info("Refreshed {} homepage reviews", reviews.size());
+            return true;
+        } catch (Exception e) {
+            log.warn("Review scrape failed, keeping the current reviews: {}", e.getMessage());
+            return false;
+        } finally {
+            refreshing.set(false);
+        }
+    }
 
-            for (Element reviewElement : reviewElements) {
-                try {
-                    String reviewText = extractReviewText(reviewElement);
-                    String reviewerName = extractReviewerName(reviewElement);
-                    int rating = extractRating(reviewElement);
-                    
-                    if (rating >= 5 && !reviewText.isEmpty() && !reviewerName.isEmpty()) {
-                        Map<String, Object> review = new HashMap<>();
-                        review.put("name", reviewerName);
-                        review.put("rating", rating);
-                        review.put("comment", reviewText);
-                        review.put("photo", getDefaultPhoto());
-                        review.put("date", LocalDate.now().minusDays(new Random().nextInt(30)).toString());
-                        
-                        reviews.add(review);
-                        
-                        if (reviews.size() >= 6) break;
-                    }
-                } catch (Exception e) {
-                    // Skip this review if parsing fails
-                    continue;
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current == null && !restored) {
+            synchronized (this) {
+                if (!restored) {
+                    // A scrape that finished meanwhile is newer than the stored copy
+                    snapshot.compareAndSet(null, loadPersisted());
+                    restored = true;
                 }
             }
-            
-            // If we couldn't scrape enough reviews, add some realistic ones
-            if (reviews.size() < 3) {
-                return getRealisticIndusionReviews();
-            }
-            
-            return reviews;
-            
-        } catch (Exception e) {
-            System.err.println("Scraping failed: " + e.getMessage());
-            return getRealisticIndusionReviews();
+            current = snapshot.get();
         }
+        return current;
     }
-    
-    private String extractReviewText(Element element) {
-        // Try multiple selectors for review text
-        String text = element.select(".review-text, .comment, [data-expandable-section]").text();
-        if (text.isEmpty()) {
-            text = element.select("span:contains(cricket), span:contains(ground), span:contains(facility)").first() != null ? 
-                   element.select("span:contains(cricket), span:contains(ground), span:contains(facility)").first().text() : "";
+
+    private void refreshInBackground() {
+        long now = System.currentTimeMillis();
+        long last = lastAttemptAt.get();
+        // Claim the attempt when queueing it, so requests arriving before the
+        // refresh thread starts do not queue a second scrape
+        if (refreshing.get() || now - last < retryIntervalMillis || !lastAttemptAt.compareAndSet(last, now)) {
+            return;
         }
-        return text.length() > 200 ? text.substring(0, 200) + "..." : text;
+        refresher.execute(this::refresh);
     }
-    
-    private String extractReviewerName(Element element) {
-        String name = element.select(".reviewer-name, .review-author, [data-name]").text();
-        if (name.isEmpty()) {
-            name = element.select("a[href*='contrib'], .author").text();
+
+    private Snapshot loadPersisted() {
+        try {
+            return reviewSnapshotRepository.findById(SOURCE)
+                    .map(stored -> {
+                        try {
+                            return new Snapshot(List.copyOf(objectMapper.readValue(stored.getPayload(), REVIEW_LIST)),
+                                    stored.getFetchedAt());
+                        } catch (Exception e) {
+                            log.warn("Ignoring unreadable stored reviews: {}", e.getMessage());
+                            return null;
+                        }
+                    })
+                    .orElse(null);
+        } catch (Exception e) {
+            log.warn("Could not load stored reviews: {}", e.getMessage());
+            return null;
         }
-        return name.isEmpty() ? "Cricket Enthusiast" : name;
     }
-    
-    private int extractRating(Element element) {
-        // Look for star ratings
-        Elements stars = element.select("[aria-label*='star'], .rating, [data-rating]");
-        for (Element star : stars) {
-            String ariaLabel = star.attr("aria-label");
-            if (ariaLabel.contains("5") || ariaLabel.contains("five")) return 5;
-            if (ariaLabel.contains("4") || ariaLabel.contains("four")) return 4;
+
+    private void persist(Snapshot fresh) {
+        try {
+            ReviewSnapshot stored = new ReviewSnapshot();
+            stored.setSource(SOURCE);
+            stored.setPayload(objectMapper.writeValueAsString(fresh.reviews()));
+            stored.setFetchedAt(fresh.fetchedAt());
+            reviewSnapshotRepository.save(stored);
+        } catch (Exception e) {
+            log.warn("Could not store reviews: {}", e.getMessage());
         }
-        return 5; // Default to 5 stars
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
     }
 
     private List<Map<String, Object>> getRealisticIndusionReviews() {
@@ -155,18 +232,7 @@ public class GoogleReviewService {
         );
     }
 
-    private String getDefaultPhoto() {
-        String[] defaultPhotos = {
-            "https://images.pexels.com/photos/1040880/pexels-photo-1040880.jpeg?auto=compress&cs=tinysrgb&w=150",
-            "https://images.pexels.com/photos/1130626/pexels-photo-1130626.jpeg?auto=compress&cs=tinysrgb&w=150",
-            "https://images.pexels.com/photos/1043471/pexels-photo-1043471.jpeg?auto=compress&cs=tinysrgb&w=150",
-            "https://images.pexels.com/photos/1181686/pexels-photo-1181686.jpeg?auto=compress&cs=tinysrgb&w=150",
-            "https://images.pexels.com/photos/1222271/pexels-photo-1222271.jpeg?auto=compress&cs=tinysrgb&w=150"
-        };
-        return defaultPhotos[new Random().nextInt(defaultPhotos.length)];
-    }
-
     private List<Map<String, Object>> getFallbackReviews() {
         return getRealisticIndusionReviews();
     }
-}
\ No newline at end of file
+}
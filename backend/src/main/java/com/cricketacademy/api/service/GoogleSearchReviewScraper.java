@@ -0,0 +1,121 @@
+package com.cricketacademy.api.service;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Scrapes five-star reviews from a Google search results page.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reviews.scraper", havingValue = "google", matchIfMissing = true)
+public class GoogleSearchReviewScraper implements ReviewScraper {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+            + "(KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36";
+    private static final String DEFAULT_SEARCH_URL =
+            "https://www.google.com/search?q=Indusion+Cricket+Ground+Reviews";
+    private static final int MAX_REVIEWS = 6;
+    private static final String[] DEFAULT_PHOTOS = {
+            "https://images.pexels.com/photos/1040880/pexels-photo-1040880.jpeg?auto=compress&cs=tinysrgb&w=150",
+            "https://images.pexels.com/photos/1130626/pexels-photo-1130626.jpeg?auto=compress&cs=tinysrgb&w=150",
+            "https://images.pexels.com/photos/1043471/pexels-photo-1043471.jpeg?auto=compress&cs=tinysrgb&w=150",
+            "https://images.pexels.com/photos/1181686/pexels-photo-1181686.jpeg?auto=compress&cs=tinysrgb&w=150",
+            "https://images.pexels.com/photos/1222271/pexels-photo-1222271.jpeg?auto=compress&cs=tinysrgb&w=150"
+    };
+
+    private final String searchUrl;
+    private final int timeoutMillis;
+
+    public GoogleSearchReviewScraper(
+            @Value("${app.reviews.google.search-url:" + DEFAULT_SEARCH_URL + "}") String searchUrl,
+            @Value("${app.reviews.google.timeout-ms:10000}") int timeoutMillis) {
+        this.searchUrl = searchUrl;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public List<Map<String, Object>> fetchReviews() throws IOException {
+        Document doc = Jsoup.connect(searchUrl)
+                .userAgent(USER_AGENT)
+                .timeout(timeoutMillis)
+                .get();
+
+        // Look for review elements in Google search results
+        Elements reviewElements = doc.select("[data-review-id], .review, [data-attrid='kc:/local:lu attribute list']");
+        if (reviewElements.isEmpty()) {
+            // Try alternative selectors
+            reviewElements = doc.select(".gws-localreviews__google-review, .review-item, [data-async-context*='review']");
+        }
+
+        List<Map<String, Object>> reviews = new ArrayList<>();
+        for (Element reviewElement : reviewElements) {
+            try {
+                String reviewText = extractReviewText(reviewElement);
+                String reviewerName = extractReviewerName(reviewElement);
+                int rating = extractRating(reviewElement);
+
+                if (rating >= 5 && !reviewText.isEmpty() && !reviewerName.isEmpty()) {
+                    Map<String, Object> review = new HashMap<>();
+                    review.put("name", reviewerName);
+                    review.put("rating", rating);
+                    review.put("comment", reviewText);
+                    review.put("photo", DEFAULT_PHOTOS[ThreadLocalRandom.current().nextInt(DEFAULT_PHOTOS.length)]);
+                    review.put("date", LocalDate.now().minusDays(ThreadLocalRandom.current().nextInt(30)).toString());
+                    reviews.add(review);
+
+                    if (reviews.size() >= MAX_REVIEWS) {
+                        break;
+                    }
+                }
+            } catch (Exception e) {
+                // Skip this review if parsing fails
+            }
+        }
+        return reviews;
+    }
+
+    private String extractReviewText(Element element) {
+        // Try multiple selectors for review text
+        String text = element.select(".review-text, .comment, [data-expandable-section]").text();
+        if (text.isEmpty()) {
+            Element span = element.select("span:contains(cricket), span:contains(ground), span:contains(facility)")
+                    .first();
+            text = span != null ? span.text() : "";
+        }
+        return text.length() > 200 ? text.substring(0, 200) + "..." : text;
+    }
+
+    private String extractReviewerName(Element element) {
+        String name = element.select(".reviewer-name, .review-author, [data-name]").text();
+        if (name.isEmpty()) {
+            name = element.select("a[href*='contrib'], .author").text();
+        }
+        return name.isEmpty() ? "Cricket Enthusiast" : name;
+    }
+
+    private int extractRating(Element element) {
+        // Look for star ratings
+        Elements stars = element.select("[aria-label*='star'], .rating, [data-rating]");
+        for (Element star : stars) {
+            String ariaLabel = star.attr("aria-label");
+            if (ariaLabel.contains("5") || ariaLabel.contains("five"))
+                return 5;
+            if (ariaLabel.contains("4") || ariaLabel.contains("four"))
+                return 4;
+        }
+        return 5; // Default to 5 stars
+    }
+}
@@ -3,11 +3,14 @@ package com.cricketacademy.api.service;
 import com.cricketacademy.api.entity.Ground;
 import com.cricketacademy.api.repository.GroundRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
@@ -48,11 +51,10 @@ public class GroundService {
 
     public Ground createGround(Ground ground) {
         // Validate unique name
-        if (groundRepository.findAll().stream()
-                .anyMatch(g -> g.getName().equalsIgnoreCase(ground.getName()))) {
+        if (groundRepository.existsByNameNormalized(Ground.normalizeName(ground.getName()))) {
             throw new IllegalArgumentException("Ground with name '" + ground.getName() + "' already exists");
         }
-        return groundRepository.save(ground);
+        return saveGround(ground);
     }
 
     public Ground updateGround(Long id, Ground groundDetails) {
@@ -60,9 +62,8 @@ public class GroundService {
                 .orElseThrow(() -> new RuntimeException("Ground not found with id: " + id));
 
         // Check for duplicate name (excluding current ground)
-        if (groundRepository.findAll().stream()
-                .anyMatch(g -> g.getName().equalsIgnoreCase(groundDetails.getName())
-                        && !g.getId().equals(id))) {
+        if (groundRepository.existsByNameNormalizedAndIdNot(
+                Ground.normalizedName(groundDetails.getName(), id, ground.getNameNormalized()), id)) {
             throw new IllegalArgumentException("Ground with name '" + groundDetails.getName() + "' already exists");
         }
 
@@ -122,7 +123,33 @@ public class GroundService {
         // Keep for backward compatibility
         ground.setFacilities(groundDetails.getFacilities());
 
-        return groundRepository.save(ground);
+        return saveGround(ground);
+    }
+
+    /**
+     * Saves and flushes so a concurrent insert of the same name surfaces here as
+     * a unique index violation rather than at commit.
+     */
+    private Ground saveGround(Ground ground) {
+        try {
+            return groundRepository.saveAndFlush(ground);
+        } catch (DataIntegrityViolationException e) {
+            if (!violatesIndex(e, Ground.NAME_INDEX)) {
+                throw e;
+            }
+            throw new IllegalArgumentException("Ground with name '" + ground.getName() + "' already exists");
+        }
+    }
+
+    /**
+     * Whether the violation is of the given unique index. Other violations,
+     * such as a missing required column, must not be reported as a duplicate
+     * name.
+     */
+    static boolean violatesIndex(DataIntegrityViolationException e, String indexName) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(indexName);
     }
 
     public void deleteGround(Long id) {
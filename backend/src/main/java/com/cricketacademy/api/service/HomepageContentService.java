@@ -1,6 +1,7 @@
 package com.cricketacademy.api.service;
 
 import com.cricketacademy.api.dto.FacilityItemDTO;
+import com.cricketacademy.api.dto.ImageVariantsDTO;
 import com.cricketacademy.api.dto.StarPlayerDTO;
 import com.cricketacademy.api.entity.FacilityItem;
 import com.cricketacademy.api.entity.StarPlayer;
@@ -14,12 +15,16 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
-
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,16 +37,16 @@ public class HomepageContentService {
     private final StarPlayerTournamentRepository starPlayerTournamentRepository;
     private final FacilityItemRepository facilityItemRepository;
     private final HeroImageRepository heroImageRepository;
-    
-    @PersistenceContext
-    private EntityManager entityManager;
+    private final HomepagePayloadCache homepagePayloadCache;
+    private final ImageDerivativeService imageDerivativeService;
 
     // ---- Star Players ----
     @Transactional(readOnly = true)
     public List<StarPlayerDTO> listPlayers() {
         List<StarPlayer> players = starPlayerRepository.findAllByOrderBySortOrderAscIdAsc();
         
-        // Initialize all collections for each player
+        // Collections are SUBSELECT-fetched: the first player's access loads each
+        // collection for all players, so this is five queries however many players
         players.forEach(player -> {
             player.getStats().size();
             player.getTournaments().size();
@@ -54,7 +59,7 @@ public class HomepageContentService {
         
         return players.stream().map(player -> {
             StarPlayerDTO dto = toDTO(player);
-            log.info("Player {} has {} tournaments", dto.getName(), dto.getTournaments() != null ? dto.getTournaments().size() : 0);
+            log.debug("Player {} has {} tournaments", dto.getName(), dto.getTournaments() != null ? dto.getTournaments().size() : 0);
             return dto;
         }).collect(Collectors.toList());
     }
@@ -63,49 +68,99 @@ public class HomepageContentService {
     public StarPlayerDTO createPlayer(StarPlayerDTO dto) {
         StarPlayer entity = new StarPlayer();
         apply(dto, entity);
-        return toDTO(starPlayerRepository.save(entity));
+        StarPlayer saved = starPlayerRepository.save(entity);
+        homepagePayloadCache.invalidate(HomepagePayloadCache.Section.PLAYERS);
+        return toDTO(saved);
     }
 
+    /**
+     * Merges the DTO into the stored player. Stats are matched by year and
+     * tournaments by name+month+year, so only rows that actually changed are
+     * inserted, updated or deleted; unchanged element collections are left alone.
+     */
     @Transactional
     public StarPlayerDTO updatePlayer(Long id, StarPlayerDTO dto) {
         log.info("Updating player with id: {}", id);
         
         StarPlayer entity = starPlayerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Player not found with id: " + id));
+
+        entity.setName(dto.getName());
+        entity.setPhotoUrl(dto.getPhotoUrl());
+        entity.setSortOrder(dto.getSortOrder() != null ? dto.getSortOrder() : 0);
+
+        mergeValues(entity.getAchievements(), dto.getAchievements());
+        mergeValues(entity.getPlayerType(), dto.getPlayerType());
+        mergeValues(entity.getRepresents(), dto.getRepresents());
+        mergeStats(entity, dto.getStats());
+        mergeTournaments(entity, dto.getTournaments());
+
+        // Dirty checking flushes the changes in batches at commit; no refresh needed
+        log.info("Updated player {} now has {} tournaments", entity.getName(), entity.getTournaments().size());
+        homepagePayloadCache.invalidate(HomepagePayloadCache.Section.PLAYERS);
         
-        // Initialize collections to avoid lazy loading issues
-        entity.getStats().size();
-        entity.getTournaments().size();
-        entity.getAchievements().size();
-        entity.getPlayerType().size();
-        entity.getRepresents().size();
-        
-        // Clear existing collections
-        entity.getStats().clear();
-        entity.getAchievements().clear();
-        entity.getPlayerType().clear();
-        entity.getRepresents().clear();
-        entity.getTournaments().clear();
-        
-        entityManager.flush();
-        
-        // Apply new data
-        apply(dto, entity);
-        
-        StarPlayer saved = starPlayerRepository.save(entity);
-        entityManager.flush();
-        entityManager.refresh(saved);
-        
-        // Initialize collections after refresh
-        saved.getStats().size();
-        saved.getTournaments().size();
-        saved.getAchievements().size();
-        saved.getPlayerType().size();
-        saved.getRepresents().size();
-        
-        log.info("Updated player {} now has {} tournaments", saved.getName(), saved.getTournaments().size());
-        
-        return toDTO(saved);
+        return toDTO(entity);
+    }
+
+    private void mergeValues(List<String> existing, List<String> incoming) {
+        List<String> values = incoming != null ? incoming : List.of();
+        // Element collections are rewritten as a whole when touched, so only touch them on change
+        if (!existing.equals(values)) {
+            existing.clear();
+            existing.addAll(values);
+        }
+    }
+
+    private void mergeStats(StarPlayer entity, List<StarPlayerDTO.StarPlayerYearStatDTO> incoming) {
+        Map<String, StarPlayerStat> byYear = new LinkedHashMap<>();
+        for (StarPlayerStat st : entity.getStats()) {
+            byYear.putIfAbsent(st.getYear(), st);
+        }
+        // Identity-based: the @Data entities' hashCode walks the player back-reference
+        Set<StarPlayerStat> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (incoming != null) {
+            for (StarPlayerDTO.StarPlayerYearStatDTO s : incoming) {
+                StarPlayerStat st = byYear.remove(s.getYear());
+                if (st == null) {
+                    st = new StarPlayerStat();
+                    st.setPlayer(entity);
+                    entity.getStats().add(st);
+                }
+                copyStat(s, st);
+                kept.add(st);
+            }
+        }
+        entity.getStats().removeIf(st -> !kept.contains(st));
+    }
+
+    private void mergeTournaments(StarPlayer entity, List<StarPlayerDTO.StarPlayerTournamentDTO> incoming) {
+        Map<String, Deque<StarPlayerTournament>> byKey = new HashMap<>();
+        for (StarPlayerTournament tr : entity.getTournaments()) {
+            byKey.computeIfAbsent(tournamentKey(tr.getName(), tr.getMonth(), tr.getYear()), k -> new ArrayDeque<>())
+                    .add(tr);
+        }
+        Set<StarPlayerTournament> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (incoming != null) {
+            for (StarPlayerDTO.StarPlayerTournamentDTO t : incoming) {
+                if (t.getName() == null || t.getName().trim().isEmpty()) {
+                    continue;
+                }
+                Deque<StarPlayerTournament> matches = byKey.get(tournamentKey(t.getName(), t.getMonth(), t.getYear()));
+                StarPlayerTournament tr = matches != null ? matches.poll() : null;
+                if (tr == null) {
+                    tr = new StarPlayerTournament();
+                    tr.setPlayer(entity);
+                    entity.getTournaments().add(tr);
+                }
+                copyTournament(t, tr);
+                kept.add(tr);
+            }
+        }
+        entity.getTournaments().removeIf(tr -> !kept.contains(tr));
+    }
+
+    private static String tournamentKey(String name, String month, String year) {
+        return (name != null ? name.trim() : "") + "|" + (month != null ? month : "") + "|" + (year != null ? year : "");
     }
 
     @Transactional
@@ -126,6 +181,7 @@ public class HomepageContentService {
     @Transactional
     public void deletePlayer(Long id) {
         starPlayerRepository.deleteById(id);
+        homepagePayloadCache.invalidate(HomepagePayloadCache.Section.PLAYERS);
     }
 
     private void apply(StarPlayerDTO dto, StarPlayer entity) {
@@ -155,16 +211,7 @@ public class HomepageContentService {
             for (StarPlayerDTO.StarPlayerYearStatDTO s : dto.getStats()) {
                 StarPlayerStat st = new StarPlayerStat();
                 st.setPlayer(entity);
-                st.setYear(s.getYear());
-                st.setRuns(s.getRuns() != null ? s.getRuns() : 0);
-                st.setWickets(s.getWickets() != null ? s.getWickets() : 0);
-                st.setMatches(s.getMatches() != null ? s.getMatches() : 0);
-                // Set new metrics with null safety
-                st.setCenturies(s.getCenturies() != null ? s.getCenturies() : 0);
-                st.setHalfCenturies(s.getHalfCenturies() != null ? s.getHalfCenturies() : 0);
-                st.setStrikeRate(s.getStrikeRate() != null ? s.getStrikeRate() : 0.0);
-                st.setEconomyRate(s.getEconomyRate() != null ? s.getEconomyRate() : 0.0);
-                st.setAverage(s.getAverage() != null ? s.getAverage() : 0.0);
+                copyStat(s, st);
                 entity.getStats().add(st);
             }
         }
@@ -177,12 +224,7 @@ public class HomepageContentService {
                 if (t.getName() != null && !t.getName().trim().isEmpty()) {
                     StarPlayerTournament tr = new StarPlayerTournament();
                     tr.setPlayer(entity);
-                    tr.setName(t.getName());
-                    tr.setMonth(t.getMonth() != null ? t.getMonth() : "");
-                    tr.setYear(t.getYear() != null ? t.getYear() : "");
-                    tr.setRuns(t.getRuns() != null ? t.getRuns() : 0);
-                    tr.setWickets(t.getWickets() != null ? t.getWickets() : 0);
-                    tr.setMatches(t.getMatches() != null ? t.getMatches() : 0);
+                    copyTournament(t, tr);
                     entity.getTournaments().add(tr);
                     log.info("Added tournament: {} - {} {}", t.getName(), t.getMonth(), t.getYear());
                 }
@@ -192,11 +234,34 @@ public class HomepageContentService {
         }
     }
 
+    private void copyStat(StarPlayerDTO.StarPlayerYearStatDTO s, StarPlayerStat st) {
+        st.setYear(s.getYear());
+        st.setRuns(s.getRuns() != null ? s.getRuns() : 0);
+        st.setWickets(s.getWickets() != null ? s.getWickets() : 0);
+        st.setMatches(s.getMatches() != null ? s.getMatches() : 0);
+        // Set new metrics with null safety
+        st.setCenturies(s.getCenturies() != null ? s.getCenturies() : 0);
+        st.setHalfCenturies(s.getHalfCenturies() != null ? s.getHalfCenturies() : 0);
+        st.setStrikeRate(s.getStrikeRate() != null ? s.getStrikeRate() : 0.0);
+        st.setEconomyRate(s.getEconomyRate() != null ? s.getEconomyRate() : 0.0);
+        st.setAverage(s.getAverage() != null ? s.getAverage() : 0.0);
+    }
+
+    private void copyTournament(StarPlayerDTO.StarPlayerTournamentDTO t, StarPlayerTournament tr) {
+        tr.setName(t.getName());
+        tr.setMonth(t.getMonth() != null ? t.getMonth() : "");
+        tr.setYear(t.getYear() != null ? t.getYear() : "");
+        tr.setRuns(t.getRuns() != null ? t.getRuns() : 0);
+        tr.setWickets(t.getWickets() != null ? t.getWickets() : 0);
+        tr.setMatches(t.getMatches() != null ? t.getMatches() : 0);
+    }
+
     private StarPlayerDTO toDTO(StarPlayer p) {
         StarPlayerDTO dto = new StarPlayerDTO();
         dto.setId(p.getId());
         dto.setName(p.getName());
         dto.setPhotoUrl(p.getPhotoUrl());
+        dto.setPhotoVariants(imageDerivativeService.variants(p.getPhotoUrl()));
         dto.setAchievements(new ArrayList<>(p.getAchievements()));
         dto.setPlayerType(new ArrayList<>(p.getPlayerType()));
         dto.setRepresents(new ArrayList<>(p.getRepresents()));
@@ -248,7 +313,9 @@ public class HomepageContentService {
     public FacilityItemDTO createFacility(FacilityItemDTO dto) {
         FacilityItem entity = new FacilityItem();
         apply(dto, entity);
-        return toDTO(facilityItemRepository.save(entity));
+        FacilityItem saved = facilityItemRepository.save(entity);
+        homepagePayloadCache.invalidate(HomepagePayloadCache.Section.FACILITIES);
+        return toDTO(saved);
     }
 
     @Transactional
@@ -257,12 +324,15 @@ public class HomepageContentService {
                 .orElseThrow(() -> new RuntimeException("Facility not found"));
         entity.getFeatures().clear();
         apply(dto, entity);
-        return toDTO(facilityItemRepository.save(entity));
+        FacilityItem saved = facilityItemRepository.save(entity);
+        homepagePayloadCache.invalidate(HomepagePayloadCache.Section.FACILITIES);
+        return toDTO(saved);
     }
 
     @Transactional
     public void deleteFacility(Long id) {
         facilityItemRepository.deleteById(id);
+        homepagePayloadCache.invalidate(HomepagePayloadCache.Section.FACILITIES);
     }
 
     private void apply(FacilityItemDTO dto, FacilityItem entity) {
@@ -279,6 +349,7 @@ public class HomepageContentService {
         dto.setTitle(f.getTitle());
         dto.setDescription(f.getDescription());
         dto.setImageUrl(f.getImageUrl());
+        dto.setImageVariants(imageDerivativeService.variants(f.getImageUrl()));
         dto.setFeatures(new ArrayList<>(f.getFeatures()));
         dto.setSortOrder(f.getSortOrder());
         return dto;
@@ -295,6 +366,14 @@ public class HomepageContentService {
         return images.get(0).getImageUrl();
     }
 
+    /**
+     * Resized copies of the hero image, or null when it has none.
+     */
+    @Transactional(readOnly = true)
+    public ImageVariantsDTO getHeroImageVariants() {
+        return imageDerivativeService.variants(getHeroImageUrl());
+    }
+
     @Transactional
     public void setHeroImageUrl(String imageUrl) {
         List<com.cricketacademy.api.entity.HeroImage> images = heroImageRepository.findAll();
@@ -310,6 +389,8 @@ public class HomepageContentService {
 
         heroImage.setImageUrl(imageUrl);
         heroImageRepository.save(heroImage);
+        homepagePayloadCache.invalidate(HomepagePayloadCache.Section.HERO_IMAGE);
+        homepagePayloadCache.invalidate(HomepagePayloadCache.Section.HERO_IMAGE_VARIANTS);
     }
 
     @Transactional
@@ -318,6 +399,8 @@ public class HomepageContentService {
         if (!images.isEmpty()) {
             heroImageRepository.delete(images.get(0));
         }
+        homepagePayloadCache.invalidate(HomepagePayloadCache.Section.HERO_IMAGE);
+        homepagePayloadCache.invalidate(HomepagePayloadCache.Section.HERO_IMAGE_VARIANTS);
     }
 
     /**
@@ -338,6 +421,7 @@ public class HomepageContentService {
             heroImage.setImageUrl(
                     "https://drive.google.com/drive/folders/12yu1Q0A8o8oylAVVc_C68UcG8iciMinx");
             heroImageRepository.save(heroImage);
+            homepagePayloadCache.invalidate(HomepagePayloadCache.Section.HERO_IMAGE);
         }
 
         // ---- Default Star Players ----
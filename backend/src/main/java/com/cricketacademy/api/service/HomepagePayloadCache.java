@@ -0,0 +1,154 @@
+package com.cricketacademy.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the public homepage payloads, held as ready-to-write
+ * bytes with an ETag. Admin write paths call {@link #invalidate} so the next
+ * read rebuilds the payload; entries also expire after a TTL so other nodes
+ * pick up changes within a bounded delay.
+ *
+ * Rebuilds are single-flight: one caller runs the loader while concurrent
+ * callers wait for its result, or keep getting the expired payload if there
+ * is one, instead of all hitting the database at once.
+ */
+@Component
+@Slf4j
+public class HomepagePayloadCache {
+
+    public enum Section {
+        PLAYERS, FACILITIES, HERO_IMAGE, HERO_IMAGE_VARIANTS
+    }
+
+    public record Payload(byte[] body, String etag, long loadedAt) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final long ttlMillis;
+
+    private final Map<Section, Payload> payloads = new EnumMap<>(Section.class);
+    // Bumped on every invalidation so a load that raced with a write is not stored
+    private final Map<Section, AtomicLong> generations = new EnumMap<>(Section.class);
+    // The rebuild currently running per section; cleared on invalidation so later
+    // readers start a fresh load instead of joining one that may see old data
+    private final Map<Section, CompletableFuture<Payload>> rebuilds = new ConcurrentHashMap<>();
+
+    public HomepagePayloadCache(ObjectMapper objectMapper,
+            @Value("${app.homepage.cache-ttl-seconds:300}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.ttlMillis = ttlSeconds * 1000;
+        for (Section section : Section.values()) {
+            generations.put(section, new AtomicLong());
+        }
+    }
+
+    /**
+     * Returns the cached JSON payload of a section, building it with the loader
+     * when missing or expired.
+     */
+    public Payload json(Section section, Supplier<?> loader) {
+        return get(section, () -> {
+            try {
+                return objectMapper.writeValueAsBytes(loader.get());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to serialize homepage " + section, e);
+            }
+        });
+    }
+
+    /**
+     * Returns the cached plain-text payload of a section, e.g. the hero image URL.
+     */
+    public Payload text(Section section, Supplier<String> loader) {
+        return get(section, () -> {
+            String value = loader.get();
+            return (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        });
+    }
+
+    /**
+     * Drops a section. Inside a transaction this happens after commit, so a
+     * concurrent read cannot repopulate the cache with the old data.
+     */
+    public void invalidate(Section section) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(section);
+                }
+            });
+        }
+        evict(section);
+    }
+
+    private Payload get(Section section, Supplier<byte[]> serializer) {
+        Payload payload;
+        synchronized (payloads) {
+            payload = payloads.get(section);
+        }
+        if (payload != null && System.currentTimeMillis() - payload.loadedAt() < ttlMillis) {
+            return payload;
+        }
+
+        CompletableFuture<Payload> rebuild = new CompletableFuture<>();
+        CompletableFuture<Payload> running = rebuilds.putIfAbsent(section, rebuild);
+        if (running != null) {
+            return payload != null ? payload : await(running);
+        }
+        try {
+            long generation = generations.get(section).get();
+            byte[] body = serializer.get();
+            Payload loaded = new Payload(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"",
+                    System.currentTimeMillis());
+            synchronized (payloads) {
+                if (generations.get(section).get() == generation) {
+                    payloads.put(section, loaded);
+                }
+            }
+            log.debug("Rebuilt homepage {} payload ({} bytes)", section, body.length);
+            rebuild.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            rebuild.completeExceptionally(e);
+            throw e;
+        } finally {
+            rebuilds.remove(section, rebuild);
+        }
+    }
+
+    private static Payload await(CompletableFuture<Payload> rebuild) {
+        try {
+            return rebuild.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void evict(Section section) {
+        synchronized (payloads) {
+            generations.get(section).incrementAndGet();
+            payloads.remove(section);
+            rebuilds.remove(section);
+        }
+    }
+}
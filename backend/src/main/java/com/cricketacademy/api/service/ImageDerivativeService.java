@@ -0,0 +1,472 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.dto.ImageVariantsDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates resized copies of uploaded images for the homepage. Each stored
+ * JPEG or PNG gets a thumbnail, card and hero width, written next to the
+ * object as {@code <sha256>-w<width>.<ext>} so the upload GC removes them
+ * with it. Re-encoding drops EXIF and other metadata; the EXIF orientation is
+ * applied to the pixels first so phone photos stay upright.
+ *
+ * Work runs on a small bounded pool off the request thread. When the queue is
+ * full the request is dropped; {@link #variants} asks again the next time the
+ * image is rendered, so missing sizes fill in over time. Once an image has
+ * every size its variants are kept in memory, so rendering it no longer
+ * touches the disk.
+ */
+@Service
+@Slf4j
+public class ImageDerivativeService {
+
+    public enum Variant {
+        THUMBNAIL(320), CARD(640), HERO(1600);
+
+        private final int width;
+
+        Variant(int width) {
+            this.width = width;
+        }
+
+        public int width() {
+            return width;
+        }
+    }
+
+    private static final int LARGEST_WIDTH = Variant.HERO.width();
+
+    private final UploadStore uploadStore;
+    private final HomepagePayloadCache homepagePayloadCache;
+    private final float jpegQuality;
+    private final long maxPixels;
+    private final ThreadPoolExecutor workers;
+
+    // Hashes queued or being processed, and images that could not be decoded
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Set<String> failed = ConcurrentHashMap.newKeySet();
+    // Store URL -> variants, for images that have every size
+    private final Map<String, ImageVariantsDTO> complete = new ConcurrentHashMap<>();
+
+    public ImageDerivativeService(UploadStore uploadStore,
+            HomepagePayloadCache homepagePayloadCache,
+            @Value("${app.upload.images.workers:2}") int workerCount,
+            @Value("${app.upload.images.queue-capacity:64}") int queueCapacity,
+            @Value("${app.upload.images.jpeg-quality:0.82}") float jpegQuality,
+            @Value("${app.upload.images.max-pixels:100000000}") long maxPixels) {
+        this.uploadStore = uploadStore;
+        this.homepagePayloadCache = homepagePayloadCache;
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivative-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queues derivative generation for a store URL. Does nothing for other
+     * URLs, unsupported formats or images that already have every size.
+     */
+    public void submit(String url) {
+        Optional<Path> original = uploadStore.resolve(url).filter(ImageDerivativeService::isSupported);
+        if (original.isEmpty()) {
+            return;
+        }
+        Path file = original.get();
+        String sha256 = sha256Of(file);
+        if (failed.contains(sha256) || complete.containsKey(url) || allGenerated(file) || !pending.add(sha256)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    if (!generate(file)) {
+                        failed.add(sha256);
+                        return;
+                    }
+                    lookup(url, file);
+                    // Homepage payloads built before now lack the new URLs
+                    for (HomepagePayloadCache.Section section : HomepagePayloadCache.Section.values()) {
+                        homepagePayloadCache.invalidate(section);
+                    }
+                } catch (Exception e) {
+                    failed.add(sha256);
+                    log.warn("Could not create image sizes for {}: {}", file.getFileName(), e.getMessage());
+                } finally {
+                    pending.remove(sha256);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(sha256);
+            log.debug("Image queue full, skipping {}", file.getFileName());
+        }
+    }
+
+    /**
+     * URLs of the sizes generated so far for a store URL, or null when the URL
+     * has no derivatives. Missing sizes are queued for generation.
+     */
+    public ImageVariantsDTO variants(String url) {
+        ImageVariantsDTO known = url != null ? complete.get(url) : null;
+        if (known != null) {
+            return known;
+        }
+        Optional<Path> original = uploadStore.resolve(url).filter(ImageDerivativeService::isSupported);
+        if (original.isEmpty()) {
+            return null;
+        }
+        Path file = original.get();
+        if (failed.contains(sha256Of(file))) {
+            return new ImageVariantsDTO(null, null, null);
+        }
+        ImageVariantsDTO variants = lookup(url, file);
+        if (!complete.containsKey(url)) {
+            submit(url);
+        }
+        return variants;
+    }
+
+    /**
+     * Checks which sizes exist on disk, remembering the result once all do.
+     */
+    private ImageVariantsDTO lookup(String url, Path file) {
+        String base = url.substring(0, url.lastIndexOf('/') + 1);
+        String[] urls = new String[Variant.values().length];
+        boolean all = true;
+        for (Variant variant : Variant.values()) {
+            Path derived = derivativePath(file, variant);
+            if (Files.exists(derived)) {
+                urls[variant.ordinal()] = base + derived.getFileName();
+            } else {
+                all = false;
+            }
+        }
+        ImageVariantsDTO variants = new ImageVariantsDTO(urls[Variant.THUMBNAIL.ordinal()],
+                urls[Variant.CARD.ordinal()], urls[Variant.HERO.ordinal()]);
+        if (all) {
+            complete.put(url, variants);
+        }
+        return variants;
+    }
+
+    /**
+     * Writes every missing size of one image. Returns false when the file is
+     * not a decodable image or is larger than {@code max-pixels}.
+     */
+    boolean generate(Path file) throws IOException {
+        int orientation = isJpeg(file) ? exifOrientation(file) : 1;
+        BufferedImage source = read(file, orientation >= 5);
+        if (source == null) {
+            return false;
+        }
+        // Orientations 5-8 are rotated a quarter turn, so the stored width is the displayed height
+        boolean quarterTurn = orientation >= 5;
+        int displayWidth = quarterTurn ? source.getHeight() : source.getWidth();
+        int displayHeight = quarterTurn ? source.getWidth() : source.getHeight();
+        boolean png = !isJpeg(file);
+
+        for (Variant variant : Variant.values()) {
+            Path target = derivativePath(file, variant);
+            if (Files.exists(target)) {
+                continue;
+            }
+            int width = Math.min(variant.width(), displayWidth);
+            int height = Math.max(1, (int) Math.round((double) displayHeight * width / displayWidth));
+            BufferedImage scaled = quarterTurn ? scale(source, height, width, png) : scale(source, width, height, png);
+            write(orient(scaled, orientation), target, png);
+        }
+        return true;
+    }
+
+    /**
+     * Decodes the image, skipping rows and columns of sources far larger than
+     * the hero width. Metadata is not read.
+     */
+    private BufferedImage read(Path file, boolean quarterTurn) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    log.warn("Skipping image sizes for {}: {}x{} is too large", file.getFileName(), width, height);
+                    return null;
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                // Keep at least twice the hero width so the final downscale still smooths
+                int step = Math.max(1, (quarterTurn ? height : width) / (2 * LARGEST_WIDTH));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Downscales in halving steps; a single bilinear step from a much larger
+     * image skips most source pixels and looks grainy.
+     */
+    private static BufferedImage scale(BufferedImage source, int targetWidth, int targetHeight, boolean alpha) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height,
+                    alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                if (!alpha) {
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, width, height);
+                }
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    /**
+     * Applies an EXIF orientation (1-8) to the pixels.
+     */
+    static BufferedImage orient(BufferedImage image, int orientation) {
+        if (orientation <= 1 || orientation > 8) {
+            return image;
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        AffineTransform t = new AffineTransform();
+        switch (orientation) {
+            case 2 -> {
+                t.translate(w, 0);
+                t.scale(-1, 1);
+            }
+            case 3 -> {
+                t.translate(w, h);
+                t.rotate(Math.PI);
+            }
+            case 4 -> {
+                t.translate(0, h);
+                t.scale(1, -1);
+            }
+            case 5 -> {
+                t.rotate(-Math.PI / 2);
+                t.scale(-1, 1);
+            }
+            case 6 -> {
+                t.translate(h, 0);
+                t.rotate(Math.PI / 2);
+            }
+            case 7 -> {
+                t.scale(-1, 1);
+                t.translate(-h, w);
+                t.rotate(3 * Math.PI / 2);
+            }
+            default -> {
+                t.translate(0, w);
+                t.rotate(3 * Math.PI / 2);
+            }
+        }
+        boolean quarterTurn = orientation >= 5;
+        BufferedImage oriented = new BufferedImage(quarterTurn ? h : w, quarterTurn ? w : h, image.getType());
+        Graphics2D g = oriented.createGraphics();
+        try {
+            g.drawImage(image, t, null);
+        } finally {
+            g.dispose();
+        }
+        return oriented;
+    }
+
+    private void write(BufferedImage image, Path target, boolean png) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".derivative-", ".tmp");
+        try {
+            if (png) {
+                ImageIO.write(image, "png", temp.toFile());
+            } else {
+                ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+                try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                    ImageWriteParam param = writer.getDefaultWriteParam();
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(jpegQuality);
+                    param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                    writer.setOutput(out);
+                    writer.write(null, new IIOImage(image, null, null), param);
+                } finally {
+                    writer.dispose();
+                }
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads the EXIF orientation tag from a JPEG's APP1 segment, or returns 1
+     * (upright) when there is none.
+     */
+    static int exifOrientation(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                // Start of scan: metadata segments all come before the image data
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA) {
+                    return 1;
+                }
+                int length = in.readUnsignedShort();
+                if (length < 2) {
+                    return 1;
+                }
+                if (marker == 0xFFE1) {
+                    int orientation = orientationFromExif(in.readNBytes(length - 2));
+                    if (orientation != 0) {
+                        return orientation;
+                    }
+                } else {
+                    in.skipNBytes(length - 2);
+                }
+            }
+        } catch (IOException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * Finds tag 0x0112 in IFD0 of an APP1 payload; returns 0 when the payload
+     * is not EXIF (e.g. XMP) or has no orientation.
+     */
+    static int orientationFromExif(byte[] data) {
+        if (data.length < 14 || data[0] != 'E' || data[1] != 'x' || data[2] != 'i' || data[3] != 'f') {
+            return 0;
+        }
+        int tiff = 6;
+        boolean bigEndian = data[tiff] == 'M';
+        int ifd = tiff + (int) readInt(data, tiff + 4, bigEndian);
+        if (ifd < tiff || ifd + 2 > data.length) {
+            return 0;
+        }
+        int entries = readShort(data, ifd, bigEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > data.length) {
+                return 0;
+            }
+            if (readShort(data, entry, bigEndian) == 0x0112) {
+                int value = readShort(data, entry + 8, bigEndian);
+                return value >= 1 && value <= 8 ? value : 0;
+            }
+        }
+        return 0;
+    }
+
+    private static int readShort(byte[] data, int offset, boolean bigEndian) {
+        int a = data[offset] & 0xFF;
+        int b = data[offset + 1] & 0xFF;
+        return bigEndian ? (a << 8) | b : (b << 8) | a;
+    }
+
+    private static long readInt(byte[] data, int offset, boolean bigEndian) {
+        long value = 0;
+        for (int i = 0; i < 4; i++) {
+            int shift = bigEndian ? (3 - i) * 8 : i * 8;
+            value |= (long) (data[offset + i] & 0xFF) << shift;
+        }
+        return value;
+    }
+
+    private boolean allGenerated(Path file) {
+        for (Variant variant : Variant.values()) {
+            if (!Files.exists(derivativePath(file, variant))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static Path derivativePath(Path original, Variant variant) {
+        String ext = isJpeg(original) ? ".jpg" : ".png";
+        return original.resolveSibling(sha256Of(original) + "-w" + variant.width() + ext);
+    }
+
+    private static String sha256Of(Path original) {
+        String name = original.getFileName().toString();
+        int dot = name.indexOf('.');
+        return dot >= 0 ? name.substring(0, dot) : name;
+    }
+
+    private static boolean isSupported(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return isJpeg(file) || name.endsWith(".png");
+    }
+
+    private static boolean isJpeg(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".jpg") || name.endsWith(".jpeg");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
@@ -4,16 +4,23 @@ import com.cricketacademy.api.dto.NetDTO;
 import com.cricketacademy.api.dto.NetRequestDTO;
 import com.cricketacademy.api.entity.Ground;
 import com.cricketacademy.api.entity.Net;
+import com.cricketacademy.api.repository.BookingRepository;
 import com.cricketacademy.api.repository.GroundRepository;
 import com.cricketacademy.api.repository.NetRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -26,8 +33,16 @@ public class NetService {
     private final NetRepository netRepository;
     private final GroundRepository groundRepository;
     private final ObjectMapper objectMapper;
+    private final BookingRepository bookingRepository;
     private static final Logger log = LoggerFactory.getLogger(NetService.class);
 
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    // Opening hours follow the standard booking slots
+    private static final int OPENING_MINUTE = minuteOfDay(
+            LocalTime.parse(BookingRepository.DEFAULT_TIME_SLOTS.get(0).split("-")[0]));
+    private static final int CLOSING_MINUTE = minuteOfDay(LocalTime.parse(
+            BookingRepository.DEFAULT_TIME_SLOTS.get(BookingRepository.DEFAULT_TIME_SLOTS.size() - 1).split("-")[1]));
+
     public List<NetDTO> getAllAvailableNets() {
         return netRepository.findByIsAvailableTrue().stream()
                 .map(this::convertToDTO)
@@ -57,16 +72,15 @@ public class NetService {
                 .orElseThrow(() -> new RuntimeException("Ground not found with id: " + netRequestDTO.getGroundId()));
 
         // Validate unique name within ground
-        if (netRepository.findAll().stream()
-                .anyMatch(n -> n.getName().equalsIgnoreCase(netRequestDTO.getName())
-                        && n.getGround().getId().equals(netRequestDTO.getGroundId()))) {
+        if (netRepository.existsByGroundIdAndNameNormalized(netRequestDTO.getGroundId(),
+                Ground.normalizeName(netRequestDTO.getName()))) {
             throw new IllegalArgumentException(
                     "Net with name '" + netRequestDTO.getName() + "' already exists for this ground");
         }
 
         Net net = convertToEntity(netRequestDTO);
         net.setGround(ground);
-        return convertToDTO(netRepository.save(net));
+        return convertToDTO(saveNet(net));
     }
 
     public NetDTO createNet(NetRequestDTO netRequestDTO, Long groundId) {
@@ -74,16 +88,15 @@ public class NetService {
                 .orElseThrow(() -> new RuntimeException("Ground not found with id: " + groundId));
 
         // Validate unique name within ground
-        if (netRepository.findAll().stream()
-                .anyMatch(n -> n.getName().equalsIgnoreCase(netRequestDTO.getName())
-                        && n.getGround().getId().equals(groundId))) {
+        if (netRepository.existsByGroundIdAndNameNormalized(groundId,
+                Ground.normalizeName(netRequestDTO.getName()))) {
             throw new IllegalArgumentException(
                     "Net with name '" + netRequestDTO.getName() + "' already exists for this ground");
         }
 
         Net net = convertToEntity(netRequestDTO);
         net.setGround(ground);
-        return convertToDTO(netRepository.save(net));
+        return convertToDTO(saveNet(net));
     }
 
     public NetDTO updateNet(Long id, NetRequestDTO netRequestDTO) {
@@ -100,16 +113,29 @@ public class NetService {
 
         // Check for duplicate name within ground (excluding current net)
         Long groundIdToCheck = ground != null ? ground.getId() : net.getGround().getId();
-        if (netRepository.findAll().stream()
-                .anyMatch(n -> n.getName().equalsIgnoreCase(netRequestDTO.getName())
-                        && n.getGround().getId().equals(groundIdToCheck)
-                        && !n.getId().equals(id))) {
+        if (netRepository.existsByGroundIdAndNameNormalizedAndIdNot(groundIdToCheck,
+                Ground.normalizedName(netRequestDTO.getName(), id, net.getNameNormalized()), id)) {
             throw new IllegalArgumentException(
                     "Net with name '" + netRequestDTO.getName() + "' already exists for this ground");
         }
 
         updateEntityFromDTO(net, netRequestDTO, ground);
-        return convertToDTO(netRepository.save(net));
+        return convertToDTO(saveNet(net));
+    }
+
+    /**
+     * Saves and flushes so a concurrent insert of the same name surfaces here as
+     * a unique index violation rather than at commit.
+     */
+    private Net saveNet(Net net) {
+        try {
+            return netRepository.saveAndFlush(net);
+        } catch (DataIntegrityViolationException e) {
+            if (!GroundService.violatesIndex(e, Net.NAME_INDEX)) {
+                throw e;
+            }
+            throw new IllegalArgumentException("Net with name '" + net.getName() + "' already exists for this ground");
+        }
     }
 
     public void deleteNet(Long id) {
@@ -132,10 +158,13 @@ public class NetService {
                 .collect(Collectors.toList());
     }
 
-    public List<NetDTO> getAvailableNetsByDate(Long id) {
-        return netRepository.findByIsAvailableTrue().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    /**
+     * Nets of the ground that still have at least one free slot of their own
+     * duration within opening hours on the date.
+     */
+    @Transactional(readOnly = true)
+    public List<NetDTO> getAvailableNetsByDate(Long groundId, String date) {
+        return findFreeNets(groundId, parseDate(date), null);
     }
 
     public List<NetDTO> getNetsByDate(Long id) {
@@ -144,12 +173,108 @@ public class NetService {
                 .collect(Collectors.toList());
     }
 
-    public List<NetDTO> getAvailableNetsByDateAndTime(Long id, String date, String time) {
-        return netRepository.findByIsAvailableTrue().stream()
+    /**
+     * Nets of the ground that are free for the window on the date. The time is
+     * either "HH:mm", meaning one slot of the net's duration, or "HH:mm-HH:mm".
+     */
+    @Transactional(readOnly = true)
+    public List<NetDTO> getAvailableNetsByDateAndTime(Long groundId, String date, String time) {
+        return findFreeNets(groundId, parseDate(date), time);
+    }
+
+    /**
+     * Evaluates every net of the ground against one range query over the day's
+     * bookings, marked minute by minute. A "net" booking carries the net's id
+     * in its groundId, which is what the booking pages send as the facility id.
+     * Nets whose online booking calendar is switched off are never offered; an
+     * unset flag counts as on, like the column default. Nets without real-time
+     * availability are offered without checking bookings.
+     */
+    private List<NetDTO> findFreeNets(Long groundId, LocalDate date, String time) {
+        Map<String, BitSet> bookedMinutes = new HashMap<>();
+        for (BookingRepository.OccupiedInterval interval : bookingRepository.findOccupiedIntervals(date, date)) {
+            if (!"net".equalsIgnoreCase(interval.getBookingType())
+                    || interval.getStartTime() == null || interval.getEndTime() == null) {
+                continue;
+            }
+            int start = minuteOfDay(interval.getStartTime());
+            int end = interval.getEndTime().isAfter(interval.getStartTime()) ? minuteOfDay(interval.getEndTime())
+                    : MINUTES_PER_DAY;
+            bookedMinutes.computeIfAbsent(interval.getGroundId(), id -> new BitSet(MINUTES_PER_DAY)).set(start, end);
+        }
+
+        int[] window = time != null ? parseWindow(time) : null;
+        List<Net> nets = groundId != null ? netRepository.findByGroundIdAndIsAvailableTrue(groundId)
+                : netRepository.findByIsAvailableTrue();
+        return nets.stream()
+                .filter(net -> isFree(net, bookedMinutes.get(facilityId(net)), window))
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    private boolean isFree(Net net, BitSet booked, int[] window) {
+        if (Boolean.FALSE.equals(net.getBookingCalendarEnabled())) {
+            return false;
+        }
+        if (Boolean.FALSE.equals(net.getRealTimeAvailability()) || booked == null) {
+            return true;
+        }
+        int duration = net.getSlotDurationMinutes() != null && net.getSlotDurationMinutes() > 0
+                ? net.getSlotDurationMinutes()
+                : 60;
+        if (window != null) {
+            int end = window[1] >= 0 ? window[1] : Math.min(MINUTES_PER_DAY, window[0] + duration);
+            return booked.get(window[0], end).isEmpty();
+        }
+        for (int start = OPENING_MINUTE; start + duration <= CLOSING_MINUTE; start += duration) {
+            if (booked.get(start, start + duration).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The groundId under which bookings of this net are stored.
+     */
+    static String facilityId(Net net) {
+        return String.valueOf(net.getId());
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid date: " + date);
+        }
+    }
+
+    /**
+     * Returns {start, end} in minutes of the day; end is -1 when only a start
+     * time was given.
+     */
+    private static int[] parseWindow(String time) {
+        try {
+            String[] parts = time.split("-");
+            int start = minuteOfDay(LocalTime.parse(parts[0].trim()));
+            if (parts.length == 1) {
+                return new int[] { start, -1 };
+            }
+            LocalTime endTime = LocalTime.parse(parts[1].trim());
+            int end = endTime.equals(LocalTime.MIDNIGHT) ? MINUTES_PER_DAY : minuteOfDay(endTime);
+            if (end <= start) {
+                throw new IllegalArgumentException("Invalid time window: " + time);
+            }
+            return new int[] { start, end };
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid time window: " + time);
+        }
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
     private NetDTO convertToDTO(Net net) {
         NetDTO dto = new NetDTO();
         dto.setId(net.getId());
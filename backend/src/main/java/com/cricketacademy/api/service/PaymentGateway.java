@@ -0,0 +1,48 @@
+package com.cricketacademy.api.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operations the checkout, verification and refund flows need from a payment
+ * provider. Exactly one implementation is active, chosen by
+ * {@code app.payment.gateway}: {@code razorpay} (default) or {@code stub} for
+ * offline load testing. Failures surface as
+ * {@link com.cricketacademy.api.exception.PaymentGatewayException}.
+ */
+public interface PaymentGateway {
+
+    /** Amounts are in the currency's smallest unit, e.g. paise. */
+    record Order(String id, long amount, String currency, String receipt, String status) {
+    }
+
+    record Payment(String id, String orderId, String status, long amount, String currency, String method,
+            String email, String contact, Long createdAt) {
+    }
+
+    record Refund(String id, String paymentId, long amount, String status) {
+    }
+
+    String name();
+
+    /**
+     * Creates an order; notes are stored with it and echoed back in webhooks.
+     */
+    Order createOrder(long amount, String currency, String receipt, Map<String, String> notes);
+
+    Payment fetchPayment(String paymentId);
+
+    /**
+     * All payment attempts made against an order, oldest first.
+     */
+    List<Payment> fetchOrderPayments(String orderId);
+
+    /**
+     * Refunds a captured payment; a null amount refunds it in full.
+     */
+    Refund refund(String paymentId, Long amount);
+
+    boolean verifyPaymentSignature(String orderId, String paymentId, String signature);
+
+    boolean verifyWebhookSignature(String payload, String signature);
+}
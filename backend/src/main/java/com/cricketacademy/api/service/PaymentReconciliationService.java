@@ -0,0 +1,260 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.Booking;
+import com.cricketacademy.api.repository.BookingRepository;
+import com.cricketacademy.api.repository.SchedulerLockRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Settles bookings stuck in {@code paymentStatus=PENDING} against the payment
+ * gateway. Pending bookings that carry a gateway order or payment reference
+ * are paged through in id order; each page is looked up at the gateway on a
+ * small, bounded pool and the resulting changes are written back as two JDBC
+ * batches. Bookings the batch actually settled then get the confirmation that
+ * {@link BookingService#confirmBooking} gives online payments. Each run
+ * produces a {@link Report}, the latest of which is kept for the admin API.
+ *
+ * Bookings newer than {@code min-age-minutes} are left alone so checkouts in
+ * progress are not raced. Only the node holding the
+ * {@code payment-reconciliation} lease runs.
+ */
+@Service
+@Slf4j
+public class PaymentReconciliationService {
+
+    static final String LOCK_NAME = "payment-reconciliation";
+
+    private static final String MARK_PAID_SQL = "UPDATE bookings SET status = 'COMPLETED', "
+            + "payment_status = 'PAID', payment_id = ?, updated_at = ? WHERE id = ? AND payment_status = 'PENDING' "
+            + "AND status <> 'CANCELLED'";
+    private static final String MARK_FAILED_SQL = "UPDATE bookings SET payment_status = 'FAILED', updated_at = ? "
+            + "WHERE id = ? AND payment_status = 'PENDING'";
+
+    public enum Result {
+        PAID, FAILED, UNCHANGED, ERROR
+    }
+
+    public record Outcome(Long bookingId, String reference, Result result, String paymentId, String detail) {
+    }
+
+    public record Report(LocalDateTime startedAt, long durationMillis, int scanned, int paid, int failed,
+            int unchanged, int errors, List<Outcome> changes) {
+    }
+
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final PaymentGateway paymentGateway;
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int chunkSize;
+    private final long minAgeMinutes;
+    private final long leaseMinutes;
+    private final String owner;
+    private final ExecutorService lookups;
+
+    private final AtomicReference<Report> lastReport = new AtomicReference<>();
+
+    public PaymentReconciliationService(BookingRepository bookingRepository,
+            BookingService bookingService,
+            PaymentGateway paymentGateway,
+            SchedulerLockRepository schedulerLockRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.payment.reconciliation.chunk-size:100}") int chunkSize,
+            @Value("${app.payment.reconciliation.concurrency:4}") int concurrency,
+            @Value("${app.payment.reconciliation.min-age-minutes:15}") long minAgeMinutes,
+            @Value("${app.payment.reconciliation.lease-minutes:30}") long leaseMinutes) {
+        this.bookingRepository = bookingRepository;
+        this.bookingService = bookingService;
+        this.paymentGateway = paymentGateway;
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+        this.minAgeMinutes = minAgeMinutes;
+        this.leaseMinutes = leaseMinutes;
+        this.owner = hostName() + ":" + UUID.randomUUID();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.lookups = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "payment-reconcile-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(cron = "${app.payment.reconciliation.cron:0 */30 * * * *}")
+    public void scheduledRun() {
+        run().ifPresentOrElse(
+                report -> log.info("Payment reconciliation: {} scanned, {} paid, {} failed, {} errors in {} ms",
+                        report.scanned(), report.paid(), report.failed(), report.errors(), report.durationMillis()),
+                () -> log.debug("Payment reconciliation lease held elsewhere, skipping"));
+    }
+
+    /**
+     * Runs one reconciliation pass, or returns empty when another run holds
+     * the lease.
+     */
+    public Optional<Report> run() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        if (schedulerLockRepository.acquire(LOCK_NAME, owner, startedAt, startedAt.plusMinutes(leaseMinutes)) == 0) {
+            return Optional.empty();
+        }
+        try {
+            Report report = reconcile(startedAt);
+            lastReport.set(report);
+            return Optional.of(report);
+        } finally {
+            schedulerLockRepository.release(LOCK_NAME, owner, LocalDateTime.now());
+        }
+    }
+
+    public Optional<Report> getLastReport() {
+        return Optional.ofNullable(lastReport.get());
+    }
+
+    private Report reconcile(LocalDateTime startedAt) {
+        LocalDateTime createdBefore = startedAt.minusMinutes(minAgeMinutes);
+        int scanned = 0;
+        int unchanged = 0;
+        List<Outcome> changes = new ArrayList<>();
+        long afterId = 0;
+
+        while (true) {
+            List<Booking> page = bookingRepository.findPendingGatewayPayments(afterId, createdBefore,
+                    PageRequest.of(0, chunkSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).getId();
+            scanned += page.size();
+
+            List<CompletableFuture<Outcome>> pending = page.stream()
+                    .map(booking -> CompletableFuture.supplyAsync(() -> check(booking), lookups))
+                    .toList();
+            List<Outcome> outcomes = pending.stream().map(CompletableFuture::join).toList();
+
+            apply(outcomes);
+            for (Outcome outcome : outcomes) {
+                if (outcome.result() == Result.UNCHANGED) {
+                    unchanged++;
+                } else {
+                    changes.add(outcome);
+                }
+            }
+            if (page.size() < chunkSize) {
+                break;
+            }
+        }
+
+        int paid = count(changes, Result.PAID);
+        int failed = count(changes, Result.FAILED);
+        int errors = count(changes, Result.ERROR);
+        long durationMillis = Duration.between(startedAt, LocalDateTime.now()).toMillis();
+        return new Report(startedAt, durationMillis, scanned, paid, failed, unchanged, errors, changes);
+    }
+
+    /**
+     * Decides what the gateway says about one booking. A captured payment for
+     * at least the booking's price, made against the order created for this
+     * booking, settles it; an order whose attempts have all failed marks it
+     * failed; anything else is left for a later run. A bare payment id cannot
+     * be tied to the booking's order, so it is reported rather than settled.
+     */
+    Outcome check(Booking booking) {
+        String reference = booking.getPaymentId();
+        if (!reference.startsWith("order_")) {
+            return new Outcome(booking.getId(), reference, Result.ERROR, null,
+                    "Payment reference is not an order created for this booking");
+        }
+        try {
+            List<PaymentGateway.Payment> payments = paymentGateway.fetchOrderPayments(reference);
+
+            long expected = booking.getPrice() != null ? Math.round(booking.getPrice() * 100) : 0;
+            for (PaymentGateway.Payment payment : payments) {
+                if (!reference.equals(payment.orderId())) {
+                    continue;
+                }
+                if ("captured".equals(payment.status())) {
+                    if (payment.amount() < expected) {
+                        return new Outcome(booking.getId(), reference, Result.ERROR, payment.id(),
+                                "Captured " + payment.amount() + " but booking costs " + expected);
+                    }
+                    return new Outcome(booking.getId(), reference, Result.PAID, payment.id(), null);
+                }
+            }
+            if (!payments.isEmpty() && payments.stream().allMatch(payment -> "failed".equals(payment.status()))) {
+                return new Outcome(booking.getId(), reference, Result.FAILED, payments.get(payments.size() - 1).id(),
+                        null);
+            }
+            return new Outcome(booking.getId(), reference, Result.UNCHANGED, null, null);
+        } catch (Exception e) {
+            return new Outcome(booking.getId(), reference, Result.ERROR, null, e.getMessage());
+        }
+    }
+
+    private void apply(List<Outcome> outcomes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> paid = new ArrayList<>();
+        List<Object[]> failed = new ArrayList<>();
+        for (Outcome outcome : outcomes) {
+            if (outcome.result() == Result.PAID) {
+                paid.add(new Object[] { outcome.paymentId(), now, outcome.bookingId() });
+            } else if (outcome.result() == Result.FAILED) {
+                failed.add(new Object[] { now, outcome.bookingId() });
+            }
+        }
+        if (!paid.isEmpty()) {
+            int[] updated = jdbcTemplate.batchUpdate(MARK_PAID_SQL, paid);
+            List<Long> settled = new ArrayList<>();
+            for (int i = 0; i < updated.length; i++) {
+                // No row means the booking was cancelled or settled since it was read
+                if (updated[i] != 0) {
+                    settled.add((Long) paid.get(i)[2]);
+                }
+            }
+            if (!settled.isEmpty()) {
+                bookingService.completeReconciledPayments(settled);
+            }
+        }
+        if (!failed.isEmpty()) {
+            jdbcTemplate.batchUpdate(MARK_FAILED_SQL, failed);
+        }
+    }
+
+    private static int count(List<Outcome> outcomes, Result result) {
+        return (int) outcomes.stream().filter(outcome -> outcome.result() == result).count();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown-host";
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lookups.shutdown();
+    }
+}
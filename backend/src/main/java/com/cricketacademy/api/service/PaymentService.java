@@ -1,17 +1,17 @@
 package com.cricketacademy.api.service;
 
 import com.cricketacademy.api.dto.PaymentResponseDTO;
-import com.razorpay.RazorpayClient;
-import com.razorpay.RazorpayException;
-import com.razorpay.Utils;
+import com.cricketacademy.api.entity.PaymentWebhookEvent;
+import com.cricketacademy.api.repository.PaymentWebhookEventRepository;
 import com.paypal.core.PayPalEnvironment;
 import com.paypal.core.PayPalHttpClient;
 import com.paypal.http.HttpResponse;
 import com.paypal.orders.*;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -27,36 +27,35 @@ import java.util.Map;
 public class PaymentService {
 
     private final EmailService emailService;
+    private final PaymentGateway paymentGateway;
+    private final PaymentWebhookEventRepository webhookEventRepository;
+    private final BookingService bookingService;
+    private final MeterRegistry meterRegistry;
 
     @Value("${app.payment.razorpay.key-id}")
     private String razorpayKeyId;
 
-    @Value("${app.payment.razorpay.key-secret}")
-    private String razorpayKeySecret;
-
     @Value("${app.payment.razorpay.base-url:http://localhost:8080}")
     private String razorpayBaseUrl;
 
     @Value("${app.payment.currency:INR}")
     private String currency;
 
-    private void validateRazorpayCredentials() {
-        if (razorpayKeyId == null || razorpayKeyId.isBlank()) {
-            log.error("Razorpay key ID is not configured");
-            throw new IllegalStateException("Razorpay key ID is not configured");
-        }
-        if (razorpayKeySecret == null || razorpayKeySecret.isBlank()) {
-            log.error("Razorpay key secret is not configured");
-            throw new IllegalStateException("Razorpay key secret is not configured");
-        }
+    public PaymentResponseDTO createPaymentOrder(Map<String, Object> paymentRequest) {
+        return createPaymentOrder(paymentRequest, null);
     }
 
-    public PaymentResponseDTO createPaymentOrder(Map<String, Object> paymentRequest) {
+    /**
+     * Creates a gateway order. A {@code bookingId} in the request is always
+     * sent as an order note, but the order only replaces the booking's payment
+     * reference when {@code callerEmail} is the booking's customer.
+     */
+    public PaymentResponseDTO createPaymentOrder(Map<String, Object> paymentRequest, String callerEmail) {
         String gateway = (String) paymentRequest.get("gateway");
 
         try {
             if ("razorpay".equalsIgnoreCase(gateway)) {
-                return createRazorpayOrder(paymentRequest);
+                return createRazorpayOrder(paymentRequest, callerEmail);
             } else {
                 throw new IllegalArgumentException("Unsupported payment gateway: " + gateway);
             }
@@ -79,17 +78,14 @@ public class PaymentService {
                 throw new IllegalArgumentException("Payment method and amount are required");
             }
 
-            // TODO: Add actual payment processing logic here
-            // For example, verify transaction with gateway, update booking/coaching payment
-            // status, etc.
-
             // For demonstration, assume payment is successful if transactionId is present
             boolean success = transactionId != null && !transactionId.isEmpty();
 
-            // Update booking or coaching payment status if applicable
-            if (bookingId != null && !bookingId.isEmpty()) {
-                // TODO: Update booking payment status in database
-                log.info("Updating payment status for bookingId: {}", (Object) bookingId);
+            // The client's word is not proof of payment and a client-supplied payment id is
+            // not linked to the booking: bookings are settled by the webhook or by
+            // PaymentReconciliationService against the order created for them
+            if (bookingId != null && bookingId.matches("\\d+")) {
+                log.info("Client reported transaction {} for bookingId: {}", transactionId, bookingId);
             } else if (coachingId != null && !coachingId.isEmpty()) {
                 // TODO: Update coaching payment status in database
                 log.info("Updating payment status for coachingId: {}", (Object) coachingId);
@@ -159,233 +155,136 @@ public class PaymentService {
         return getPaymentMethodsList();
     }
 
-    public void handleWebhook(String gateway, Map<String, Object> webhookData) {
+    /**
+     * Verifies a webhook and queues it for {@link PaymentWebhookDispatcher}.
+     * Returns false when the event was already received, e.g. a gateway retry.
+     */
+    public boolean handleWebhook(String gateway, String payload, String signature, String eventId) {
+        if (!"razorpay".equalsIgnoreCase(gateway)) {
+            throw new IllegalArgumentException("Unsupported payment gateway: " + gateway);
+        }
+        if (!paymentGateway.verifyWebhookSignature(payload, signature)) {
+            meterRegistry.counter("payment.webhook.received", "result", "rejected").increment();
+            throw new SecurityException("Invalid webhook signature");
+        }
+
+        PaymentWebhookEvent event = PaymentWebhookDispatcher.parse(gateway.toLowerCase(), payload, eventId);
+        if (webhookEventRepository.existsByEventId(event.getEventId())) {
+            meterRegistry.counter("payment.webhook.received", "result", "duplicate").increment();
+            log.info("Ignoring duplicate webhook event {}", event.getEventId());
+            return false;
+        }
         try {
-            if ("razorpay".equalsIgnoreCase(gateway)) {
-                handleRazorpayWebhook(webhookData);
-            } else {
-                throw new IllegalArgumentException("Unsupported payment gateway: " + gateway);
-            }
-        } catch (Exception e) {
-            log.error("Error processing webhook", e);
-            throw new RuntimeException("Failed to process webhook", e);
+            webhookEventRepository.save(event);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent delivery of the same event
+            meterRegistry.counter("payment.webhook.received", "result", "duplicate").increment();
+            return false;
         }
+        meterRegistry.counter("payment.webhook.received", "result", "accepted").increment();
+        log.info("Queued webhook event {} ({}) for {}", event.getEventId(), event.getEventType(),
+                event.getPaymentKey());
+        return true;
     }
 
-    private PaymentResponseDTO createRazorpayOrder(Map<String, Object> request) throws RazorpayException {
-        try {
-            log.info("Creating Razorpay order with request: {}", (Object) request);
+    private PaymentResponseDTO createRazorpayOrder(Map<String, Object> request, String callerEmail) {
+        log.info("Creating {} order with request: {}", paymentGateway.name(), request);
 
-            // Validate Razorpay credentials
-            validateRazorpayCredentials();
+        Object amountObj = request.get("amount");
+        if (amountObj == null) {
+            throw new IllegalArgumentException("Amount is required for order creation");
+        }
 
-            // Test credential validity by attempting to create client
-            RazorpayClient razorpay;
+        // Ensure amount is a valid number
+        long amount;
+        if (amountObj instanceof Number) {
+            amount = ((Number) amountObj).longValue();
+        } else if (amountObj instanceof String) {
             try {
-                razorpay = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
-                log.debug("Razorpay client initialized successfully");
-            } catch (Exception e) {
-                log.error("Failed to initialize Razorpay client with provided credentials: {}", e.getMessage());
-                throw new IllegalStateException("Invalid Razorpay credentials: " + e.getMessage(), e);
-            }
-
-            JSONObject orderRequest = new JSONObject();
-            Object amountObj = request.get("amount");
-            if (amountObj == null) {
-                throw new IllegalArgumentException("Amount is required for order creation");
-            }
-
-            // Ensure amount is a valid number
-            long amount;
-            if (amountObj instanceof Number) {
-                amount = ((Number) amountObj).longValue();
-            } else if (amountObj instanceof String) {
-                try {
-                    amount = Long.parseLong((String) amountObj);
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("Invalid amount format: " + amountObj);
-                }
-            } else {
-                throw new IllegalArgumentException("Amount must be a number or string");
-            }
-
-            orderRequest.put("amount", amount);
-            orderRequest.put("currency", currency);
-
-            // Only add receipt if it's not null
-            Object receipt = request.get("receipt");
-            if (receipt != null) {
-                orderRequest.put("receipt", receipt.toString());
+                amount = Long.parseLong((String) amountObj);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid amount format: " + amountObj);
             }
+        } else {
+            throw new IllegalArgumentException("Amount must be a number or string");
+        }
 
-            orderRequest.put("payment_capture", 1);
-
-            log.debug("Creating Razorpay order with amount: {}, currency: {}", amount, currency);
-            com.razorpay.Order order = razorpay.orders.create(orderRequest);
-            log.info("Razorpay order created successfully with ID: {}", (Object) order.get("id"));
-
-            // Convert amount to BigDecimal safely
-            BigDecimal amountValue;
-            Object razorpayAmountObj = order.get("amount");
-            if (razorpayAmountObj instanceof Number) {
-                amountValue = BigDecimal.valueOf(((Number) razorpayAmountObj).longValue());
-            } else if (razorpayAmountObj instanceof String) {
-                try {
-                    amountValue = new BigDecimal((String) razorpayAmountObj);
-                } catch (NumberFormatException e) {
-                    log.warn("Invalid amount format from Razorpay: {}, using original amount", razorpayAmountObj);
-                    amountValue = BigDecimal.valueOf(amount);
-                }
-            } else {
-                log.warn("Unexpected amount type from Razorpay: {}, using original amount",
-                        razorpayAmountObj != null ? razorpayAmountObj.getClass() : "null");
-                amountValue = BigDecimal.valueOf(amount);
-            }
+        Object receipt = request.get("receipt");
+        Object bookingId = request.get("bookingId");
+        Map<String, String> notes = bookingId != null ? Map.of("bookingId", bookingId.toString()) : Map.of();
+        log.debug("Creating order with amount: {}, currency: {}", amount, currency);
+        PaymentGateway.Order order = paymentGateway.createOrder(amount, currency,
+                receipt != null ? receipt.toString() : null, notes);
+        log.info("Order created successfully with ID: {}", order.id());
 
-            return PaymentResponseDTO.builder()
-                    .success(true)
-                    .transactionId(order.get("id"))
-                    .orderId(order.get("id"))
-                    .amount(amountValue)
-                    .currency(order.get("currency"))
-                    .build();
-        } catch (RazorpayException e) {
-            String errorMessage = e.getMessage() != null ? e.getMessage() : "Unknown Razorpay error";
-            log.error("Razorpay API error: {}", errorMessage, e);
-
-            // Check for specific error types based on message content
-            if (errorMessage.contains("authentication") || errorMessage.contains("invalid key")) {
-                log.error("Razorpay authentication failed - please check API credentials");
-                throw new RazorpayException("Authentication failed - invalid API credentials: " + errorMessage);
-            } else if (errorMessage.contains("bad request") || errorMessage.contains("invalid")) {
-                throw new RazorpayException("Invalid request parameters: " + errorMessage);
-            } else if (errorMessage.contains("gateway") || errorMessage.contains("server")) {
-                throw new RazorpayException("Razorpay gateway error - please try again later: " + errorMessage);
-            } else {
-                throw new RazorpayException("Razorpay error: " + errorMessage);
-            }
-        } catch (IllegalStateException e) {
-            log.error("Configuration error: {}", e.getMessage());
-            throw e; // Re-throw as-is since we already logged it
-        } catch (IllegalArgumentException e) {
-            log.error("Invalid request parameters: {}", e.getMessage());
-            throw e; // Re-throw as-is
-        } catch (Exception e) {
-            log.error("Unexpected error creating Razorpay order: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to create Razorpay order: " + e.getMessage(), e);
+        if (bookingId != null && bookingId.toString().matches("\\d+")) {
+            bookingService.linkPaymentReference(Long.valueOf(bookingId.toString()), order.id(), callerEmail);
         }
+
+        return PaymentResponseDTO.builder()
+                .success(true)
+                .transactionId(order.id())
+                .orderId(order.id())
+                .amount(BigDecimal.valueOf(order.amount()))
+                .currency(order.currency())
+                .build();
     }
 
-    private PaymentResponseDTO verifyRazorpayPayment(Map<String, Object> request) throws RazorpayException {
-        RazorpayClient razorpay = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
+    private PaymentResponseDTO verifyRazorpayPayment(Map<String, Object> request) {
         String paymentId = (String) request.get("payment_id");
         String orderId = (String) request.get("order_id");
         String signature = (String) request.get("signature");
 
         // Verify payment signature
-        JSONObject attributes = new JSONObject();
-        attributes.put("razorpay_payment_id", paymentId);
-        attributes.put("razorpay_order_id", orderId);
-        attributes.put("razorpay_signature", signature);
-
-        boolean isValid = Utils.verifyPaymentSignature(attributes, razorpayKeySecret);
-
-        if (!isValid) {
+        if (!paymentGateway.verifyPaymentSignature(orderId, paymentId, signature)) {
             throw new SecurityException("Invalid payment signature");
         }
 
         // Get payment details
-        com.razorpay.Payment payment = razorpay.payments.fetch(paymentId);
-
-        // Convert amount to BigDecimal safely
-        BigDecimal amountValue;
-        Object paymentAmountObj = payment.get("amount");
-        if (paymentAmountObj instanceof Number) {
-            amountValue = BigDecimal.valueOf(((Number) paymentAmountObj).longValue());
-        } else if (paymentAmountObj instanceof String) {
-            try {
-                amountValue = new BigDecimal((String) paymentAmountObj);
-            } catch (NumberFormatException e) {
-                log.warn("Invalid amount format from Razorpay payment: {}", paymentAmountObj);
-                amountValue = BigDecimal.ZERO;
-            }
-        } else {
-            log.warn("Unexpected amount type from Razorpay payment: {}",
-                    paymentAmountObj != null ? paymentAmountObj.getClass() : "null");
-            amountValue = BigDecimal.ZERO;
-        }
+        PaymentGateway.Payment payment = paymentGateway.fetchPayment(paymentId);
 
         return PaymentResponseDTO.builder()
                 .success(true)
                 .transactionId(paymentId)
-                .amount(amountValue)
-                .currency(payment.get("currency"))
-                .status(payment.get("status"))
+                .amount(BigDecimal.valueOf(payment.amount()))
+                .currency(payment.currency())
+                .status(payment.status())
                 .build();
     }
 
-    public Map<String, Object> getRazorpayPaymentStatus(String paymentId) throws RazorpayException {
-        try {
-            log.info("Fetching Razorpay payment status for payment ID: {}", paymentId);
-
-            // Validate Razorpay credentials
-            validateRazorpayCredentials();
+    public Map<String, Object> getRazorpayPaymentStatus(String paymentId) {
+        log.info("Fetching payment status for payment ID: {}", paymentId);
 
-            RazorpayClient razorpay = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
+        PaymentGateway.Payment payment = paymentGateway.fetchPayment(paymentId);
 
-            // Fetch payment details from Razorpay
-            com.razorpay.Payment payment = razorpay.payments.fetch(paymentId);
+        Map<String, Object> status = new HashMap<>();
+        status.put("status", payment.status());
+        status.put("amount", payment.amount());
+        status.put("currency", payment.currency());
+        status.put("orderId", payment.orderId());
+        status.put("method", payment.method());
+        status.put("email", payment.email());
+        status.put("contact", payment.contact());
+        status.put("createdAt", payment.createdAt());
 
-            Map<String, Object> status = new HashMap<>();
-            status.put("status", payment.get("status"));
-            status.put("amount", payment.get("amount"));
-            status.put("currency", payment.get("currency"));
-            status.put("orderId", payment.get("order_id"));
-            status.put("method", payment.get("method"));
-            status.put("email", payment.get("email"));
-            status.put("contact", payment.get("contact"));
-            status.put("createdAt", payment.get("created_at"));
-
-            log.info("Successfully fetched payment status for payment ID: {}", paymentId);
-            return status;
-
-        } catch (RazorpayException e) {
-            log.error("Razorpay API error fetching payment status: {}", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            log.error("Unexpected error fetching Razorpay payment status: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to fetch payment status", e);
-        }
+        log.info("Successfully fetched payment status for payment ID: {}", paymentId);
+        return status;
     }
 
-    private void handleRazorpayWebhook(Map<String, Object> webhookData) {
-        try {
-            String payload = webhookData.toString();
-            String signature = (String) webhookData.get("razorpay_signature");
-
-            boolean isValid = Utils.verifyWebhookSignature(payload, signature, razorpayKeySecret);
+    public Map<String, Object> refundPayment(String paymentId, Long amount) {
+        log.info("Refunding payment {} (amount: {})", paymentId, amount != null ? amount : "full");
 
-            if (!isValid) {
-                throw new SecurityException("Invalid webhook signature");
-            }
+        PaymentGateway.Refund refund = paymentGateway.refund(paymentId, amount);
+        bookingService.recordRefund(refund.paymentId(), refund.amount());
 
-            String event = (String) webhookData.get("event");
-            JSONObject payloadData = new JSONObject((Map) webhookData.get("payload"));
-
-            switch (event) {
-                case "payment.captured":
-                    // Handle successful payment
-                    break;
-                case "payment.failed":
-                    // Handle failed payment
-                    break;
-                default:
-                    log.info("Received unhandled webhook event: {}", (Object) event);
-            }
-        } catch (Exception e) {
-            log.error("Error processing Razorpay webhook", e);
-            throw new RuntimeException("Failed to process webhook", e);
-        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", true);
+        result.put("refundId", refund.id());
+        result.put("paymentId", refund.paymentId());
+        result.put("amount", refund.amount());
+        result.put("status", refund.status());
+        result.put("message", "Refund processed successfully");
+        return result;
     }
 
     // Public config for frontend (no secrets)
@@ -0,0 +1,273 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.Booking;
+import com.cricketacademy.api.entity.PaymentWebhookEvent;
+import com.cricketacademy.api.repository.BookingRepository;
+import com.cricketacademy.api.repository.PaymentWebhookEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Processes queued payment webhooks on a small worker pool. Each poll claims a
+ * batch of events that are at the head of their payment's queue, so the
+ * events of one payment are applied in arrival order while different payments
+ * are processed in parallel. Failures are retried with exponential backoff.
+ *
+ * Booking state changes go through {@link BookingService}; events that find
+ * the booking already paid are no-ops, so replays are harmless.
+ */
+@Component
+@Slf4j
+public class PaymentWebhookDispatcher {
+
+    private static final List<PaymentWebhookEvent.Status> UNFINISHED = List.of(
+            PaymentWebhookEvent.Status.PENDING, PaymentWebhookEvent.Status.PROCESSING);
+
+    private static final long MAX_RETRY_DELAY_SECONDS = 3600;
+
+    private final PaymentWebhookEventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBaseSeconds;
+    private final long leaseSeconds;
+
+    private final ExecutorService workers;
+    private final Semaphore idleWorkers;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Timer processingTime;
+    private final Counter processedCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public PaymentWebhookDispatcher(PaymentWebhookEventRepository eventRepository,
+            BookingRepository bookingRepository,
+            BookingService bookingService,
+            MeterRegistry meterRegistry,
+            @Value("${app.payment.webhook.batch-size:50}") int batchSize,
+            @Value("${app.payment.webhook.workers:2}") int workerCount,
+            @Value("${app.payment.webhook.max-attempts:8}") int maxAttempts,
+            @Value("${app.payment.webhook.retry-base-seconds:10}") long retryBaseSeconds,
+            @Value("${app.payment.webhook.lease-seconds:120}") long leaseSeconds) {
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingService = bookingService;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseSeconds = retryBaseSeconds;
+        this.leaseSeconds = leaseSeconds;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "payment-webhook-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.idleWorkers = new Semaphore(workerCount);
+
+        Gauge.builder("payment.webhook.queue.depth", queueDepth, AtomicLong::get)
+                .description("Webhook events waiting to be processed")
+                .register(meterRegistry);
+        Gauge.builder("payment.webhook.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest unprocessed webhook event")
+                .register(meterRegistry);
+        this.processingTime = Timer.builder("payment.webhook.processing")
+                .description("Time to apply one webhook event")
+                .register(meterRegistry);
+        this.processedCounter = Counter.builder("payment.webhook.processed").register(meterRegistry);
+        this.retriedCounter = Counter.builder("payment.webhook.retried").register(meterRegistry);
+        this.failedCounter = Counter.builder("payment.webhook.failed").register(meterRegistry);
+    }
+
+    /**
+     * Builds a queue entry from a verified webhook body. The gateway's event id
+     * header is preferred; without one the payload hash stands in, which still
+     * collapses byte-identical retries.
+     */
+    static PaymentWebhookEvent parse(String gateway, String payload, String eventId) {
+        JSONObject root;
+        try {
+            root = new JSONObject(payload);
+        } catch (JSONException e) {
+            throw new IllegalArgumentException("Webhook payload is not valid JSON");
+        }
+        String eventType = root.optString("event", "unknown");
+        JSONObject payment = entity(root, "payment");
+        JSONObject order = entity(root, "order");
+
+        String key = eventId != null && !eventId.isBlank() ? eventId
+                : DigestUtils.md5DigestAsHex(payload.getBytes(StandardCharsets.UTF_8));
+        String paymentKey = payment != null && payment.has("id") ? payment.getString("id")
+                : order != null && order.has("id") ? order.getString("id")
+                : key;
+
+        PaymentWebhookEvent event = new PaymentWebhookEvent();
+        event.setGateway(gateway);
+        event.setEventId(key);
+        event.setEventType(eventType);
+        event.setPaymentKey(paymentKey);
+        event.setPayload(payload);
+        return event;
+    }
+
+    @Scheduled(fixedDelayString = "${app.payment.webhook.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            queueDepth.set(eventRepository.countByStatusIn(UNFINISHED));
+            LocalDateTime oldest = eventRepository.findOldestReceivedAt(UNFINISHED);
+            lagSeconds.set(oldest != null ? Duration.between(oldest, LocalDateTime.now()).getSeconds() : 0);
+
+            while (idleWorkers.tryAcquire()) {
+                List<PaymentWebhookEvent> batch = claimBatch();
+                if (batch.isEmpty()) {
+                    idleWorkers.release();
+                    return;
+                }
+                try {
+                    workers.execute(() -> {
+                        try {
+                            batch.forEach(this::handle);
+                        } finally {
+                            idleWorkers.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    idleWorkers.release();
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Payment webhook poll failed: {}", e.getMessage());
+        }
+    }
+
+    List<PaymentWebhookEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = eventRepository.findDueIds(UNFINISHED, now, PageRequest.of(0, batchSize));
+        if (dueIds.isEmpty()) {
+            return List.of();
+        }
+        String claimToken = UUID.randomUUID().toString();
+        eventRepository.claim(dueIds, UNFINISHED, PaymentWebhookEvent.Status.PROCESSING, claimToken, now,
+                now.plusSeconds(leaseSeconds));
+        return eventRepository.findByClaimTokenOrderById(claimToken);
+    }
+
+    void handle(PaymentWebhookEvent event) {
+        long started = System.nanoTime();
+        try {
+            apply(event);
+            event.setStatus(PaymentWebhookEvent.Status.PROCESSED);
+            event.setProcessedAt(LocalDateTime.now());
+            event.setClaimToken(null);
+            processedCounter.increment();
+        } catch (Exception e) {
+            scheduleRetry(event, e);
+        } finally {
+            processingTime.record(Duration.ofNanos(System.nanoTime() - started));
+        }
+        eventRepository.save(event);
+    }
+
+    private void apply(PaymentWebhookEvent event) {
+        JSONObject root = new JSONObject(event.getPayload());
+        JSONObject payment = entity(root, "payment");
+        switch (event.getEventType()) {
+            case "payment.captured", "order.paid" -> {
+                Booking booking = findBooking(root, payment).orElse(null);
+                String paymentId = payment != null ? payment.optString("id") : null;
+                if (booking == null) {
+                    log.warn("No booking found for webhook event {} ({})", event.getEventId(), event.getPaymentKey());
+                } else if ("CANCELLED".equals(booking.getStatus())) {
+                    // The slot may already be rebooked; keep it cancelled and leave the money for an admin refund
+                    bookingService.flagPaymentForRefund(booking.getId(), paymentId);
+                } else if (!"PAID".equals(booking.getPaymentStatus())) {
+                    bookingService.confirmBooking(booking.getId(), paymentId);
+                }
+            }
+            case "payment.failed" -> findBooking(root, payment).ifPresent(booking -> bookingService
+                    .markPaymentFailed(booking.getId(), payment != null ? payment.optString("id") : null));
+            default -> log.debug("Ignoring webhook event type {}", event.getEventType());
+        }
+    }
+
+    /**
+     * Finds the booking by the {@code bookingId} note set at checkout, falling
+     * back to a booking already linked to the payment id.
+     */
+    private Optional<Booking> findBooking(JSONObject root, JSONObject payment) {
+        for (JSONObject source : new JSONObject[] { payment, entity(root, "order") }) {
+            JSONObject notes = source != null ? source.optJSONObject("notes") : null;
+            String bookingId = notes != null ? notes.optString("bookingId", notes.optString("booking_id", null))
+                    : null;
+            if (bookingId != null && bookingId.matches("\\d+")) {
+                return bookingRepository.findById(Long.valueOf(bookingId));
+            }
+        }
+        if (payment != null && payment.has("id")) {
+            return bookingRepository.findFirstByPaymentId(payment.getString("id"));
+        }
+        return Optional.empty();
+    }
+
+    private void scheduleRetry(PaymentWebhookEvent event, Exception error) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setClaimToken(null);
+        String reason = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        event.setLastError(reason.length() > 1000 ? reason.substring(0, 1000) : reason);
+
+        if (attempts >= maxAttempts) {
+            event.setStatus(PaymentWebhookEvent.Status.FAILED);
+            failedCounter.increment();
+            log.error("Giving up on webhook event {} after {} attempts: {}", event.getEventId(), attempts, reason);
+            return;
+        }
+
+        long delay = Math.min(MAX_RETRY_DELAY_SECONDS, retryBaseSeconds << Math.min(attempts - 1, 20));
+        event.setStatus(PaymentWebhookEvent.Status.PENDING);
+        event.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+        retriedCounter.increment();
+        log.warn("Webhook event {} failed (attempt {}), retrying in {}s: {}", event.getEventId(), attempts, delay,
+                reason);
+    }
+
+    private static JSONObject entity(JSONObject root, String name) {
+        JSONObject payload = root.optJSONObject("payload");
+        JSONObject wrapper = payload != null ? payload.optJSONObject(name) : null;
+        return wrapper != null ? wrapper.optJSONObject("entity") : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
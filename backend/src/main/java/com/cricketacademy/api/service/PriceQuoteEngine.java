@@ -0,0 +1,241 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.PricingPackage;
+import com.cricketacademy.api.repository.PricingPackageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Server-side pricing of booking slots from the active {@link PricingPackage}s.
+ *
+ * Packages are compiled per packageType into an immutable rule table: every
+ * multiplier and discount is folded into per-hour-of-day rates for weekdays,
+ * weekends and holidays, so a quote is a handful of array reads. The table is
+ * rebuilt on a fixed delay and swapped in atomically; quotes never touch the
+ * database.
+ *
+ * Discounts are stored as percentages, multipliers as factors. Peak hours
+ * take the peak multiplier, other hours the off-peak discount. Weekends and
+ * configured holidays replace the weekday discount with their multiplier.
+ */
+@Service
+@Slf4j
+public class PriceQuoteEngine {
+
+    public record Slot(LocalDate date, LocalTime startTime, LocalTime endTime) {
+    }
+
+    public record Quote(Long packageId, LocalDate date, LocalTime startTime, LocalTime endTime, double amount) {
+    }
+
+    private final PricingPackageRepository pricingPackageRepository;
+    private final int peakStartHour;
+    private final int peakEndHour;
+    private final long advanceBookingDays;
+    private final Set<LocalDate> holidays;
+
+    private volatile Map<String, RuleTable> tables;
+
+    public PriceQuoteEngine(PricingPackageRepository pricingPackageRepository,
+            @Value("${app.pricing.peak-start-hour:17}") int peakStartHour,
+            @Value("${app.pricing.peak-end-hour:22}") int peakEndHour,
+            @Value("${app.pricing.advance-booking-days:7}") long advanceBookingDays,
+            @Value("${app.pricing.holidays:}") String holidays) {
+        this.pricingPackageRepository = pricingPackageRepository;
+        this.peakStartHour = peakStartHour;
+        this.peakEndHour = peakEndHour;
+        this.advanceBookingDays = advanceBookingDays;
+        this.holidays = Arrays.stream(holidays.split(","))
+                .map(String::trim)
+                .filter(date -> !date.isEmpty())
+                .map(LocalDate::parse)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Recompiles the rule tables from the active packages.
+     */
+    @Scheduled(fixedDelayString = "${app.pricing.refresh-interval-ms:300000}")
+    public void reload() {
+        Map<String, List<PricingPackage>> byType = new HashMap<>();
+        for (PricingPackage pricingPackage : pricingPackageRepository.findByIsActiveTrue()) {
+            if (pricingPackage.getPackageType() != null && pricingPackage.getBasePrice() != null) {
+                byType.computeIfAbsent(pricingPackage.getPackageType().toUpperCase(), type -> new ArrayList<>())
+                        .add(pricingPackage);
+            }
+        }
+        Map<String, RuleTable> compiled = new HashMap<>();
+        byType.forEach((type, packages) -> compiled.put(type, compileTable(packages)));
+        tables = Map.copyOf(compiled);
+        log.debug("Compiled pricing rules for {} package types", compiled.size());
+    }
+
+    /**
+     * Prices one slot, or returns empty when no active package exists for the
+     * type.
+     */
+    public Optional<Quote> quote(String packageType, Long packageId, Slot slot, Integer numberOfPlayers) {
+        Rule rule = findRule(packageType, packageId);
+        if (rule == null) {
+            return Optional.empty();
+        }
+        return Optional.of(price(rule, slot, numberOfPlayers, LocalDate.now()));
+    }
+
+    /**
+     * Prices many slots against one package, e.g. every slot of a calendar week.
+     */
+    public List<Quote> quoteAll(String packageType, Long packageId, List<Slot> slots, Integer numberOfPlayers) {
+        Rule rule = findRule(packageType, packageId);
+        if (rule == null) {
+            throw new IllegalArgumentException("No active pricing package for type " + packageType);
+        }
+        LocalDate today = LocalDate.now();
+        List<Quote> quotes = new ArrayList<>(slots.size());
+        for (Slot slot : slots) {
+            quotes.add(price(rule, slot, numberOfPlayers, today));
+        }
+        return quotes;
+    }
+
+    private Rule findRule(String packageType, Long packageId) {
+        if (packageType == null) {
+            throw new IllegalArgumentException("Package type is required");
+        }
+        Map<String, RuleTable> current = tables;
+        if (current == null) {
+            reload();
+            current = tables;
+        }
+        RuleTable table = current.get(packageType.toUpperCase());
+        if (table == null) {
+            return null;
+        }
+        if (packageId == null) {
+            return table.defaultRule();
+        }
+        Rule rule = table.byId().get(packageId);
+        if (rule == null) {
+            throw new IllegalArgumentException("Pricing package " + packageId + " is not an active "
+                    + packageType + " package");
+        }
+        return rule;
+    }
+
+    private Quote price(Rule rule, Slot slot, Integer numberOfPlayers, LocalDate today) {
+        if (slot.date() == null || slot.startTime() == null || slot.endTime() == null) {
+            throw new IllegalArgumentException("Slot date, start time and end time are required");
+        }
+        int startMinute = slot.startTime().toSecondOfDay() / 60;
+        // An end of 00:00 means the slot runs to midnight
+        int endMinute = slot.endTime().equals(LocalTime.MIDNIGHT) ? 24 * 60 : slot.endTime().toSecondOfDay() / 60;
+        if (endMinute <= startMinute) {
+            throw new IllegalArgumentException("Slot must end after it starts");
+        }
+
+        double[] rates = holidays.contains(slot.date()) ? rule.holidayRates()
+                : isWeekend(slot.date()) ? rule.weekendRates()
+                : rule.weekdayRates();
+        double amount = 0;
+        for (int minute = startMinute; minute < endMinute;) {
+            int hour = minute / 60;
+            int next = Math.min(endMinute, (hour + 1) * 60);
+            amount += rates[hour] * (next - minute) / 60.0;
+            minute = next;
+        }
+
+        if (ChronoUnit.DAYS.between(today, slot.date()) >= advanceBookingDays) {
+            amount *= rule.advanceFactor();
+        }
+        if (numberOfPlayers != null && rule.groupThreshold() > 1 && numberOfPlayers >= rule.groupThreshold()) {
+            amount *= rule.groupFactor();
+        }
+        return new Quote(rule.packageId(), slot.date(), slot.startTime(), slot.endTime(),
+                Math.round(amount * 100) / 100.0);
+    }
+
+    private RuleTable compileTable(List<PricingPackage> packages) {
+        Map<Long, Rule> byId = new HashMap<>();
+        for (PricingPackage pricingPackage : packages) {
+            byId.put(pricingPackage.getId(), compile(pricingPackage));
+        }
+        // Slots are priced by the hour, so the hourly package is the natural default
+        PricingPackage fallback = packages.stream()
+                .min(Comparator.comparing((PricingPackage p) -> !"HOURLY".equalsIgnoreCase(p.getDurationType()))
+                        .thenComparing(p -> p.getDurationValue() != null ? p.getDurationValue() : BigDecimal.ONE)
+                        .thenComparing(PricingPackage::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .orElseThrow();
+        return new RuleTable(Map.copyOf(byId), byId.get(fallback.getId()));
+    }
+
+    private Rule compile(PricingPackage pricingPackage) {
+        double unitPrice = pricingPackage.getDiscountedPrice() != null
+                ? pricingPackage.getDiscountedPrice().doubleValue()
+                : pricingPackage.getBasePrice().doubleValue() * discount(pricingPackage.getDiscountPercentage());
+        double hours = pricingPackage.getDurationValue() != null && pricingPackage.getDurationValue().signum() > 0
+                ? pricingPackage.getDurationValue().doubleValue()
+                : 1;
+        double hourly = unitPrice / hours;
+
+        double peak = factor(pricingPackage.getPeakHourMultiplier());
+        double offPeak = discount(pricingPackage.getOffPeakDiscount());
+        double weekday = discount(pricingPackage.getWeekdayDiscount());
+        double weekend = factor(pricingPackage.getWeekendMultiplier());
+        double holiday = factor(pricingPackage.getHolidayMultiplier());
+
+        double[] weekdayRates = new double[24];
+        double[] weekendRates = new double[24];
+        double[] holidayRates = new double[24];
+        for (int hour = 0; hour < 24; hour++) {
+            double rate = hourly * (hour >= peakStartHour && hour < peakEndHour ? peak : offPeak);
+            weekdayRates[hour] = rate * weekday;
+            weekendRates[hour] = rate * weekend;
+            holidayRates[hour] = rate * holiday;
+        }
+
+        int groupThreshold = pricingPackage.getGroupDiscountThreshold() != null
+                ? pricingPackage.getGroupDiscountThreshold()
+                : 1;
+        return new Rule(pricingPackage.getId(), weekdayRates, weekendRates, holidayRates,
+                discount(pricingPackage.getAdvanceBookingDiscount()), groupThreshold,
+                discount(pricingPackage.getGroupDiscountPercentage()));
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+    }
+
+    private static double factor(BigDecimal multiplier) {
+        return multiplier != null && multiplier.signum() > 0 ? multiplier.doubleValue() : 1;
+    }
+
+    private static double discount(BigDecimal percentage) {
+        return percentage != null ? 1 - percentage.doubleValue() / 100 : 1;
+    }
+
+    private record RuleTable(Map<Long, Rule> byId, Rule defaultRule) {
+    }
+
+    // Rate arrays are never exposed or modified after compile
+    private record Rule(Long packageId, double[] weekdayRates, double[] weekendRates, double[] holidayRates,
+            double advanceFactor, int groupThreshold, double groupFactor) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.cricketacademy.api.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of authenticated principals keyed by email, so requests
+ * carrying a valid JWT do not load the user row every time. Only successfully
+ * loaded (active) users are cached. Local changes invalidate the entry after
+ * commit; changes made on another node take effect once the TTL expires.
+ *
+ * What is cached is an immutable copy of the loaded principal, not the JPA
+ * entity, so nothing shared between requests can be changed or lazily loaded
+ * outside its session.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final int MAX_ENTRIES = 10000;
+
+    private final long ttlMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public PrincipalCache(@Value("${app.jwt.principal-cache-ttl-seconds:30}") long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Returns the cached principal for an email, loading and copying it when
+     * missing or expired. Loader exceptions propagate and nothing is cached.
+     */
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        long now = System.currentTimeMillis();
+        Entry cached = entries.get(email);
+        if (cached != null && now < cached.expiresAt()) {
+            return cached.principal();
+        }
+
+        UserDetails principal = snapshot(loader.apply(email));
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+        }
+        entries.put(email, new Entry(principal, now + ttlMillis));
+        return principal;
+    }
+
+    /**
+     * Drops the principal for an email. Inside a transaction the entry is also
+     * dropped after commit so a concurrent request cannot re-cache stale data.
+     */
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.remove(email);
+                }
+            });
+        }
+        entries.remove(email);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static UserDetails snapshot(UserDetails loaded) {
+        // JWT requests never check the password, so the hash is not kept in memory
+        return User.withUserDetails(loaded).password("").build();
+    }
+
+    private record Entry(UserDetails principal, long expiresAt) {
+    }
+}
@@ -0,0 +1,245 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.exception.PaymentGatewayException;
+import com.razorpay.RazorpayException;
+import com.razorpay.Utils;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Razorpay gateway backed by one shared, connection-pooled HTTP client, so
+ * payment calls reuse warm TLS connections instead of setting up a new
+ * {@code RazorpayClient} per call. Every call has a connect and a response
+ * timeout, and runs through a circuit breaker so an unhealthy gateway fails
+ * fast rather than tying up request threads.
+ */
+@Component
+@ConditionalOnProperty(name = "app.payment.gateway", havingValue = "razorpay", matchIfMissing = true)
+@Slf4j
+public class RazorpayPaymentGateway implements PaymentGateway {
+
+    private final String keyId;
+    private final String keySecret;
+    private final String webhookSecret;
+    private final String apiBaseUrl;
+    private final Duration readTimeout;
+    private final HttpClient httpClient;
+    private final GatewayCircuitBreaker circuitBreaker;
+
+    public RazorpayPaymentGateway(
+            @Value("${app.payment.razorpay.key-id:}") String keyId,
+            @Value("${app.payment.razorpay.key-secret:}") String keySecret,
+            @Value("${app.payment.razorpay.webhook-secret:}") String webhookSecret,
+            @Value("${app.payment.razorpay.api-base-url:https://api.razorpay.com/v1}") String apiBaseUrl,
+            @Value("${app.payment.razorpay.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${app.payment.razorpay.read-timeout-ms:10000}") long readTimeoutMs,
+            @Value("${app.payment.razorpay.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${app.payment.razorpay.circuit.open-seconds:30}") long openSeconds) {
+        this.keyId = keyId;
+        this.keySecret = keySecret;
+        this.webhookSecret = webhookSecret;
+        this.apiBaseUrl = apiBaseUrl.endsWith("/") ? apiBaseUrl.substring(0, apiBaseUrl.length() - 1) : apiBaseUrl;
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        this.circuitBreaker = new GatewayCircuitBreaker("Razorpay", failureThreshold, openSeconds * 1000);
+    }
+
+    @Override
+    public String name() {
+        return "razorpay";
+    }
+
+    @Override
+    public Order createOrder(long amount, String currency, String receipt, Map<String, String> notes) {
+        JSONObject body = new JSONObject();
+        body.put("amount", amount);
+        body.put("currency", currency);
+        if (receipt != null) {
+            body.put("receipt", receipt);
+        }
+        if (notes != null && !notes.isEmpty()) {
+            body.put("notes", new JSONObject(notes));
+        }
+        body.put("payment_capture", 1);
+
+        JSONObject order = call(() -> post("/orders", body));
+        return new Order(order.getString("id"), order.optLong("amount", amount),
+                order.optString("currency", currency), order.optString("receipt", receipt),
+                order.optString("status", null));
+    }
+
+    @Override
+    public Payment fetchPayment(String paymentId) {
+        if (paymentId == null || paymentId.isBlank()) {
+            throw new IllegalArgumentException("Payment ID is required");
+        }
+        return toPayment(call(() -> get("/payments/" + encode(paymentId))));
+    }
+
+    @Override
+    public List<Payment> fetchOrderPayments(String orderId) {
+        if (orderId == null || orderId.isBlank()) {
+            throw new IllegalArgumentException("Order ID is required");
+        }
+        JSONObject page = call(() -> get("/orders/" + encode(orderId) + "/payments"));
+        List<Payment> payments = new ArrayList<>();
+        var items = page.optJSONArray("items");
+        for (int i = 0; items != null && i < items.length(); i++) {
+            payments.add(toPayment(items.getJSONObject(i)));
+        }
+        payments.sort((a, b) -> Long.compare(a.createdAt() != null ? a.createdAt() : 0,
+                b.createdAt() != null ? b.createdAt() : 0));
+        return payments;
+    }
+
+    private static Payment toPayment(JSONObject payment) {
+        return new Payment(payment.getString("id"), payment.optString("order_id", null),
+                payment.optString("status", null), payment.optLong("amount"), payment.optString("currency", null),
+                payment.optString("method", null), payment.optString("email", null),
+                payment.optString("contact", null),
+                payment.has("created_at") ? payment.getLong("created_at") : null);
+    }
+
+    @Override
+    public Refund refund(String paymentId, Long amount) {
+        if (paymentId == null || paymentId.isBlank()) {
+            throw new IllegalArgumentException("Payment ID is required");
+        }
+        JSONObject body = new JSONObject();
+        if (amount != null) {
+            body.put("amount", amount);
+        }
+        JSONObject refund = call(() -> post("/payments/" + encode(paymentId) + "/refund", body));
+        return new Refund(refund.getString("id"), refund.optString("payment_id", paymentId),
+                refund.optLong("amount"), refund.optString("status", null));
+    }
+
+    @Override
+    public boolean verifyPaymentSignature(String orderId, String paymentId, String signature) {
+        requireCredentials();
+        JSONObject attributes = new JSONObject();
+        attributes.put("razorpay_payment_id", paymentId);
+        attributes.put("razorpay_order_id", orderId);
+        attributes.put("razorpay_signature", signature);
+        try {
+            return Utils.verifyPaymentSignature(attributes, keySecret);
+        } catch (RazorpayException e) {
+            log.warn("Razorpay payment signature check failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean verifyWebhookSignature(String payload, String signature) {
+        requireCredentials();
+        // Fall back to the key secret for deployments without a webhook secret
+        String secret = webhookSecret != null && !webhookSecret.isBlank() ? webhookSecret : keySecret;
+        try {
+            return signature != null && Utils.verifyWebhookSignature(payload, signature, secret);
+        } catch (RazorpayException e) {
+            log.warn("Razorpay webhook signature check failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    boolean isCircuitOpen() {
+        return circuitBreaker.isOpen();
+    }
+
+    private JSONObject call(Supplier<JSONObject> request) {
+        requireCredentials();
+        return circuitBreaker.call(request);
+    }
+
+    private JSONObject get(String path) {
+        return send(newRequest(path).GET().build());
+    }
+
+    private JSONObject post(String path, JSONObject body) {
+        return send(newRequest(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build());
+    }
+
+    private HttpRequest.Builder newRequest(String path) {
+        String credentials = Base64.getEncoder()
+                .encodeToString((keyId + ":" + keySecret).getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(URI.create(apiBaseUrl + path))
+                .timeout(readTimeout)
+                .header("Authorization", "Basic " + credentials)
+                .header("Accept", "application/json");
+    }
+
+    private JSONObject send(HttpRequest request) {
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new PaymentGatewayException("Razorpay request failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Razorpay request interrupted", e);
+        }
+
+        int status = response.statusCode();
+        if (status >= 500 || status == 429) {
+            throw new PaymentGatewayException("Razorpay gateway error " + status + ": " + errorOf(response));
+        }
+        if (status >= 400) {
+            // The request itself was rejected; this does not count against the circuit
+            throw new IllegalArgumentException("Razorpay rejected the request (" + status + "): "
+                    + errorOf(response));
+        }
+        try {
+            return new JSONObject(response.body());
+        } catch (JSONException e) {
+            throw new PaymentGatewayException("Unreadable Razorpay response", e);
+        }
+    }
+
+    private static String errorOf(HttpResponse<String> response) {
+        try {
+            JSONObject error = new JSONObject(response.body()).optJSONObject("error");
+            if (error != null && error.has("description")) {
+                return error.getString("description");
+            }
+        } catch (JSONException e) {
+            // Fall through to the raw status
+        }
+        return "HTTP " + response.statusCode();
+    }
+
+    private void requireCredentials() {
+        if (keyId == null || keyId.isBlank()) {
+            throw new IllegalStateException("Razorpay key ID is not configured");
+        }
+        if (keySecret == null || keySecret.isBlank()) {
+            throw new IllegalStateException("Razorpay key secret is not configured");
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,215 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.exception.FileTooLargeException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Downloads remote files for the admin upload-from-URL flow. Bodies are
+ * streamed straight to a temp file next to their destination, never held in
+ * memory, and the download is aborted as soon as it passes the size limit.
+ * One pooled {@link HttpClient} is shared by all downloads, and the number of
+ * downloads in flight is capped so a burst of large links cannot tie up every
+ * request thread. The request timeout only covers the response headers, so
+ * the body has its own deadline: a watchdog closes the stream when it passes,
+ * which also ends a read blocked on a server that stopped sending.
+ */
+@Component
+@Slf4j
+public class RemoteFileFetcher {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+            + "(KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+
+    private final HttpClient httpClient;
+    private final Semaphore permits;
+    private final long permitWaitMillis;
+    private final Duration requestTimeout;
+    private final long bodyTimeoutMillis;
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "download-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RemoteFileFetcher(
+            @Value("${app.upload.fetch.max-concurrent:4}") int maxConcurrent,
+            @Value("${app.upload.fetch.permit-wait-ms:5000}") long permitWaitMillis,
+            @Value("${app.upload.fetch.connect-timeout-ms:15000}") long connectTimeoutMillis,
+            @Value("${app.upload.fetch.request-timeout-ms:60000}") long requestTimeoutMillis,
+            @Value("${app.upload.fetch.body-timeout-ms:120000}") long bodyTimeoutMillis) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .version(HttpClient.Version.HTTP_2)
+                .build();
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.permitWaitMillis = permitWaitMillis;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        this.bodyTimeoutMillis = bodyTimeoutMillis;
+    }
+
+    /**
+     * A finished download held in a temp file. Close it to delete the file
+     * unless it has been moved into place with {@link #moveTo}.
+     */
+    public static final class Download implements AutoCloseable {
+        private final int statusCode;
+        private final HttpHeaders headers;
+        private final Path file;
+        private final long size;
+        private final String sha256;
+        private boolean moved;
+
+        Download(int statusCode, HttpHeaders headers, Path file, long size, String sha256) {
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.file = file;
+            this.size = size;
+            this.sha256 = sha256;
+        }
+
+        public int statusCode() {
+            return statusCode;
+        }
+
+        public HttpHeaders headers() {
+            return headers;
+        }
+
+        public String contentType() {
+            return headers.firstValue("content-type").orElse(null);
+        }
+
+        public Path file() {
+            return file;
+        }
+
+        public long size() {
+            return size;
+        }
+
+        /**
+         * Hex SHA-256 of the body, computed while it streamed in.
+         */
+        public String sha256() {
+            return sha256;
+        }
+
+        /**
+         * Moves the downloaded file to its final name in one step, so readers
+         * never see a partially written file.
+         */
+        public void moveTo(Path target) throws IOException {
+            try {
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            moved = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!moved) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Downloads the URI into a temp file in {@code tempDir}, which should be
+     * on the same file system as the final destination.
+     *
+     * @throws FileTooLargeException when the body exceeds {@code maxBytes}
+     * @throws HttpTimeoutException when the body is not fully read in time
+     * @throws IllegalStateException when too many downloads are in flight
+     */
+    public Download fetch(URI uri, Map<String, String> headers, Path tempDir, long maxBytes)
+            throws IOException, InterruptedException {
+        if (!permits.tryAcquire(permitWaitMillis, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Too many downloads in progress, please try again shortly");
+        }
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                    .timeout(requestTimeout)
+                    .header("User-Agent", USER_AGENT)
+                    .header("Accept", "image/*,video/*,*/*")
+                    .header("Accept-Language", "en-US,en;q=0.9")
+                    .GET();
+            headers.forEach(request::header);
+
+            HttpResponse<InputStream> response = httpClient.send(request.build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            long declared = response.headers().firstValueAsLong("content-length").orElse(-1);
+            if (declared > maxBytes) {
+                response.body().close();
+                throw new FileTooLargeException(maxBytes);
+            }
+
+            Path temp = Files.createTempFile(tempDir, ".download-", ".tmp");
+            MessageDigest digest = UploadStore.newDigest();
+            InputStream body = response.body();
+            AtomicBoolean timedOut = new AtomicBoolean();
+            ScheduledFuture<?> deadline = watchdog.schedule(() -> {
+                timedOut.set(true);
+                closeQuietly(body);
+            }, bodyTimeoutMillis, TimeUnit.MILLISECONDS);
+            try (InputStream in = body; OutputStream out = Files.newOutputStream(temp)) {
+                long size = UploadStore.copy(in, out, digest, maxBytes);
+                log.debug("Fetched {} bytes from {}", size, uri.getHost());
+                return new Download(response.statusCode(), response.headers(), temp, size,
+                        HexFormat.of().formatHex(digest.digest()));
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                if (timedOut.get()) {
+                    throw new HttpTimeoutException("Download did not finish within " + bodyTimeoutMillis + " ms");
+                }
+                throw e;
+            } finally {
+                deadline.cancel(false);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            log.debug("Closing timed-out download failed: {}", e.getMessage());
+        }
+    }
+}
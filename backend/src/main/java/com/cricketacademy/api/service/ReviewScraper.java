@@ -0,0 +1,22 @@
+package com.cricketacademy.api.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Source of public reviews for the homepage. Exactly one implementation is
+ * active, chosen by {@code app.reviews.scraper}: {@code google} (default) or
+ * {@code stub} for offline development and tests.
+ *
+ * Each review is a map with {@code name}, {@code rating}, {@code comment},
+ * {@code photo} and {@code date}, the shape the homepage renders.
+ */
+public interface ReviewScraper {
+
+    /**
+     * Fetches the current reviews. Called from a background thread and may be
+     * slow; returns only reviews actually found, possibly none.
+     */
+    List<Map<String, Object>> fetchReviews() throws IOException;
+}
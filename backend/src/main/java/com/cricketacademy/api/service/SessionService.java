@@ -3,31 +3,57 @@ package com.cricketacademy.api.service;
 import com.cricketacademy.api.entity.SessionActivity;
 import com.cricketacademy.api.entity.User;
 import com.cricketacademy.api.repository.SessionActivityRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Session activity tracking. Heartbeats are absorbed into an in-memory map of
+ * last-seen times and written to {@code session_activities} in periodic
+ * batched UPDATEs, so an open tab costs no database round trip per heartbeat.
+ * Reads and writes of a single session flush its pending heartbeat first.
+ */
 @Service
+@RequiredArgsConstructor
+@Slf4j
 public class SessionService {
 
-    @Autowired
-    private SessionActivityRepository sessionActivityRepository;
+    private static final int SESSION_TIMEOUT_MINUTES = 20;
+
+    static final String FLUSH_SQL = "UPDATE session_activities "
+            + "SET last_activity_time = ?, session_expiry_time = ?, activity_count = activity_count + ? "
+            + "WHERE session_token = ? AND is_active = true";
+
+    private final SessionActivityRepository sessionActivityRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<String, Heartbeat> pendingHeartbeats = new ConcurrentHashMap<>();
 
     public SessionActivity createSession(String sessionToken, User user, String ipAddress, String userAgent) {
         SessionActivity sessionActivity = new SessionActivity(user, sessionToken, ipAddress, userAgent);
         return sessionActivityRepository.save(sessionActivity);
     }
 
+    /**
+     * Records a heartbeat in memory; it reaches the database on the next flush.
+     */
     public void updateSessionActivity(String sessionToken) {
-        SessionActivity sessionActivity = sessionActivityRepository.findBySessionToken(sessionToken);
-        if (sessionActivity != null) {
-            sessionActivity.updateActivity();
-            sessionActivityRepository.save(sessionActivity);
-        }
+        pendingHeartbeats.merge(sessionToken, new Heartbeat(LocalDateTime.now(), 1), Heartbeat::merge);
     }
 
     public void terminateSession(String sessionToken) {
+        pendingHeartbeats.remove(sessionToken);
         SessionActivity sessionActivity = sessionActivityRepository.findBySessionToken(sessionToken);
         if (sessionActivity != null) {
             sessionActivity.setIsActive(false);
@@ -36,15 +62,18 @@ public class SessionService {
     }
 
     public boolean isSessionExpired(String sessionToken) {
+        flushSession(sessionToken);
         SessionActivity sessionActivity = sessionActivityRepository.findBySessionToken(sessionToken);
         return sessionActivity != null && sessionActivity.isExpired();
     }
 
     public SessionActivity getSession(String sessionToken) {
+        flushSession(sessionToken);
         return sessionActivityRepository.findBySessionToken(sessionToken);
     }
 
     public void extendSession(String sessionToken, int minutes) {
+        flushSession(sessionToken);
         SessionActivity sessionActivity = sessionActivityRepository.findBySessionToken(sessionToken);
         if (sessionActivity != null) {
             sessionActivity.extendSession(minutes);
@@ -52,11 +81,60 @@ public class SessionService {
         }
     }
 
-    public void cleanupExpiredSessions() {
-        LocalDateTime now = LocalDateTime.now();
-        sessionActivityRepository.findExpiredSessions(now).forEach(session -> {
-            session.setIsActive(false);
-            sessionActivityRepository.save(session);
-        });
+    /**
+     * Writes all pending heartbeats in one JDBC batch.
+     */
+    @Scheduled(fixedDelayString = "${app.session.activity-flush-interval-ms:5000}")
+    public void flushActivity() {
+        if (pendingHeartbeats.isEmpty()) {
+            return;
+        }
+        Map<String, Heartbeat> drained = new HashMap<>();
+        for (String sessionToken : pendingHeartbeats.keySet()) {
+            Heartbeat heartbeat = pendingHeartbeats.remove(sessionToken);
+            if (heartbeat != null) {
+                drained.put(sessionToken, heartbeat);
+            }
+        }
+        List<Object[]> batch = new ArrayList<>(drained.size());
+        drained.forEach((sessionToken, heartbeat) -> batch.add(toRow(sessionToken, heartbeat)));
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            log.debug("Flushed {} session heartbeats", batch.size());
+        } catch (Exception e) {
+            // Keep the heartbeats for the next flush rather than losing them
+            drained.forEach((sessionToken, heartbeat) -> pendingHeartbeats.merge(sessionToken, heartbeat,
+                    Heartbeat::merge));
+            log.error("Failed to flush {} session heartbeats: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushActivity();
+    }
+
+    private void flushSession(String sessionToken) {
+        Heartbeat heartbeat = pendingHeartbeats.remove(sessionToken);
+        if (heartbeat != null) {
+            jdbcTemplate.update(FLUSH_SQL, toRow(sessionToken, heartbeat));
+        }
+    }
+
+    private Object[] toRow(String sessionToken, Heartbeat heartbeat) {
+        return new Object[] {
+                Timestamp.valueOf(heartbeat.lastSeen()),
+                Timestamp.valueOf(heartbeat.lastSeen().plusMinutes(SESSION_TIMEOUT_MINUTES)),
+                heartbeat.count(),
+                sessionToken
+        };
+    }
+
+    private record Heartbeat(LocalDateTime lastSeen, int count) {
+
+        Heartbeat merge(Heartbeat other) {
+            LocalDateTime latest = lastSeen.isAfter(other.lastSeen) ? lastSeen : other.lastSeen;
+            return new Heartbeat(latest, count + other.count);
+        }
     }
 }
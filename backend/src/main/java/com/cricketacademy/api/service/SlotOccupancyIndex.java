@@ -0,0 +1,182 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.Booking;
+import com.cricketacademy.api.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory occupancy of each (groundId, date) pair as a bitset of 15-minute
+ * cells. A day is loaded from the database the first time it is queried and is
+ * then kept in step by {@link BookingService}, so availability and conflict
+ * checks do not need a query.
+ *
+ * Only this node's writes are applied in place. Bookings made through another
+ * node are picked up when a day's entry is older than {@code occupancy-ttl}
+ * and is reloaded; until then a slot taken elsewhere can still be offered, and
+ * the booking_slot_claims unique key rejects the second booking.
+ *
+ * Intervals are half-open: a booking from 10:00 to 11:00 occupies the cells
+ * starting at 10:00, 10:15, 10:30 and 10:45, so an 11:00-12:00 booking does not
+ * conflict with it. Cancelled bookings do not occupy any cells.
+ */
+@Component
+@Slf4j
+public class SlotOccupancyIndex {
+
+    static final int CELL_MINUTES = 15;
+    static final int CELLS_PER_DAY = 24 * 60 / CELL_MINUTES;
+
+    // Past days are dropped once the index grows beyond this many entries
+    private static final int EVICTION_THRESHOLD = 10_000;
+
+    private final BookingRepository bookingRepository;
+    private final long ttlNanos;
+
+    private final Map<DayKey, DayOccupancy> days = new ConcurrentHashMap<>();
+
+    public SlotOccupancyIndex(BookingRepository bookingRepository,
+            @Value("${app.booking.occupancy-ttl-seconds:30}") long ttlSeconds) {
+        this.bookingRepository = bookingRepository;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+    }
+
+    /**
+     * Returns true when no active booking overlaps [startTime, endTime) on the
+     * given ground and date.
+     */
+    public boolean isFree(String groundId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        DayOccupancy day = loadedDay(groundId, date);
+        synchronized (day) {
+            return day.cells.get(startCell(startTime), endCell(startTime, endTime)).isEmpty();
+        }
+    }
+
+    /**
+     * Filters the given "HH:mm-HH:mm" slot labels down to those that are free.
+     */
+    public List<String> availableSlots(String groundId, LocalDate date, List<String> slots) {
+        DayOccupancy day = loadedDay(groundId, date);
+        synchronized (day) {
+            return slots.stream()
+                    .filter(slot -> {
+                        String[] parts = slot.split("-");
+                        LocalTime start = LocalTime.parse(parts[0]);
+                        LocalTime end = LocalTime.parse(parts[1]);
+                        return day.cells.get(startCell(start), endCell(start, end)).isEmpty();
+                    })
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Marks the cells of a committed booking as occupied. Days that have not been
+     * loaded yet are left alone; they will see the booking when they are loaded.
+     */
+    public void occupy(Booking booking) {
+        if (!occupiesCells(booking)) {
+            release(booking);
+            return;
+        }
+        DayOccupancy day = days.get(new DayKey(booking.getGroundId(), booking.getBookingDate()));
+        if (day == null) {
+            return;
+        }
+        synchronized (day) {
+            if (day.loaded) {
+                day.cells.set(startCell(booking.getStartTime()),
+                        endCell(booking.getStartTime(), booking.getEndTime()));
+            }
+        }
+    }
+
+    /**
+     * Forgets the occupancy of the booking's day after a cancellation or delete.
+     * Other bookings may overlap the same cells, so the day is reloaded on the
+     * next query rather than clearing bits here.
+     */
+    public void release(Booking booking) {
+        invalidate(booking.getGroundId(), booking.getBookingDate());
+    }
+
+    public void invalidate(String groundId, LocalDate date) {
+        DayOccupancy day = days.get(new DayKey(groundId, date));
+        if (day == null) {
+            return;
+        }
+        synchronized (day) {
+            day.loaded = false;
+            day.cells.clear();
+        }
+    }
+
+    private DayOccupancy loadedDay(String groundId, LocalDate date) {
+        if (days.size() > EVICTION_THRESHOLD) {
+            evictBefore(LocalDate.now());
+        }
+        DayOccupancy day = days.computeIfAbsent(new DayKey(groundId, date), key -> new DayOccupancy());
+        synchronized (day) {
+            if (day.loaded && System.nanoTime() - day.loadedAt >= ttlNanos) {
+                // Another node may have booked or cancelled since this day was read
+                day.loaded = false;
+                day.cells.clear();
+            }
+            if (!day.loaded) {
+                // Loading under the day's monitor means a booking committed while we
+                // read is either in the result or applied by occupy() right after.
+                for (Booking booking : bookingRepository.findByBookingDateAndGroundId(date, groundId)) {
+                    if (occupiesCells(booking)) {
+                        day.cells.set(startCell(booking.getStartTime()),
+                                endCell(booking.getStartTime(), booking.getEndTime()));
+                    }
+                }
+                day.loaded = true;
+                day.loadedAt = System.nanoTime();
+                log.debug("Loaded slot occupancy for ground {} on {}", groundId, date);
+            }
+        }
+        return day;
+    }
+
+    private void evictBefore(LocalDate date) {
+        days.keySet().removeIf(key -> key.date().isBefore(date));
+    }
+
+    private static boolean occupiesCells(Booking booking) {
+        return booking.getStartTime() != null
+                && booking.getEndTime() != null
+                && !"CANCELLED".equalsIgnoreCase(booking.getStatus());
+    }
+
+    static int startCell(LocalTime startTime) {
+        return (startTime.getHour() * 60 + startTime.getMinute()) / CELL_MINUTES;
+    }
+
+    static int endCell(LocalTime startTime, LocalTime endTime) {
+        // An end time at or before the start (e.g. 00:00) runs to the end of the day
+        if (!endTime.isAfter(startTime)) {
+            return CELLS_PER_DAY;
+        }
+        int minutes = endTime.getHour() * 60 + endTime.getMinute() + (endTime.getSecond() > 0 ? 1 : 0);
+        return Math.min(CELLS_PER_DAY, (minutes + CELL_MINUTES - 1) / CELL_MINUTES);
+    }
+
+    private record DayKey(String groundId, LocalDate date) {
+    }
+
+    private static final class DayOccupancy {
+        private final BitSet cells = new BitSet(CELLS_PER_DAY);
+        private boolean loaded;
+        private long loadedAt;
+    }
+}
@@ -0,0 +1,110 @@
+package com.cricketacademy.api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory gateway for exercising the checkout path offline, e.g. under load
+ * tests. Orders and payments are remembered in memory, every payment is
+ * reported as captured and all signatures are accepted. An optional fixed
+ * latency approximates a real gateway round trip.
+ *
+ * Enabled with {@code app.payment.gateway=stub}; never use it in production.
+ */
+@Component
+@ConditionalOnProperty(name = "app.payment.gateway", havingValue = "stub")
+@Slf4j
+public class StubPaymentGateway implements PaymentGateway {
+
+    private final long latencyMillis;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Order> orders = new ConcurrentHashMap<>();
+    private final Map<String, Payment> payments = new ConcurrentHashMap<>();
+
+    public StubPaymentGateway(@Value("${app.payment.stub.latency-ms:0}") long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+        log.warn("Stub payment gateway is active: payments are simulated and signatures are not checked");
+    }
+
+    @Override
+    public String name() {
+        return "stub";
+    }
+
+    @Override
+    public Order createOrder(long amount, String currency, String receipt, Map<String, String> notes) {
+        simulateLatency();
+        Order order = new Order("order_stub_" + sequence.incrementAndGet(), amount, currency, receipt, "created");
+        orders.put(order.id(), order);
+        return order;
+    }
+
+    @Override
+    public Payment fetchPayment(String paymentId) {
+        if (paymentId == null || paymentId.isBlank()) {
+            throw new IllegalArgumentException("Payment ID is required");
+        }
+        simulateLatency();
+        return payments.getOrDefault(paymentId, new Payment(paymentId, null, "captured", 0, "INR", "card",
+                null, null, System.currentTimeMillis() / 1000));
+    }
+
+    @Override
+    public List<Payment> fetchOrderPayments(String orderId) {
+        simulateLatency();
+        return payments.values().stream()
+                .filter(payment -> orderId.equals(payment.orderId()))
+                .sorted(Comparator.comparing(Payment::id))
+                .toList();
+    }
+
+    @Override
+    public Refund refund(String paymentId, Long amount) {
+        Payment payment = fetchPayment(paymentId);
+        long refunded = amount != null ? amount : payment.amount();
+        payments.put(paymentId, new Payment(payment.id(), payment.orderId(), "refunded", payment.amount(),
+                payment.currency(), payment.method(), payment.email(), payment.contact(), payment.createdAt()));
+        return new Refund("rfnd_stub_" + sequence.incrementAndGet(), paymentId, refunded, "processed");
+    }
+
+    @Override
+    public boolean verifyPaymentSignature(String orderId, String paymentId, String signature) {
+        Order order = orders.get(orderId);
+        if (order != null && paymentId != null) {
+            payments.putIfAbsent(paymentId, new Payment(paymentId, orderId, "captured", order.amount(),
+                    order.currency(), "card", null, null, System.currentTimeMillis() / 1000));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean verifyWebhookSignature(String payload, String signature) {
+        return true;
+    }
+
+    /**
+     * Sets the state reported for a payment, e.g. to simulate a failure.
+     */
+    public void putPayment(Payment payment) {
+        payments.put(payment.id(), payment);
+    }
+
+    private void simulateLatency() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
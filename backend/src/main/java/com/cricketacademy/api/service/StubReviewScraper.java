@@ -0,0 +1,36 @@
+package com.cricketacademy.api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed reviews for running without network access, e.g. locally or in
+ * tests. Enabled with {@code app.reviews.scraper=stub}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reviews.scraper", havingValue = "stub")
+@Slf4j
+public class StubReviewScraper implements ReviewScraper {
+
+    public StubReviewScraper() {
+        log.warn("Stub review scraper is active: homepage reviews are placeholders");
+    }
+
+    @Override
+    public List<Map<String, Object>> fetchReviews() {
+        String today = LocalDate.now().toString();
+        return List.of(
+                review("Stub Reviewer One", "Great nets and friendly coaches.", today),
+                review("Stub Reviewer Two", "Well kept ground, easy booking.", today),
+                review("Stub Reviewer Three", "Excellent floodlit evening sessions.", today));
+    }
+
+    private static Map<String, Object> review(String name, String comment, String date) {
+        return Map.of("name", name, "rating", 5, "comment", comment, "photo", "", "date", date);
+    }
+}
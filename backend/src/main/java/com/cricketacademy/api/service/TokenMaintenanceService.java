@@ -0,0 +1,147 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.repository.EmailVerificationTokenRepository;
+import com.cricketacademy.api.repository.PasswordResetTokenRepository;
+import com.cricketacademy.api.repository.RefreshTokenRepository;
+import com.cricketacademy.api.repository.SchedulerLockRepository;
+import com.cricketacademy.api.repository.SessionActivityRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Periodically purges expired tokens and sessions. Each sweep runs as a series
+ * of small bulk DELETE/UPDATE statements, each in its own transaction, so no
+ * run holds long locks on the auth tables. Only the node holding the
+ * {@code token-maintenance} row lease runs the sweeps, and the lease is kept
+ * until the next run is due, so the sweeps run once per interval across the
+ * cluster rather than once per node.
+ *
+ * Rows affected and duration are published per table as
+ * {@code maintenance.sweep.rows} and {@code maintenance.sweep.duration}.
+ */
+@Service
+@Slf4j
+public class TokenMaintenanceService {
+
+    static final String LOCK_NAME = "token-maintenance";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final EmailVerificationTokenRepository emailVerificationTokenRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final SessionActivityRepository sessionActivityRepository;
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final SessionService sessionService;
+    private final MeterRegistry meterRegistry;
+
+    private final int chunkSize;
+    private final long tokenGraceHours;
+    private final long sessionRetentionDays;
+    private final long intervalMs;
+    private final long leaseMinutes;
+    private final String owner;
+
+    public TokenMaintenanceService(RefreshTokenRepository refreshTokenRepository,
+            EmailVerificationTokenRepository emailVerificationTokenRepository,
+            PasswordResetTokenRepository passwordResetTokenRepository,
+            SessionActivityRepository sessionActivityRepository,
+            SchedulerLockRepository schedulerLockRepository,
+            SessionService sessionService,
+            MeterRegistry meterRegistry,
+            @Value("${app.maintenance.chunk-size:1000}") int chunkSize,
+            @Value("${app.maintenance.token-grace-hours:24}") long tokenGraceHours,
+            @Value("${app.maintenance.session-retention-days:30}") long sessionRetentionDays,
+            @Value("${app.maintenance.interval-ms:900000}") long intervalMs,
+            @Value("${app.maintenance.lease-minutes:10}") long leaseMinutes) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.emailVerificationTokenRepository = emailVerificationTokenRepository;
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.sessionActivityRepository = sessionActivityRepository;
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.sessionService = sessionService;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.tokenGraceHours = tokenGraceHours;
+        this.sessionRetentionDays = sessionRetentionDays;
+        this.intervalMs = intervalMs;
+        this.leaseMinutes = leaseMinutes;
+        this.owner = hostName() + ":" + UUID.randomUUID();
+    }
+
+    @Scheduled(fixedDelayString = "${app.maintenance.interval-ms:900000}",
+            initialDelayString = "${app.maintenance.initial-delay-ms:60000}")
+    public void runSweeps() {
+        LocalDateTime now = LocalDateTime.now();
+        // Never released early: the next node to acquire it does so once the next run is due
+        LocalDateTime leaseEnd = now.plus(Duration.ofMillis(Math.max(intervalMs, leaseMinutes * 60_000)));
+        if (schedulerLockRepository.acquire(LOCK_NAME, owner, now, leaseEnd) == 0) {
+            log.debug("Token maintenance lease held by another node, skipping");
+            return;
+        }
+        LocalDateTime deadline = now.plusMinutes(leaseMinutes);
+
+        // Pending heartbeats on this node must land before sessions are expired
+        sessionService.flushActivity();
+
+        LocalDateTime tokenCutoff = now.minusHours(tokenGraceHours);
+        sweep("session_activities", "deactivate", now, deadline,
+                sessionActivityRepository::deactivateExpiredChunk);
+        sweep("session_activities", "delete", now.minusDays(sessionRetentionDays), deadline,
+                sessionActivityRepository::deleteInactiveChunk);
+        sweep("refresh_tokens", "delete", tokenCutoff, deadline,
+                refreshTokenRepository::deleteExpiredChunk);
+        sweep("email_verification_tokens", "delete", tokenCutoff, deadline,
+                emailVerificationTokenRepository::deleteExpiredChunk);
+        sweep("password_reset_tokens", "delete", tokenCutoff, deadline,
+                passwordResetTokenRepository::deleteExpiredChunk);
+    }
+
+    /**
+     * Repeats one chunked statement until a chunk comes back short or the run
+     * deadline passes. Returns the total rows affected.
+     */
+    long sweep(String table, String action, LocalDateTime cutoff, LocalDateTime deadline,
+            BiFunction<LocalDateTime, Integer, Integer> chunk) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long total = 0;
+        try {
+            int affected;
+            do {
+                affected = chunk.apply(cutoff, chunkSize);
+                total += affected;
+            } while (affected == chunkSize && LocalDateTime.now().isBefore(deadline));
+        } catch (Exception e) {
+            log.error("Maintenance sweep {} on {} failed after {} rows: {}", action, table, total, e.getMessage());
+        } finally {
+            sample.stop(Timer.builder("maintenance.sweep.duration")
+                    .tag("table", table).tag("action", action)
+                    .register(meterRegistry));
+            Counter.builder("maintenance.sweep.rows")
+                    .tag("table", table).tag("action", action)
+                    .register(meterRegistry)
+                    .increment(total);
+        }
+        if (total > 0) {
+            log.info("Maintenance sweep {} on {}: {} rows", action, table, total);
+        }
+        return total;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown-host";
+        }
+    }
+}
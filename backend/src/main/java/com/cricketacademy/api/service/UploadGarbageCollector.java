@@ -0,0 +1,134 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.UploadObject;
+import com.cricketacademy.api.repository.SchedulerLockRepository;
+import com.cricketacademy.api.repository.UploadObjectRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Removes stored uploads nothing points at any more. A run first marks every
+ * object whose URL appears in an image column as referenced now, then sweeps
+ * objects that have gone unreferenced for longer than the grace period. The
+ * grace period also protects fresh uploads whose form has not been saved yet.
+ *
+ * Files uploaded before the content-addressed store are never touched. Only
+ * the node holding the {@code upload-gc} lease runs.
+ */
+@Service
+@Slf4j
+public class UploadGarbageCollector {
+
+    static final String LOCK_NAME = "upload-gc";
+
+    // Entity and column of every field that may hold an upload URL
+    private static final String[][] REFERENCE_COLUMNS = {
+            { "StarPlayer", "photoUrl" },
+            { "FacilityItem", "imageUrl" },
+            { "HeroImage", "imageUrl" },
+            { "Ground", "imageUrl" },
+            { "Net", "imageUrl" },
+            { "CricketCoach", "photoUrl" },
+            { "ExpertCoach", "profileImageUrl" },
+    };
+    private static final int TOUCH_CHUNK_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final UploadObjectRepository uploadObjectRepository;
+    private final UploadStore uploadStore;
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final long graceDays;
+    private final long leaseMinutes;
+    private final int batchSize;
+    private final String owner;
+
+    public UploadGarbageCollector(UploadObjectRepository uploadObjectRepository,
+            UploadStore uploadStore,
+            SchedulerLockRepository schedulerLockRepository,
+            @Value("${app.upload.gc.grace-days:7}") long graceDays,
+            @Value("${app.upload.gc.lease-minutes:30}") long leaseMinutes,
+            @Value("${app.upload.gc.batch-size:200}") int batchSize) {
+        this.uploadObjectRepository = uploadObjectRepository;
+        this.uploadStore = uploadStore;
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.graceDays = graceDays;
+        this.leaseMinutes = leaseMinutes;
+        this.batchSize = batchSize;
+        this.owner = hostName() + ":" + UUID.randomUUID();
+    }
+
+    @Scheduled(fixedDelayString = "${app.upload.gc.interval-ms:86400000}",
+            initialDelayString = "${app.upload.gc.initial-delay-ms:600000}")
+    public void collect() {
+        LocalDateTime now = LocalDateTime.now();
+        if (schedulerLockRepository.acquire(LOCK_NAME, owner, now, now.plusMinutes(leaseMinutes)) == 0) {
+            log.debug("Upload GC lease held elsewhere, skipping");
+            return;
+        }
+        try {
+            int referenced = markReferenced(now);
+            int deleted = sweep(now.minusDays(graceDays));
+            log.info("Upload GC: {} objects referenced, {} deleted", referenced, deleted);
+        } finally {
+            schedulerLockRepository.release(LOCK_NAME, owner, LocalDateTime.now());
+        }
+    }
+
+    private int markReferenced(LocalDateTime now) {
+        Set<String> hashes = new HashSet<>();
+        for (String[] column : REFERENCE_COLUMNS) {
+            String jpql = "SELECT x." + column[1] + " FROM " + column[0] + " x WHERE x." + column[1]
+                    + " LIKE '%/uploads/" + UploadStore.OBJECTS_DIR + "/%'";
+            for (String url : entityManager.createQuery(jpql, String.class).getResultList()) {
+                UploadStore.collectObjectHashes(url, hashes);
+            }
+        }
+        List<String> all = new ArrayList<>(hashes);
+        for (int i = 0; i < all.size(); i += TOUCH_CHUNK_SIZE) {
+            uploadObjectRepository.touch(all.subList(i, Math.min(all.size(), i + TOUCH_CHUNK_SIZE)), now);
+        }
+        return all.size();
+    }
+
+    private int sweep(LocalDateTime cutoff) {
+        int deleted = 0;
+        while (true) {
+            List<UploadObject> page = uploadObjectRepository.findUnreferencedSince(cutoff,
+                    PageRequest.of(0, batchSize));
+            int deletedInPage = 0;
+            for (UploadObject object : page) {
+                if (uploadStore.deleteIfUnreferenced(object, cutoff)) {
+                    deletedInPage++;
+                }
+            }
+            deleted += deletedInPage;
+            // Objects referenced again mid-sweep drop out of the query, so a short page is the end
+            if (page.size() < batchSize || deletedInPage == 0) {
+                return deleted;
+            }
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown-host";
+        }
+    }
+}
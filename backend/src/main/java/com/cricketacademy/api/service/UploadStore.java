@@ -0,0 +1,247 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.UploadObject;
+import com.cricketacademy.api.exception.FileTooLargeException;
+import com.cricketacademy.api.repository.UploadObjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store for admin uploads. Files are hashed with SHA-256
+ * while they stream to a temp file and then stored once under
+ * {@code objects/<first two hex digits>/<sha256><ext>}; uploading the same
+ * bytes again returns the existing URL. Every stored object is registered in
+ * {@code upload_objects} so unreferenced files can be garbage-collected.
+ *
+ * Object files never change once written, which is what allows
+ * {@code /uploads/objects/**} to be served as immutable. Files derived from
+ * an object, such as resized images, are stored next to it as
+ * {@code <sha256>-<name>} and deleted with it.
+ */
+@Service
+@Slf4j
+public class UploadStore {
+
+    public static final String OBJECTS_DIR = "objects";
+    public static final String URL_PREFIX = "/uploads/";
+
+    private static final Pattern OBJECT_URL = Pattern.compile(
+            "/uploads/" + OBJECTS_DIR + "/[0-9a-f]{2}/([0-9a-f]{64})");
+    private static final int LOCK_STRIPES = 64;
+
+    public record StoredFile(String url, String sha256, long size, boolean deduplicated) {
+    }
+
+    @FunctionalInterface
+    private interface Placement {
+        void moveTo(Path target) throws IOException;
+    }
+
+    private final UploadObjectRepository uploadObjectRepository;
+    private final Path root;
+    // Serializes store and delete of the same object on this node
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public UploadStore(UploadObjectRepository uploadObjectRepository,
+            @Value("${app.upload.dir:uploads}") String uploadDir) {
+        this.uploadObjectRepository = uploadObjectRepository;
+        this.root = Paths.get(uploadDir).toAbsolutePath();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * The upload directory, created if needed. Temp files placed here can be
+     * moved into the store atomically.
+     */
+    public Path root() throws IOException {
+        Files.createDirectories(root);
+        return root;
+    }
+
+    /**
+     * Streams the input into the store, hashing it on the way.
+     *
+     * @throws FileTooLargeException when the input exceeds {@code maxBytes}
+     */
+    public StoredFile store(InputStream in, String ext, String contentType, long maxBytes) throws IOException {
+        Path temp = Files.createTempFile(root(), ".upload-", ".tmp");
+        try {
+            MessageDigest digest = newDigest();
+            long size;
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                size = copy(in, out, digest, maxBytes);
+            }
+            return commit(HexFormat.of().formatHex(digest.digest()), size, ext, contentType,
+                    target -> move(temp, target));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Stores a finished download, using the hash computed while it streamed.
+     */
+    public StoredFile store(RemoteFileFetcher.Download download, String ext) throws IOException {
+        return commit(download.sha256(), download.size(), ext, download.contentType(), download::moveTo);
+    }
+
+    private StoredFile commit(String sha256, long size, String ext, String contentType, Placement placement)
+            throws IOException {
+        synchronized (lockFor(sha256)) {
+            LocalDateTime now = LocalDateTime.now();
+            Optional<UploadObject> existing = uploadObjectRepository.findById(sha256);
+            boolean collected = false;
+            if (existing.isPresent() && Files.exists(root.resolve(existing.get().getPath()))) {
+                if (uploadObjectRepository.touch(List.of(sha256), now) > 0) {
+                    return new StoredFile(URL_PREFIX + existing.get().getPath(), sha256, size, true);
+                }
+                // Another node collected it after the lookup and may still be deleting its file
+                existing = Optional.empty();
+                collected = true;
+            }
+
+            String path = OBJECTS_DIR + "/" + sha256.substring(0, 2) + "/" + sha256 + ext;
+            Path target = root.resolve(path);
+            Files.createDirectories(target.getParent());
+            if (collected || !Files.exists(target)) {
+                placement.moveTo(target);
+            }
+
+            UploadObject object = existing.orElseGet(UploadObject::new);
+            object.setSha256(sha256);
+            object.setPath(path);
+            object.setContentType(contentType);
+            object.setSizeBytes(size);
+            if (object.getCreatedAt() == null) {
+                object.setCreatedAt(now);
+            }
+            object.setLastReferencedAt(now);
+            uploadObjectRepository.save(object);
+            return new StoredFile(URL_PREFIX + path, sha256, size, false);
+        }
+    }
+
+    /**
+     * Deletes an object that has not been referenced since the cutoff. Returns
+     * false when it was referenced or re-uploaded in the meantime.
+     */
+    public boolean deleteIfUnreferenced(UploadObject object, LocalDateTime cutoff) {
+        synchronized (lockFor(object.getSha256())) {
+            if (uploadObjectRepository.deleteIfUnreferenced(object.getSha256(), cutoff) == 0) {
+                return false;
+            }
+            Path file = root.resolve(object.getPath());
+            try {
+                Files.deleteIfExists(file);
+                try (DirectoryStream<Path> derived = Files.newDirectoryStream(file.getParent(),
+                        object.getSha256() + "-*")) {
+                    for (Path path : derived) {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            } catch (NoSuchFileException ignored) {
+                // The shard directory is already gone
+            } catch (IOException e) {
+                log.warn("Could not delete upload {}: {}", object.getPath(), e.getMessage());
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Resolves a store URL, absolute or relative, to its object file; empty for
+     * any other URL.
+     */
+    public Optional<Path> resolve(String url) {
+        if (url == null) {
+            return Optional.empty();
+        }
+        int start = url.indexOf(URL_PREFIX + OBJECTS_DIR + "/");
+        if (start < 0 || !OBJECT_URL.matcher(url).find(start)) {
+            return Optional.empty();
+        }
+        String path = url.substring(start + URL_PREFIX.length());
+        int end = path.indexOf('?');
+        if (end >= 0) {
+            path = path.substring(0, end);
+        }
+        Path file = root.resolve(path).normalize();
+        return file.startsWith(root.resolve(OBJECTS_DIR)) ? Optional.of(file) : Optional.empty();
+    }
+
+    /**
+     * Adds the hash of every store URL found in the text to the collection;
+     * the text may be a plain URL or e.g. a JSON list of URLs.
+     */
+    public static void collectObjectHashes(String text, Collection<String> hashes) {
+        if (text == null) {
+            return;
+        }
+        Matcher m = OBJECT_URL.matcher(text);
+        while (m.find()) {
+            hashes.add(m.group(1));
+        }
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Copies the stream while feeding the digest, failing as soon as more than
+     * {@code maxBytes} have been read.
+     */
+    static long copy(InputStream in, OutputStream out, MessageDigest digest, long maxBytes) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            total += read;
+            if (total > maxBytes) {
+                throw new FileTooLargeException(maxBytes);
+            }
+            digest.update(buffer, 0, read);
+            out.write(buffer, 0, read);
+        }
+        return total;
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Object lockFor(String sha256) {
+        return locks[Math.floorMod(sha256.hashCode(), LOCK_STRIPES)];
+    }
+}
@@ -36,6 +36,7 @@ public class UserService {
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final PrincipalCache principalCache;
 
     /**
      * Login user and create session
@@ -384,6 +385,7 @@ public class UserService {
                 .orElseThrow(() -> new ValidationException("User not found with ID: " + id));
 
         userRepository.delete(user);
+        principalCache.invalidate(user.getEmail());
         log.info("User deleted successfully with ID: {}", id);
     }
 
@@ -416,6 +418,7 @@ public class UserService {
         }
 
         User savedUser = userRepository.save(existingUser);
+        principalCache.invalidate(savedUser.getEmail());
         log.info("User updated successfully with ID: {}", savedUser.getId());
 
         return savedUser;
@@ -435,6 +438,7 @@ public class UserService {
 
         user.setIsActive(false);
         User savedUser = userRepository.save(user);
+        principalCache.invalidate(savedUser.getEmail());
         log.info("User deactivated successfully with ID: {}", savedUser.getId());
 
         return savedUser;
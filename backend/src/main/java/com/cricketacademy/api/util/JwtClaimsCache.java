@@ -0,0 +1,92 @@
+package com.cricketacademy.api.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the JWT signing key and parser, both built once from the configured
+ * secret, and a bounded cache of verified claims keyed by the raw token. A
+ * token seen again before its expiry skips signature verification; entries
+ * are never served past the token's own {@code exp}.
+ */
+@Component
+public class JwtClaimsCache {
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final int maxEntries;
+    private final long maxTtlMillis;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public JwtClaimsCache(@Value("${app.jwt.secret}") String secret,
+            @Value("${app.jwt.claims-cache.max-entries:10000}") int maxEntries,
+            @Value("${app.jwt.claims-cache.max-ttl-seconds:300}") long maxTtlSeconds) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.maxEntries = maxEntries;
+        this.maxTtlMillis = maxTtlSeconds * 1000;
+    }
+
+    public SecretKey getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * Returns the verified claims of a token, throwing the usual
+     * {@link io.jsonwebtoken.JwtException} subtypes when it is invalid or expired.
+     */
+    public Claims parse(String token) {
+        long now = System.currentTimeMillis();
+        Entry cached = entries.get(token);
+        if (cached != null) {
+            if (now < cached.expiresAt()) {
+                return cached.claims();
+            }
+            entries.remove(token, cached);
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            long expiresAt = Math.min(expiration.getTime(), now + maxTtlMillis);
+            if (entries.size() >= maxEntries) {
+                evict(now);
+            }
+            entries.put(token, new Entry(claims, expiresAt));
+        }
+        return claims;
+    }
+
+    /**
+     * Drops expired entries and, if the cache is still full, enough others to
+     * leave room for new tokens.
+     */
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        int excess = entries.size() - maxEntries * 9 / 10;
+        Iterator<String> tokens = entries.keySet().iterator();
+        while (excess-- > 0 && tokens.hasNext()) {
+            tokens.next();
+            tokens.remove();
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private record Entry(Claims claims, long expiresAt) {
+    }
+}
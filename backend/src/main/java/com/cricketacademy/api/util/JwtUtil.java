@@ -1,14 +1,11 @@
 package com.cricketacademy.api.util;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -17,20 +14,15 @@ import java.util.Map;
  * Utility class for JWT token operations - Updated with modern JJWT API
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtUtil {
 
-    @Value("${app.jwt.secret}")
-    private String secretKey;
+    private final JwtClaimsCache jwtClaimsCache;
 
     @Value("${app.jwt.expiration}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     /**
      * Generate JWT token using modern JJWT API
      */
@@ -44,7 +36,7 @@ public class JwtUtil {
                 .setSubject(email)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(jwtClaimsCache.getSigningKey())
                 .compact();
     }
 
@@ -96,11 +88,8 @@ public class JwtUtil {
                 return false;
             }
 
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return !isTokenExpired(token);
+            Claims claims = extractAllClaims(token);
+            return !claims.getExpiration().before(new Date());
         } catch (MalformedJwtException e) {
             log.error("Invalid JWT token: Malformed token - {}", e.getMessage());
             return false;
@@ -131,13 +120,9 @@ public class JwtUtil {
     }
 
     /**
-     * Extract all claims from token using modern JJWT parser
+     * Extract all claims from token using the shared, cached parser
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtClaimsCache.parse(token);
     }
 }
@@ -0,0 +1,34 @@
+-- V54: Slot claims guarding against double-booked grounds across nodes
+-- Each active booking claims one row per 15-minute cell it covers
+
+CREATE TABLE IF NOT EXISTS booking_slot_claims (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    ground_id VARCHAR(50) NOT NULL,
+    booking_date DATE NOT NULL,
+    slot_cell SMALLINT NOT NULL,
+    booking_id BIGINT NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_slot_claim_booking
+        FOREIGN KEY (booking_id)
+        REFERENCES bookings(id)
+        ON DELETE CASCADE,
+
+    UNIQUE KEY uk_slot_claim (ground_id, booking_date, slot_cell),
+    INDEX idx_slot_claim_booking (booking_id)
+);
+
+-- Backfill claims for upcoming active bookings; overlapping legacy rows keep the first claim
+INSERT IGNORE INTO booking_slot_claims (ground_id, booking_date, slot_cell, booking_id, created_at)
+WITH RECURSIVE cells (n) AS (
+    SELECT 0
+    UNION ALL
+    SELECT n + 1 FROM cells WHERE n < 95
+)
+SELECT b.ground_id, b.booking_date, cells.n, b.id, NOW()
+FROM bookings b
+JOIN cells
+  ON cells.n >= FLOOR(TIME_TO_SEC(b.start_time) / 900)
+ AND cells.n < CEIL(TIME_TO_SEC(b.end_time) / 900)
+WHERE b.status <> 'CANCELLED'
+  AND b.booking_date >= CURDATE();
@@ -0,0 +1,17 @@
+-- V55: Composite indexes for the hot booking access paths
+-- Kept as plain CREATE INDEX statements so BookingQueryPlanTest can replay them on H2
+
+-- findConflictingBookings / findByBookingDateAndGroundId / slot occupancy loads
+CREATE INDEX idx_bookings_ground_date_time ON bookings (ground_id, booking_date, start_time, end_time);
+
+-- findByBookingDateAndBookingType
+CREATE INDEX idx_bookings_date_type ON bookings (booking_date, booking_type);
+
+-- findByCustomerEmailOrderByCreatedAtDesc
+CREATE INDEX idx_bookings_email_created ON bookings (customer_email, created_at);
+
+-- findByUserIdOrderByCreatedAtDesc
+CREATE INDEX idx_bookings_user_created ON bookings (user_id, created_at);
+
+-- Admin keyset pagination ordered by (created_at, id)
+CREATE INDEX idx_bookings_created_id ON bookings (created_at, id);
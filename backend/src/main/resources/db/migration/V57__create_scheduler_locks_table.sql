@@ -0,0 +1,12 @@
+-- V57: Row-based leader lock for scheduled maintenance jobs, and an expiry index
+-- so the email verification token sweep does not scan the table
+CREATE TABLE IF NOT EXISTS scheduler_locks (
+    name VARCHAR(64) PRIMARY KEY,
+    locked_until DATETIME NOT NULL,
+    locked_by VARCHAR(255),
+    locked_at DATETIME
+);
+
+INSERT IGNORE INTO scheduler_locks (name, locked_until) VALUES ('token-maintenance', '1970-01-01 00:00:00');
+
+CREATE INDEX idx_email_verification_expiry ON email_verification_tokens(expiry_date);
@@ -0,0 +1,24 @@
+-- V58: Durable, de-duplicated queue of received payment gateway webhooks
+CREATE TABLE IF NOT EXISTS payment_webhook_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    gateway VARCHAR(20) NOT NULL,
+    event_id VARCHAR(100) NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    payment_key VARCHAR(100) NOT NULL,
+    payload MEDIUMTEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME NOT NULL,
+    claim_token VARCHAR(36),
+    last_error VARCHAR(1000),
+    received_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at DATETIME,
+
+    UNIQUE KEY uk_payment_webhook_event (event_id),
+    INDEX idx_payment_webhook_due (status, next_attempt_at),
+    INDEX idx_payment_webhook_key (payment_key, status, id),
+    INDEX idx_payment_webhook_claim (claim_token)
+);
+
+-- Webhooks without a booking id in their notes are matched to bookings by payment id
+CREATE INDEX idx_bookings_payment_id ON bookings(payment_id);
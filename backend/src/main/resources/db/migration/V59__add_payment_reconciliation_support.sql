@@ -0,0 +1,4 @@
+-- V59: Index for paging bookings awaiting payment, and the reconciliation job's leader lock
+CREATE INDEX idx_bookings_payment_status_id ON bookings(payment_status, id);
+
+INSERT IGNORE INTO scheduler_locks (name, locked_until) VALUES ('payment-reconciliation', '1970-01-01 00:00:00');
@@ -0,0 +1,27 @@
+-- V60: Normalized (trimmed, lower-cased) names backing case-insensitive
+-- uniqueness of grounds and of nets within a ground, independent of collation
+ALTER TABLE grounds ADD COLUMN name_normalized VARCHAR(100);
+ALTER TABLE nets ADD COLUMN name_normalized VARCHAR(100);
+
+UPDATE grounds SET name_normalized = LOWER(TRIM(name));
+UPDATE nets SET name_normalized = LOWER(TRIM(name));
+
+-- Names that only differed by case or surrounding spaces keep their oldest row
+-- as the canonical one; later rows get a suffix so the unique index can be built
+UPDATE grounds g
+JOIN (SELECT name_normalized, MIN(id) AS keep_id FROM grounds
+      GROUP BY name_normalized HAVING COUNT(*) > 1) d
+  ON g.name_normalized = d.name_normalized AND g.id <> d.keep_id
+SET g.name_normalized = CONCAT(g.name_normalized, '#', g.id);
+
+UPDATE nets n
+JOIN (SELECT ground_id, name_normalized, MIN(id) AS keep_id FROM nets
+      GROUP BY ground_id, name_normalized HAVING COUNT(*) > 1) d
+  ON n.ground_id = d.ground_id AND n.name_normalized = d.name_normalized AND n.id <> d.keep_id
+SET n.name_normalized = CONCAT(n.name_normalized, '#', n.id);
+
+ALTER TABLE grounds MODIFY name_normalized VARCHAR(100) NOT NULL;
+ALTER TABLE nets MODIFY name_normalized VARCHAR(100) NOT NULL;
+
+CREATE UNIQUE INDEX uk_grounds_name_normalized ON grounds (name_normalized);
+CREATE UNIQUE INDEX uk_nets_ground_name_normalized ON nets (ground_id, name_normalized);
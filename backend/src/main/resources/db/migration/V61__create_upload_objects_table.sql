@@ -0,0 +1,14 @@
+-- V61: Registry of content-addressed uploads (one row per distinct SHA-256),
+-- used to deduplicate uploads and to garbage-collect files no longer referenced
+CREATE TABLE IF NOT EXISTS upload_objects (
+    sha256 CHAR(64) PRIMARY KEY,
+    path VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100),
+    size_bytes BIGINT NOT NULL,
+    created_at DATETIME NOT NULL,
+    last_referenced_at DATETIME NOT NULL
+);
+
+CREATE INDEX idx_upload_objects_last_referenced ON upload_objects(last_referenced_at);
+
+INSERT IGNORE INTO scheduler_locks (name, locked_until) VALUES ('upload-gc', '1970-01-01 00:00:00');
@@ -0,0 +1,7 @@
+-- V62: Last good result of each review source, so a cold start can serve
+-- reviews without waiting on a scrape
+CREATE TABLE IF NOT EXISTS review_snapshots (
+    source VARCHAR(32) PRIMARY KEY,
+    payload MEDIUMTEXT NOT NULL,
+    fetched_at DATETIME NOT NULL
+);
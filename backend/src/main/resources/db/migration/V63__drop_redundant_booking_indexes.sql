@@ -0,0 +1,67 @@
+-- V63: Drop single-column booking indexes that the V55 composites lead with
+-- idx_booking_date -> idx_bookings_date_type, idx_customer_email -> idx_bookings_email_created,
+-- idx_user_id -> idx_bookings_user_created, idx_ground_id -> idx_bookings_ground_date_time.
+
+SELECT CASE
+    WHEN EXISTS (
+        SELECT 1 FROM information_schema.statistics
+        WHERE table_schema = DATABASE()
+        AND table_name = 'bookings'
+        AND index_name = 'idx_booking_date'
+    ) THEN
+        'DROP INDEX idx_booking_date ON bookings'
+    ELSE
+        'SELECT ''idx_booking_date does not exist'''
+END INTO @drop_idx_booking_date_sql;
+
+PREPARE stmt1 FROM @drop_idx_booking_date_sql;
+EXECUTE stmt1;
+DEALLOCATE PREPARE stmt1;
+
+SELECT CASE
+    WHEN EXISTS (
+        SELECT 1 FROM information_schema.statistics
+        WHERE table_schema = DATABASE()
+        AND table_name = 'bookings'
+        AND index_name = 'idx_customer_email'
+    ) THEN
+        'DROP INDEX idx_customer_email ON bookings'
+    ELSE
+        'SELECT ''idx_customer_email does not exist'''
+END INTO @drop_idx_customer_email_sql;
+
+PREPARE stmt2 FROM @drop_idx_customer_email_sql;
+EXECUTE stmt2;
+DEALLOCATE PREPARE stmt2;
+
+SELECT CASE
+    WHEN EXISTS (
+        SELECT 1 FROM information_schema.statistics
+        WHERE table_schema = DATABASE()
+        AND table_name = 'bookings'
+        AND index_name = 'idx_user_id'
+    ) THEN
+        'DROP INDEX idx_user_id ON bookings'
+    ELSE
+        'SELECT ''idx_user_id does not exist'''
+END INTO @drop_idx_user_id_sql;
+
+PREPARE stmt3 FROM @drop_idx_user_id_sql;
+EXECUTE stmt3;
+DEALLOCATE PREPARE stmt3;
+
+SELECT CASE
+    WHEN EXISTS (
+        SELECT 1 FROM information_schema.statistics
+        WHERE table_schema = DATABASE()
+        AND table_name = 'bookings'
+        AND index_name = 'idx_ground_id'
+    ) THEN
+        'DROP INDEX idx_ground_id ON bookings'
+    ELSE
+        'SELECT ''idx_ground_id does not exist'''
+END INTO @drop_idx_ground_id_sql;
+
+PREPARE stmt4 FROM @drop_idx_ground_id_sql;
+EXECUTE stmt4;
+DEALLOCATE PREPARE stmt4;
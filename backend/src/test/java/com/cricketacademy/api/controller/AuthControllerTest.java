@@ -36,6 +36,9 @@ public class AuthControllerTest {
         @MockBean
         private com.cricketacademy.api.service.UserDetailsServiceImpl userDetailsService;
 
+        @MockBean
+        private com.cricketacademy.api.service.PrincipalCache principalCache;
+
         // Mock other required beans used by AuthController
         @MockBean
         private com.cricketacademy.api.service.EmailService emailService;
@@ -37,6 +37,9 @@ class CoachProgramControllerTest {
     @MockBean
     private com.cricketacademy.api.service.UserDetailsServiceImpl userDetailsService;
 
+    @MockBean
+    private com.cricketacademy.api.service.PrincipalCache principalCache;
+
     private AvailableProgram testProgram;
 
     @BeforeEach
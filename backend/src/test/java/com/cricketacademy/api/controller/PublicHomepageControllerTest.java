@@ -0,0 +1,66 @@
+package com.cricketacademy.api.controller;
+
+import com.cricketacademy.api.dto.StarPlayerDTO;
+import com.cricketacademy.api.service.HomepageContentService;
+import com.cricketacademy.api.service.HomepagePayloadCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PublicHomepageControllerTest {
+
+    private HomepageContentService service;
+    private HomepagePayloadCache payloadCache;
+    private PublicHomepageController controller;
+
+    @BeforeEach
+    void setUp() {
+        service = mock(HomepageContentService.class);
+        payloadCache = new HomepagePayloadCache(new ObjectMapper(), 300);
+        controller = new PublicHomepageController(service, payloadCache);
+        when(service.getHeroImageUrl()).thenReturn("/uploads/hero.jpg");
+        when(service.listPlayers()).thenReturn(List.of());
+    }
+
+    @Test
+    void firstRequestGetsTheBodyWithAnEtag() {
+        ResponseEntity<byte[]> response = controller.getHeroImageUrl(null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("/uploads/hero.jpg", new String(response.getBody(), StandardCharsets.UTF_8));
+        assertNotNull(response.getHeaders().getETag());
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void matchingEtagGetsNotModifiedWithoutABody() {
+        String etag = controller.getHeroImageUrl(null).getHeaders().getETag();
+
+        ResponseEntity<byte[]> response = controller.getHeroImageUrl(etag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(etag, response.getHeaders().getETag());
+        verify(service, times(1)).getHeroImageUrl();
+    }
+
+    @Test
+    void changedContentAfterInvalidateGetsTheNewBody() {
+        String etag = controller.getPlayers(null).getHeaders().getETag();
+        when(service.listPlayers()).thenReturn(List.of(new StarPlayerDTO()));
+
+        payloadCache.invalidate(HomepagePayloadCache.Section.PLAYERS);
+        ResponseEntity<byte[]> response = controller.getPlayers(etag);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(etag, response.getHeaders().getETag());
+    }
+}
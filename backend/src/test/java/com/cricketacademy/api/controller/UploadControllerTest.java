@@ -1,9 +1,15 @@
 package com.cricketacademy.api.controller;
 
+import com.cricketacademy.api.repository.UploadObjectRepository;
+import com.cricketacademy.api.service.ImageDerivativeService;
+import com.cricketacademy.api.service.RemoteFileFetcher;
+import com.cricketacademy.api.service.UploadStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -11,11 +17,18 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UploadController.class)
+@Import({ RemoteFileFetcher.class, UploadStore.class })
 public class UploadControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @MockBean
+    private UploadObjectRepository uploadObjectRepository;
+
+    @MockBean
+    private ImageDerivativeService imageDerivativeService;
+
     @BeforeEach
     public void setUp() {
         // Any setup code if needed
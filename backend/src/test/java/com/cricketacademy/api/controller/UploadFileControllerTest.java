@@ -0,0 +1,116 @@
+package com.cricketacademy.api.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UploadFileControllerTest {
+
+    private static final String HASH = "ab" + "1".repeat(62);
+    private static final String OBJECT_URL = "/uploads/objects/ab/" + HASH + ".txt";
+
+    @TempDir
+    Path uploadDir;
+
+    private UploadFileController controller;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        controller = new UploadFileController(uploadDir.toString(), 3600, 1024);
+        Files.createDirectories(uploadDir.resolve("objects/ab"));
+        Files.writeString(uploadDir.resolve("objects/ab/" + HASH + ".txt"), "0123456789");
+        Files.writeString(uploadDir.resolve("legacy.txt"), "legacy");
+        Files.writeString(uploadDir.resolve(".upload-1.tmp"), "partial");
+    }
+
+    @Test
+    void servesObjectsAsImmutable() throws Exception {
+        MockHttpServletResponse response = get(OBJECT_URL, null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+        assertEquals("\"" + HASH + "\"", response.getHeader("ETag"));
+        assertTrue(response.getHeader("Cache-Control").contains("immutable"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+    }
+
+    @Test
+    void servesOtherUploadsWithShortMaxAge() throws Exception {
+        MockHttpServletResponse response = get("/uploads/legacy.txt", null, null);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("max-age=3600, public", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void answersMatchingEtagWithNotModified() throws Exception {
+        MockHttpServletResponse response = get(OBJECT_URL, "If-None-Match", "W/\"" + HASH + "\"");
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void servesSingleRange() throws Exception {
+        MockHttpServletResponse response = get(OBJECT_URL, "Range", "bytes=2-4");
+
+        assertEquals(206, response.getStatus());
+        assertEquals("234", response.getContentAsString());
+        assertEquals("bytes 2-4/10", response.getHeader("Content-Range"));
+        assertEquals(3, response.getContentLengthLong());
+
+        assertEquals("789", get(OBJECT_URL, "Range", "bytes=-3").getContentAsString());
+        assertEquals(416, get(OBJECT_URL, "Range", "bytes=10-").getStatus());
+        assertEquals(200, get(OBJECT_URL, "Range", "bytes=0-1,4-5").getStatus());
+    }
+
+    @Test
+    void handsLargeBodiesToSendfile() throws Exception {
+        Path large = uploadDir.resolve("objects/ab/" + HASH + ".bin");
+        Files.write(large, new byte[4096]);
+        MockHttpServletRequest request = request("/uploads/objects/ab/" + HASH + ".bin");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=100-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.serve(request, response);
+
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(large.toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(100L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(4096L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    @Test
+    void refusesHiddenFilesAndTraversal() throws Exception {
+        assertEquals(404, get("/uploads/.upload-1.tmp", null, null).getStatus());
+        assertEquals(404, get("/uploads/objects/../legacy.txt", null, null).getStatus());
+        assertEquals(404, get("/uploads/objects/ab/missing.txt", null, null).getStatus());
+    }
+
+    private MockHttpServletResponse get(String path, String header, String value) throws Exception {
+        MockHttpServletRequest request = request(path);
+        if (header != null) {
+            request.addHeader(header, value);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        controller.serve(request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, path);
+        return request;
+    }
+}
@@ -0,0 +1,136 @@
+package com.cricketacademy.api.repository;
+
+import com.cricketacademy.api.dto.BookingFilterDTO;
+import com.cricketacademy.api.dto.BookingResponseDTO;
+import com.cricketacademy.api.entity.Booking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link BookingRepositoryCustomImpl#findAdminPage} against H2 in MySQL
+ * mode: keyset pages must come back newest first, break createdAt ties on id,
+ * and never repeat or skip a row; filters must combine.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking_admin_page;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BookingAdminPageTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> newestFirst = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // Two pairs share a createdAt so the id tie-break is exercised across page boundaries
+        long a = insert("G1", LocalDate.of(2026, 3, 10), "CONFIRMED", "PAID", T0);
+        long b = insert("G1", LocalDate.of(2026, 3, 11), "PENDING", "PENDING", T0.plusHours(1));
+        long c = insert("G2", LocalDate.of(2026, 3, 12), "CONFIRMED", "PAID", T0.plusHours(1));
+        long d = insert("G2", LocalDate.of(2026, 3, 13), "CANCELLED", "REFUNDED", T0.plusHours(2));
+        long e = insert("G1", LocalDate.of(2026, 3, 14), "CONFIRMED", "PENDING", T0.plusHours(3));
+        long f = insert("G1", LocalDate.of(2026, 3, 15), "CONFIRMED", "PAID", T0.plusHours(3));
+        newestFirst.addAll(List.of(f, e, d, c, b, a));
+    }
+
+    @Test
+    void walksAllRowsNewestFirstWithoutRepeatsOrGaps() {
+        List<Long> seen = new ArrayList<>();
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        for (int page = 0; page < 10; page++) {
+            List<BookingResponseDTO> rows = bookingRepository.findAdminPage(null, afterCreatedAt, afterId, 2);
+            if (rows.isEmpty()) {
+                break;
+            }
+            assertTrue(rows.size() <= 2);
+            rows.forEach(row -> seen.add(row.getId()));
+            BookingResponseDTO last = rows.get(rows.size() - 1);
+            afterCreatedAt = last.getCreatedAt();
+            afterId = last.getId();
+        }
+
+        assertEquals(newestFirst, seen);
+    }
+
+    @Test
+    void pageAfterCursorStartsBelowTheTiedRow() {
+        BookingResponseDTO first = bookingRepository.findAdminPage(null, null, null, 1).get(0);
+
+        List<BookingResponseDTO> next = bookingRepository.findAdminPage(null, first.getCreatedAt(), first.getId(), 10);
+
+        assertEquals(newestFirst.subList(1, newestFirst.size()), next.stream().map(BookingResponseDTO::getId).toList());
+    }
+
+    @Test
+    void filtersCombineAndDateRangeIsInclusive() {
+        BookingFilterDTO filter = new BookingFilterDTO("CONFIRMED", "PAID", LocalDate.of(2026, 3, 10),
+                LocalDate.of(2026, 3, 15), "G1");
+
+        List<BookingResponseDTO> rows = bookingRepository.findAdminPage(filter, null, null, 10);
+
+        assertEquals(List.of(newestFirst.get(0), newestFirst.get(5)),
+                rows.stream().map(BookingResponseDTO::getId).toList());
+        assertTrue(rows.stream().allMatch(row -> "G1".equals(row.getGroundId())
+                && "CONFIRMED".equals(row.getStatus()) && "PAID".equals(row.getPaymentStatus())));
+    }
+
+    @Test
+    void filtersApplyTogetherWithTheCursor() {
+        BookingFilterDTO filter = new BookingFilterDTO(null, null, LocalDate.of(2026, 3, 11),
+                LocalDate.of(2026, 3, 14), null);
+
+        List<BookingResponseDTO> firstPage = bookingRepository.findAdminPage(filter, null, null, 2);
+        BookingResponseDTO last = firstPage.get(firstPage.size() - 1);
+        List<BookingResponseDTO> secondPage = bookingRepository.findAdminPage(filter, last.getCreatedAt(),
+                last.getId(), 2);
+
+        assertEquals(newestFirst.subList(1, 3), firstPage.stream().map(BookingResponseDTO::getId).toList());
+        assertEquals(newestFirst.subList(3, 5), secondPage.stream().map(BookingResponseDTO::getId).toList());
+    }
+
+    private long insert(String groundId, LocalDate date, String status, String paymentStatus,
+            LocalDateTime createdAt) {
+        Booking booking = new Booking();
+        booking.setBookingType("ground");
+        booking.setGroundId(groundId);
+        booking.setGroundName("Ground " + groundId);
+        booking.setBookingDate(date);
+        booking.setStartTime(LocalTime.of(10, 0));
+        booking.setEndTime(LocalTime.of(11, 0));
+        booking.setPrice(1500.0);
+        booking.setCustomerName("Test Customer");
+        booking.setCustomerEmail("customer@example.com");
+        booking.setCustomerPhone("9876543210");
+        booking.setStatus(status);
+        booking.setPaymentStatus(paymentStatus);
+        booking.setPaymentId(UUID.randomUUID().toString());
+        Long id = bookingRepository.saveAndFlush(booking).getId();
+        // createdAt is stamped by @PrePersist, so pin it afterwards
+        jdbcTemplate.update("UPDATE bookings SET created_at = ? WHERE id = ?", createdAt, id);
+        return id;
+    }
+}
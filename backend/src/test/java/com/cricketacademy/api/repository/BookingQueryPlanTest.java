@@ -0,0 +1,154 @@
+package com.cricketacademy.api.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs each hot {@link BookingRepository} query through Hibernate against H2 in
+ * MySQL mode, captures the SQL Hibernate actually sends, and EXPLAINs that
+ * statement. The bookings table comes from the entity mapping and its indexes
+ * from the V55 and V59 migrations, so the single-column indexes dropped in V63
+ * are absent. Fails when a query falls back to a full table scan, e.g. because
+ * an index was dropped or the mapping or query changed shape.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking_plans;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.cricketacademy.api.repository.BookingQueryPlanTest$SqlCapture"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingQueryPlanTest {
+
+    private static final List<String> INDEX_MIGRATIONS = List.of(
+            "db/migration/V55__add_booking_composite_indexes.sql",
+            "db/migration/V59__add_payment_reconciliation_support.sql");
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 14);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void createIndexes() throws IOException {
+        for (String migration : INDEX_MIGRATIONS) {
+            for (String ddl : readStatements(migration)) {
+                if (ddl.toUpperCase().startsWith("CREATE INDEX")) {
+                    jdbcTemplate.execute(ddl);
+                }
+            }
+        }
+    }
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                query("findConflictingBookings", repository -> repository.findConflictingBookings(DATE, "G1",
+                        LocalTime.of(10, 0), LocalTime.of(11, 0))),
+                query("findByBookingDateAndGroundId", repository -> repository.findByBookingDateAndGroundId(DATE, "G1")),
+                query("findByBookingDateAndBookingType",
+                        repository -> repository.findByBookingDateAndBookingType(DATE, "ground")),
+                query("findByCustomerEmailOrderByCreatedAtDesc",
+                        repository -> repository.findByCustomerEmailOrderByCreatedAtDesc("a@b.com")),
+                query("findByUserIdOrderByCreatedAtDesc", repository -> repository.findByUserIdOrderByCreatedAtDesc(42L)),
+                query("getBookedTimeSlots", repository -> repository.getBookedTimeSlots(DATE, "G1")));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void queryUsesAnIndex(String repositoryMethod, Consumer<BookingRepository> call) {
+        SqlCapture.STATEMENTS.clear();
+        call.accept(bookingRepository);
+        List<String> statements = SqlCapture.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase().contains("bookings"))
+                .toList();
+        assertEquals(1, statements.size(), repositoryMethod + " issued " + statements);
+
+        String plan = explain(statements.get(0));
+
+        assertFalse(plan.contains("tableScan"), repositoryMethod + " does a full scan:\n" + plan);
+        assertTrue(plan.toUpperCase().contains("IDX_BOOKINGS_"), repositoryMethod + " uses no booking index:\n" + plan);
+    }
+
+    private static Arguments query(String repositoryMethod, Consumer<BookingRepository> call) {
+        return Arguments.of(repositoryMethod, call);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                // The plan is fixed when the statement is prepared; values only need to be bound
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setNull(i, Types.NULL);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+
+    private static String[] readStatements(String resource) throws IOException {
+        try (InputStream in = BookingQueryPlanTest.class.getClassLoader().getResourceAsStream(resource)) {
+            assertNotNull(in, "Missing migration " + resource);
+            String sql = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .filter(line -> !line.trim().startsWith("--"))
+                    .collect(Collectors.joining("\n"));
+            return Arrays.stream(sql.split(";"))
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .toArray(String[]::new);
+        }
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares. Registered by class name,
+     * so Hibernate creates the instance.
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
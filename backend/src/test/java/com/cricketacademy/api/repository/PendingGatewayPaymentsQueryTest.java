@@ -0,0 +1,67 @@
+package com.cricketacademy.api.repository;
+
+import com.cricketacademy.api.entity.Booking;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link BookingRepository#findPendingGatewayPayments} against H2 in MySQL
+ * mode: only references with the gateway's "order_" prefix are picked up, the
+ * same ones payment reconciliation knows how to settle.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pending_gateway_payments;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PendingGatewayPaymentsQueryTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void onlyOrderReferencesArePickedUp() {
+        long order = save("order_Nx81", "PENDING");
+        save("orderless-reference", "PENDING");
+        save("order", "PENDING");
+        save("pay_Nx81", "PENDING");
+        save("order_cancelled", "CANCELLED");
+
+        List<Booking> pending = bookingRepository.findPendingGatewayPayments(0L, LocalDateTime.now().plusHours(1),
+                PageRequest.of(0, 10));
+
+        assertEquals(List.of(order), pending.stream().map(Booking::getId).toList());
+    }
+
+    private long save(String paymentId, String status) {
+        Booking booking = new Booking();
+        booking.setBookingType("ground");
+        booking.setGroundId("G1");
+        booking.setGroundName("Main Ground");
+        booking.setBookingDate(LocalDate.of(2026, 3, 14));
+        booking.setStartTime(LocalTime.of(10, 0));
+        booking.setEndTime(LocalTime.of(11, 0));
+        booking.setPrice(500.0);
+        booking.setCustomerName("Test Customer");
+        booking.setCustomerEmail("customer@example.com");
+        booking.setCustomerPhone("9876543210");
+        booking.setStatus(status);
+        booking.setPaymentStatus("PENDING");
+        booking.setPaymentId(paymentId);
+        return bookingRepository.saveAndFlush(booking).getId();
+    }
+}
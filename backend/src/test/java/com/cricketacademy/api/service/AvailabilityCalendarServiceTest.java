@@ -0,0 +1,111 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.dto.AvailabilityCalendarDTO;
+import com.cricketacademy.api.entity.Ground;
+import com.cricketacademy.api.entity.Net;
+import com.cricketacademy.api.repository.BookingRepository;
+import com.cricketacademy.api.repository.GroundRepository;
+import com.cricketacademy.api.repository.NetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AvailabilityCalendarServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 10, 19);
+
+    private BookingRepository bookingRepository;
+    private AvailabilityCalendarService service;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        GroundRepository groundRepository = mock(GroundRepository.class);
+        NetRepository netRepository = mock(NetRepository.class);
+
+        Ground ground = new Ground();
+        ground.setId(1L);
+        ground.setName("Main Ground");
+        Net net = new Net();
+        net.setId(1L);
+        net.setName("Net 1");
+        net.setGround(ground);
+        when(groundRepository.findAllActiveGrounds()).thenReturn(List.of(ground));
+        when(netRepository.findByIsAvailableTrue()).thenReturn(List.of(net));
+
+        service = new AvailabilityCalendarService(bookingRepository, groundRepository, netRepository);
+    }
+
+    @Test
+    void marksOverlappedSlotsPerFacilityAndDay() {
+        when(bookingRepository.findOccupiedIntervals(FROM, FROM.plusDays(6))).thenReturn(List.of(
+                interval("ground", "1", FROM, "09:00", "11:00"),
+                interval("net", "1", FROM.plusDays(2), "17:30", "18:30")));
+
+        AvailabilityCalendarDTO calendar = service.getCalendar(FROM, 7, null, null, false);
+
+        assertEquals(2, calendar.getFacilities().size());
+        // Slots 0 and 1 (09:00-11:00) on the ground, day 0
+        assertEquals(0b11, calendar.getOccupancy()[0][0]);
+        // A net with the same id as the ground is tracked separately
+        assertEquals(0, calendar.getOccupancy()[1][0]);
+        // 17:30-18:30 touches slots 8 (17:00-18:00) and 9 (18:00-19:00)
+        assertEquals((1 << 8) | (1 << 9), calendar.getOccupancy()[1][2]);
+        verify(bookingRepository, times(1)).findOccupiedIntervals(any(), any());
+    }
+
+    @Test
+    void packedEncodingHoldsTheSameBits() {
+        when(bookingRepository.findOccupiedIntervals(any(), any())).thenReturn(List.of(
+                interval("net", "1", FROM.plusDays(1), "10:00", "11:00")));
+
+        AvailabilityCalendarDTO calendar = service.getCalendar(FROM, 3, null, null, true);
+
+        assertNull(calendar.getOccupancy());
+        byte[] bytes = Base64.getDecoder().decode(calendar.getPacked());
+        assertEquals((2 * 3 * 10 + 7) / 8, bytes.length);
+        BitSet bits = BitSet.valueOf(bytes);
+        // Facility 1 (the net), day 1, slot 1
+        assertEquals((1 * 3 + 1) * 10 + 1, bits.nextSetBit(0));
+        assertEquals(1, bits.cardinality());
+    }
+
+    @Test
+    void rejectsRangesLongerThanAMonth() {
+        assertThrows(IllegalArgumentException.class, () -> service.getCalendar(FROM, 32, null, null, false));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    private static BookingRepository.OccupiedInterval interval(String type, String facilityId, LocalDate date,
+            String start, String end) {
+        return new BookingRepository.OccupiedInterval() {
+            public String getBookingType() {
+                return type;
+            }
+
+            public String getGroundId() {
+                return facilityId;
+            }
+
+            public LocalDate getBookingDate() {
+                return date;
+            }
+
+            public LocalTime getStartTime() {
+                return LocalTime.parse(start);
+            }
+
+            public LocalTime getEndTime() {
+                return LocalTime.parse(end);
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.dto.BookingResponseDTO;
+import com.cricketacademy.api.repository.BookingRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BookingExportServiceTest {
+
+    private BookingRepository bookingRepository;
+    private BookingExportService service;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        service = new BookingExportService(bookingRepository, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    void plainValuesAreWrittenAsIs() {
+        assertEquals("", BookingExportService.escapeCsv(null));
+        assertEquals("", BookingExportService.escapeCsv(""));
+        assertEquals("Main Ground", BookingExportService.escapeCsv("Main Ground"));
+    }
+
+    @Test
+    void separatorsQuotesAndLineBreaksAreQuoted() {
+        assertEquals("\"Ground 1, North\"", BookingExportService.escapeCsv("Ground 1, North"));
+        assertEquals("\"The \"\"Oval\"\"\"", BookingExportService.escapeCsv("The \"Oval\""));
+        assertEquals("\"line one\nline two\"", BookingExportService.escapeCsv("line one\nline two"));
+        assertEquals("\"a\r\nb\"", BookingExportService.escapeCsv("a\r\nb"));
+    }
+
+    @Test
+    void formulaPrefixesAreNeutralised() {
+        assertEquals("'=1+1", BookingExportService.escapeCsv("=1+1"));
+        assertEquals("'+91 98765 43210", BookingExportService.escapeCsv("+91 98765 43210"));
+        assertEquals("'-2+3", BookingExportService.escapeCsv("-2+3"));
+        assertEquals("'@SUM(A1:A2)", BookingExportService.escapeCsv("@SUM(A1:A2)"));
+        assertEquals("'\t=1", BookingExportService.escapeCsv("\t=1"));
+        // A formula is neutralised first, then quoted if it also contains separators or quotes
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\"",
+                BookingExportService.escapeCsv("=HYPERLINK(\"http://x\",\"y\")"));
+        assertEquals("\"'\rx\"", BookingExportService.escapeCsv("\rx"));
+    }
+
+    @Test
+    void formulaCharactersInsideAValueAreLeftAlone() {
+        assertEquals("a=b", BookingExportService.escapeCsv("a=b"));
+        assertEquals("customer@example.com", BookingExportService.escapeCsv("customer@example.com"));
+    }
+
+    @Test
+    void csvExportWritesHeaderAndEscapedRows() throws Exception {
+        BookingResponseDTO booking = new BookingResponseDTO();
+        booking.setId(7L);
+        booking.setBookingType("ground");
+        booking.setGroundId("G1");
+        booking.setGroundName("Ground 1, North");
+        booking.setBookingDate(LocalDate.of(2026, 3, 14));
+        booking.setStartTime(LocalTime.of(10, 0));
+        booking.setEndTime(LocalTime.of(11, 0));
+        booking.setPrice(1500.0);
+        booking.setCustomerName("=cmd|' /C calc'!A0");
+        booking.setCustomerEmail("customer@example.com");
+        booking.setCustomerPhone("+919876543210");
+        booking.setStatus("CONFIRMED");
+        booking.setPaymentStatus("PAID");
+        booking.setPaymentId("pay_1");
+        when(bookingRepository.streamAllForExport()).thenReturn(Stream.of(booking));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(1, service.export(BookingExportService.Format.CSV, out));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("id,bookingType,groundId,groundName,"));
+        assertEquals("7,ground,G1,\"Ground 1, North\",2026-03-14,10:00,11:00,,,1500.0,'=cmd|' /C calc'!A0,"
+                + "customer@example.com,'+919876543210,,CONFIRMED,PAID,pay_1,,", lines[1]);
+    }
+
+    @Test
+    void ndjsonExportWritesOneObjectPerLine() throws Exception {
+        BookingResponseDTO first = new BookingResponseDTO();
+        first.setId(1L);
+        BookingResponseDTO second = new BookingResponseDTO();
+        second.setId(2L);
+        when(bookingRepository.streamAllForExport()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(2, service.export(BookingExportService.Format.NDJSON, out));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(lines[1].startsWith("{\"id\":2,"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.Booking;
+import com.cricketacademy.api.repository.BookingRepository;
+import com.cricketacademy.api.repository.BookingSlotClaimRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BookingPaymentLinkTest {
+
+    private BookingRepository bookingRepository;
+    private EmailService emailService;
+    private BookingService service;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        emailService = mock(EmailService.class);
+        service = new BookingService(bookingRepository, emailService, mock(SlotOccupancyIndex.class),
+                new BookingSlotLocks(), mock(BookingSlotClaimRepository.class), mock(TransactionTemplate.class));
+        booking = new Booking();
+        booking.setId(7L);
+        booking.setCustomerEmail("customer@example.com");
+        booking.setPaymentStatus("PENDING");
+        booking.setPaymentId("order_customer");
+        when(bookingRepository.findById(7L)).thenReturn(Optional.of(booking));
+    }
+
+    @Test
+    void customerCanLinkANewOrder() {
+        service.linkPaymentReference(7L, "order_new", "Customer@Example.com");
+
+        assertEquals("order_new", booking.getPaymentId());
+        verify(bookingRepository).save(booking);
+    }
+
+    @Test
+    void anonymousCallerCannotReplaceTheOrder() {
+        service.linkPaymentReference(7L, "order_attacker", null);
+
+        assertEquals("order_customer", booking.getPaymentId());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void otherUserCannotReplaceTheOrder() {
+        service.linkPaymentReference(7L, "order_attacker", "someone@example.com");
+
+        assertEquals("order_customer", booking.getPaymentId());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void reconciledPaymentSendsTheConfirmationEmail() {
+        booking.setStatus("COMPLETED");
+        booking.setPaymentStatus("PAID");
+        Booking cancelled = new Booking();
+        cancelled.setId(8L);
+        cancelled.setCustomerEmail("other@example.com");
+        cancelled.setStatus("CANCELLED");
+        cancelled.setPaymentStatus("PAID");
+        when(bookingRepository.findAllById(List.of(7L, 8L))).thenReturn(List.of(booking, cancelled));
+
+        service.completeReconciledPayments(List.of(7L, 8L));
+
+        verify(emailService).send(eq("customer@example.com"), eq("Booking Confirmed - Cricket Academy"), anyString());
+        verify(emailService, never()).send(eq("other@example.com"), anyString(), anyString());
+    }
+}
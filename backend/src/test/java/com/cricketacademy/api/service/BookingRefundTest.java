@@ -0,0 +1,62 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.Booking;
+import com.cricketacademy.api.repository.BookingRepository;
+import com.cricketacademy.api.repository.BookingSlotClaimRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BookingRefundTest {
+
+    private BookingRepository bookingRepository;
+    private BookingService service;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        service = new BookingService(bookingRepository, mock(EmailService.class), mock(SlotOccupancyIndex.class),
+                new BookingSlotLocks(), mock(BookingSlotClaimRepository.class), mock(TransactionTemplate.class));
+        booking = new Booking();
+        booking.setPrice(1500.0);
+        booking.setPaymentStatus("PAID");
+        booking.setPaymentId("pay_1");
+        when(bookingRepository.findFirstByPaymentId("pay_1")).thenReturn(Optional.of(booking));
+    }
+
+    @Test
+    void fullRefundMarksTheBookingRefunded() {
+        service.recordRefund("pay_1", 150_000);
+
+        assertEquals("REFUNDED", booking.getPaymentStatus());
+        assertEquals(1500.0, booking.getRefundAmount());
+        verify(bookingRepository).save(booking);
+    }
+
+    @Test
+    void partialRefundsAccumulateUntilThePriceIsBack() {
+        service.recordRefund("pay_1", 50_000);
+
+        assertEquals("PARTIALLY_REFUNDED", booking.getPaymentStatus());
+        assertEquals(500.0, booking.getRefundAmount());
+
+        service.recordRefund("pay_1", 100_000);
+
+        assertEquals("REFUNDED", booking.getPaymentStatus());
+        assertEquals(1500.0, booking.getRefundAmount());
+    }
+
+    @Test
+    void refundForAnUnknownPaymentChangesNothing() {
+        service.recordRefund("pay_unknown", 150_000);
+
+        verify(bookingRepository, never()).save(any());
+    }
+}
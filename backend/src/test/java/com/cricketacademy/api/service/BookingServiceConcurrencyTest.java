@@ -0,0 +1,163 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.dto.BookingRequestDTO;
+import com.cricketacademy.api.entity.Booking;
+import com.cricketacademy.api.entity.BookingSlotClaim;
+import com.cricketacademy.api.repository.BookingRepository;
+import com.cricketacademy.api.repository.BookingSlotClaimRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Contention check for the reservation path: 500 concurrent requests spread
+ * over two simulated nodes that share one database must produce exactly one
+ * booking per slot.
+ */
+class BookingServiceConcurrencyTest {
+
+    private static final int REQUESTS = 500;
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 14);
+
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, Booking> pending = new ConcurrentHashMap<>();
+    private final List<Booking> committed = new ArrayList<>();
+    private final Set<String> claimedCells = ConcurrentHashMap.newKeySet();
+
+    private BookingService nodeA;
+    private BookingService nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = newNode();
+        nodeB = newNode();
+    }
+
+    @Test
+    void sameSlotIsBookedExactlyOnce() throws Exception {
+        List<Boolean> results = runConcurrently(i -> request("G1", "10:00", "11:00"));
+
+        assertEquals(1, results.stream().filter(Boolean::booleanValue).count());
+        synchronized (committed) {
+            assertEquals(1, committed.size());
+        }
+    }
+
+    @Test
+    void differentGroundsAllSucceed() throws Exception {
+        List<Boolean> results = runConcurrently(i -> request("G" + i, "10:00", "11:00"));
+
+        assertTrue(results.stream().allMatch(Boolean::booleanValue));
+        synchronized (committed) {
+            assertEquals(REQUESTS, committed.size());
+        }
+    }
+
+    private List<Boolean> runConcurrently(java.util.function.IntFunction<BookingRequestDTO> requests)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            BookingService node = i % 2 == 0 ? nodeA : nodeB;
+            BookingRequestDTO request = requests.apply(i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    node.createBooking(request);
+                    return true;
+                } catch (RuntimeException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        List<Boolean> results = new ArrayList<>();
+        for (Future<Boolean> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    private BookingService newNode() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(ids.incrementAndGet());
+            pending.put(booking.getId(), booking);
+            return booking;
+        });
+        when(bookingRepository.findByBookingDateAndGroundId(any(), any())).thenAnswer(invocation -> {
+            synchronized (committed) {
+                return committed.stream()
+                        .filter(b -> b.getBookingDate().equals(invocation.getArgument(0))
+                                && b.getGroundId().equals(invocation.getArgument(1)))
+                        .collect(Collectors.toList());
+            }
+        });
+
+        // Stands in for the unique key on booking_slot_claims shared by both nodes
+        BookingSlotClaimRepository claimRepository = mock(BookingSlotClaimRepository.class);
+        when(claimRepository.saveAllAndFlush(any(Iterable.class))).thenAnswer(invocation -> {
+            List<BookingSlotClaim> claims = new ArrayList<>();
+            ((Iterable<BookingSlotClaim>) invocation.getArgument(0)).forEach(claims::add);
+            List<String> taken = new ArrayList<>();
+            for (BookingSlotClaim claim : claims) {
+                String key = claim.getGroundId() + "|" + claim.getBookingDate() + "|" + claim.getSlotCell();
+                if (!claimedCells.add(key)) {
+                    claimedCells.removeAll(taken);
+                    throw new DataIntegrityViolationException("Duplicate entry for key 'uk_slot_claim'");
+                }
+                taken.add(key);
+            }
+            Booking booking = pending.remove(claims.get(0).getBookingId());
+            synchronized (committed) {
+                committed.add(booking);
+            }
+            return claims;
+        });
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        return new BookingService(bookingRepository, mock(EmailService.class),
+                new SlotOccupancyIndex(bookingRepository, 300), new BookingSlotLocks(),
+                claimRepository, transactionTemplate);
+    }
+
+    private BookingRequestDTO request(String groundId, String start, String end) {
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setBookingType("ground");
+        request.setGroundId(groundId);
+        request.setGroundName("Main Ground");
+        request.setBookingDate(DATE);
+        request.setStartTime(LocalTime.parse(start));
+        request.setEndTime(LocalTime.parse(end));
+        request.setPrice(1500.0);
+        request.setCustomerName("Test Customer");
+        request.setCustomerEmail("customer@example.com");
+        request.setCustomerPhone("9876543210");
+        return request;
+    }
+}
@@ -0,0 +1,215 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.dto.BookingRequestDTO;
+import com.cricketacademy.api.dto.BookingResponseDTO;
+import com.cricketacademy.api.dto.EnhancedBookingRequestDTO;
+import com.cricketacademy.api.entity.Booking;
+import com.cricketacademy.api.repository.AddOnServiceRepository;
+import com.cricketacademy.api.repository.BookingRepository;
+import com.cricketacademy.api.repository.BookingSlotClaimRepository;
+import com.cricketacademy.api.repository.PricingPackageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the booking paths against a real database (H2 in MySQL mode) with the
+ * booking_slot_claims unique key and its ON DELETE CASCADE foreign key, so a
+ * path that skips the claims or deletes outside one transaction shows up here.
+ * Two services with their own index and locks stand in for two nodes.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking_claims;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(statements = "ALTER TABLE booking_slot_claims ADD CONSTRAINT IF NOT EXISTS fk_slot_claim_booking "
+        + "FOREIGN KEY (booking_id) REFERENCES bookings(id) ON DELETE CASCADE")
+class BookingSlotClaimIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 14);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingSlotClaimRepository bookingSlotClaimRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private BookingService nodeA;
+    private BookingService nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = newNode();
+        nodeB = newNode();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingSlotClaimRepository.deleteAll();
+        bookingRepository.deleteAll();
+    }
+
+    @Test
+    void enhancedBookingClaimsItsCells() {
+        Booking booking = enhanced(nodeA).createEnhancedBooking(enhancedRequest("14:00", "15:00"));
+
+        assertNotNull(booking.getId());
+        assertEquals(4, bookingSlotClaimRepository.count());
+    }
+
+    @Test
+    void enhancedAndStandardBookingsCannotShareASlot() {
+        // Node B reads the day before node A books, so only the claims can stop it
+        assertTrue(nodeB.getAvailableTimeSlots(DATE, "G1").contains("10:00-11:00"));
+        enhanced(nodeA).createEnhancedBooking(enhancedRequest("10:00", "11:00"));
+
+        assertThrows(RuntimeException.class, () -> nodeB.createBooking(request("10:30", "11:30")));
+        assertThrows(RuntimeException.class,
+                () -> enhanced(nodeA).createEnhancedBooking(enhancedRequest("10:45", "11:15")));
+        assertEquals(1, bookingRepository.count());
+    }
+
+    @Test
+    void deleteRemovesTheClaimsSoTheSlotCanBeBookedAgain() {
+        BookingResponseDTO booking = nodeA.createBooking(request("16:00", "17:00"));
+
+        nodeA.deleteBooking(booking.getId());
+
+        assertEquals(0, bookingRepository.count());
+        assertEquals(0, bookingSlotClaimRepository.count());
+        assertNotNull(nodeB.createBooking(request("16:00", "17:00")).getId());
+    }
+
+    @Test
+    void approvedCancellationFreesTheSlot() {
+        BookingResponseDTO booking = nodeA.createBooking(request("12:00", "13:00"));
+
+        nodeA.approveCancellation(booking.getId(), 0.0);
+
+        assertEquals("CANCELLED", bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+        assertEquals(0, bookingSlotClaimRepository.count());
+        assertNotNull(nodeB.createBooking(request("12:00", "13:00")).getId());
+    }
+
+    @Test
+    void failedClaimReleaseRollsBackTheCancellation() {
+        BookingResponseDTO booking = nodeA.createBooking(request("13:00", "14:00"));
+        BookingSlotClaimRepository failingClaims = mock(BookingSlotClaimRepository.class,
+                AdditionalAnswers.delegatesTo(bookingSlotClaimRepository));
+        doThrow(new IllegalStateException("lock wait timeout")).when(failingClaims).deleteByBookingId(any());
+        BookingService node = new BookingService(bookingRepository, mock(EmailService.class),
+                new SlotOccupancyIndex(bookingRepository, 300), new BookingSlotLocks(), failingClaims,
+                new TransactionTemplate(transactionManager));
+
+        assertThrows(RuntimeException.class, () -> node.approveCancellation(booking.getId(), 0.0));
+
+        assertEquals("PENDING", bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+        assertEquals(4, bookingSlotClaimRepository.count());
+    }
+
+    @Test
+    void concurrentRequestsOnTwoNodesBookTheSlotOnce() throws Exception {
+        int requests = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            BookingService node = i % 2 == 0 ? nodeA : nodeB;
+            boolean viaEnhanced = i % 3 == 0;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    if (viaEnhanced) {
+                        enhanced(node).createEnhancedBooking(enhancedRequest("18:00", "19:00"));
+                    } else {
+                        node.createBooking(request("18:00", "19:00"));
+                    }
+                    return true;
+                } catch (RuntimeException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Boolean> future : futures) {
+            succeeded += future.get(30, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(1, succeeded);
+        assertEquals(1, bookingRepository.count());
+        assertEquals(4, bookingSlotClaimRepository.count());
+    }
+
+    private BookingService newNode() {
+        return new BookingService(bookingRepository, mock(EmailService.class),
+                new SlotOccupancyIndex(bookingRepository, 300), new BookingSlotLocks(),
+                bookingSlotClaimRepository, new TransactionTemplate(transactionManager));
+    }
+
+    private EnhancedBookingService enhanced(BookingService node) {
+        return new EnhancedBookingService(mock(PricingPackageRepository.class), mock(AddOnServiceRepository.class),
+                new SlotOccupancyIndex(bookingRepository, 300), mock(PriceQuoteEngine.class), node);
+    }
+
+    private BookingRequestDTO request(String start, String end) {
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setBookingType("ground");
+        request.setGroundId("G1");
+        request.setGroundName("Main Ground");
+        request.setBookingDate(DATE);
+        request.setStartTime(LocalTime.parse(start));
+        request.setEndTime(LocalTime.parse(end));
+        request.setPrice(1500.0);
+        request.setCustomerName("Test Customer");
+        request.setCustomerEmail("customer@example.com");
+        request.setCustomerPhone("9876543210");
+        return request;
+    }
+
+    private EnhancedBookingRequestDTO enhancedRequest(String start, String end) {
+        EnhancedBookingRequestDTO request = new EnhancedBookingRequestDTO();
+        request.setBookingType("ground");
+        request.setFacilityId("G1");
+        request.setFacilityName("Main Ground");
+        request.setBookingDate(DATE);
+        request.setStartTime(LocalTime.parse(start));
+        request.setEndTime(LocalTime.parse(end));
+        request.setTotalPrice(1500.0);
+        request.setCustomerName("Test Customer");
+        request.setCustomerEmail("customer@example.com");
+        request.setCustomerPhone("9876543210");
+        return request;
+    }
+}
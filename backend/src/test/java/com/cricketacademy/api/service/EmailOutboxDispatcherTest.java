@@ -0,0 +1,147 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.EmailOutboxMessage;
+import com.cricketacademy.api.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EmailOutboxDispatcherTest {
+
+    private EmailOutboxRepository repository;
+    private JavaMailSender mailSender;
+    private SimpleMeterRegistry meterRegistry;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(EmailOutboxRepository.class);
+        mailSender = mock(JavaMailSender.class);
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new EmailOutboxDispatcher(repository, mailSender, meterRegistry,
+                "no-reply@test.com", 50, 1, 3, 30, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void sendsWholeBatchInOneCallAndMarksItSent() {
+        EmailOutboxMessage first = message(1L, "a@test.com", 0);
+        EmailOutboxMessage second = message(2L, "b@test.com", 0);
+
+        dispatcher.deliver(new EmailOutboxDispatcher.Claim("token", List.of(first, second)));
+
+        ArgumentCaptor<MimeMessage[]> sent = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(mailSender, times(1)).send(sent.capture());
+        assertEquals(2, sent.getValue().length);
+        verify(repository).markSent(eq(List.of(1L, 2L)), eq("token"), eq(EmailOutboxMessage.Status.SENT),
+                any(LocalDateTime.class));
+        verify(repository, never()).saveAll(anyList());
+        assertEquals(2.0, meterRegistry.counter("email.outbox.sent").count());
+    }
+
+    @Test
+    void failedMessageIsRetriedWithBackoff() {
+        EmailOutboxMessage ok = message(1L, "a@test.com", 1);
+        EmailOutboxMessage bad = message(2L, "bad@test.com", 1);
+        doAnswer(invocation -> {
+            MimeMessage[] messages = (MimeMessage[]) invocation.getRawArguments()[0];
+            Map<Object, Exception> failed = new LinkedHashMap<>();
+            failed.put(messages[1], new RuntimeException("550 mailbox unavailable"));
+            throw new MailSendException(failed);
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.deliver(new EmailOutboxDispatcher.Claim("token", List.of(ok, bad)));
+
+        verify(repository).markSent(eq(List.of(1L)), eq("token"), eq(EmailOutboxMessage.Status.SENT),
+                any(LocalDateTime.class));
+        verify(repository).saveAll(List.of(bad));
+        assertEquals(EmailOutboxMessage.Status.PENDING, bad.getStatus());
+        assertEquals(1, bad.getAttempts());
+        assertTrue(bad.getNextAttemptAt().isAfter(before.plusSeconds(29)));
+        assertEquals("550 mailbox unavailable", bad.getLastError());
+    }
+
+    @Test
+    void messageFailsPermanentlyAfterMaxAttempts() {
+        EmailOutboxMessage bad = message(1L, "bad@test.com", 3);
+        doThrow(new MailSendException("Connection refused")).when(mailSender).send(any(MimeMessage[].class));
+
+        dispatcher.deliver(new EmailOutboxDispatcher.Claim("token", List.of(bad)));
+
+        assertEquals(EmailOutboxMessage.Status.FAILED, bad.getStatus());
+        assertEquals(3, bad.getAttempts());
+        verify(repository, never()).markSent(anyCollection(), anyString(), any(), any());
+        assertEquals(1.0, meterRegistry.counter("email.outbox.failed").count());
+    }
+
+    @Test
+    void failureOfOneOfTwoIdenticalMessagesOnlyRetriesThatOne() {
+        EmailOutboxMessage first = message(1L, "same@test.com", 1);
+        EmailOutboxMessage second = message(2L, "same@test.com", 1);
+        doAnswer(invocation -> {
+            MimeMessage[] messages = (MimeMessage[]) invocation.getRawArguments()[0];
+            Map<Object, Exception> failed = new LinkedHashMap<>();
+            failed.put(messages[1], new RuntimeException("452 too many recipients"));
+            throw new MailSendException(failed);
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        dispatcher.deliver(new EmailOutboxDispatcher.Claim("token", List.of(first, second)));
+
+        verify(repository).markSent(eq(List.of(1L)), eq("token"), eq(EmailOutboxMessage.Status.SENT),
+                any(LocalDateTime.class));
+        verify(repository).saveAll(List.of(second));
+        assertEquals(EmailOutboxMessage.Status.SENDING, first.getStatus());
+        assertEquals(EmailOutboxMessage.Status.PENDING, second.getStatus());
+    }
+
+    @Test
+    void claimCountsTheAttemptAndFailsAbandonedLastAttempts() {
+        when(repository.failExpiredLeases(eq(EmailOutboxMessage.Status.SENDING), eq(EmailOutboxMessage.Status.FAILED),
+                anyString(), any(LocalDateTime.class), eq(3))).thenReturn(2);
+        when(repository.findDueIds(anyCollection(), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(5L));
+        EmailOutboxMessage claimed = message(5L, "a@test.com", 1);
+        when(repository.findByClaimToken(anyString())).thenReturn(List.of(claimed));
+
+        EmailOutboxDispatcher.Claim claim = dispatcher.claimBatch();
+
+        assertEquals(List.of(claimed), claim.messages());
+        verify(repository).claim(eq(List.of(5L)), anyCollection(), eq(EmailOutboxMessage.Status.SENDING),
+                eq(claim.token()), any(LocalDateTime.class), any(LocalDateTime.class), eq(3));
+        assertEquals(2.0, meterRegistry.counter("email.outbox.failed").count());
+    }
+
+    private EmailOutboxMessage message(Long id, String recipient, int attempts) {
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setId(id);
+        message.setRecipient(recipient);
+        message.setSubject("Subject");
+        message.setBody("Body");
+        message.setStatus(EmailOutboxMessage.Status.SENDING);
+        message.setAttempts(attempts);
+        message.setClaimToken("token");
+        return message;
+    }
+}
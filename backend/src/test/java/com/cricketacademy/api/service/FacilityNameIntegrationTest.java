@@ -0,0 +1,134 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.dto.NetRequestDTO;
+import com.cricketacademy.api.entity.Ground;
+import com.cricketacademy.api.entity.Net;
+import com.cricketacademy.api.repository.BookingRepository;
+import com.cricketacademy.api.repository.GroundRepository;
+import com.cricketacademy.api.repository.NetRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs facility renames against the normalized-name unique indexes (H2 in
+ * MySQL mode). Rows that V60 suffixed with "#id" because they duplicated an
+ * older name are recreated here with plain SQL, as the migration left them.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:facility_names;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class FacilityNameIntegrationTest {
+
+    @Autowired
+    private GroundRepository groundRepository;
+    @Autowired
+    private NetRepository netRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private GroundService groundService;
+    private NetService netService;
+    private Ground ground;
+
+    @BeforeEach
+    void setUp() {
+        groundService = new GroundService(groundRepository);
+        netService = new NetService(netRepository, groundRepository, new ObjectMapper(),
+                mock(BookingRepository.class));
+        ground = groundService.createGround(ground("Main Ground"));
+    }
+
+    @Test
+    void legacyDuplicateNetCanBeEditedAndThenRenamed() {
+        netService.createNet(netRequest("Net A", "Canonical"), ground.getId());
+        Long legacyId = netService.createNet(netRequest("Net B", "Legacy"), ground.getId()).getId();
+        jdbcTemplate.update("UPDATE nets SET name = 'net a ', name_normalized = ? WHERE id = ?",
+                "net a#" + legacyId, legacyId);
+        testEntityManager.clear();
+
+        netService.updateNet(legacyId, netRequest("net a ", "Edited"));
+        assertEquals("net a#" + legacyId, normalizedNet(legacyId));
+
+        netService.updateNet(legacyId, netRequest("Net C", "Renamed"));
+        assertEquals("net c", normalizedNet(legacyId));
+    }
+
+    @Test
+    void legacyDuplicateGroundCanBeEditedButNotRenamedOntoATakenName() {
+        groundService.createGround(ground("Third Ground"));
+        Ground legacy = groundService.createGround(ground("Second Ground"));
+        jdbcTemplate.update("UPDATE grounds SET name = 'MAIN GROUND', name_normalized = ? WHERE id = ?",
+                "main ground#" + legacy.getId(), legacy.getId());
+        testEntityManager.clear();
+
+        Ground edited = ground("MAIN GROUND");
+        edited.setDescription("Edited");
+        groundService.updateGround(legacy.getId(), edited);
+        assertEquals("main ground#" + legacy.getId(), normalizedGround(legacy.getId()));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> groundService.updateGround(legacy.getId(), ground("third ground ")));
+    }
+
+    @Test
+    void onlyTheNameIndexCountsAsADuplicateName() {
+        DataIntegrityViolationException duplicate = assertThrows(DataIntegrityViolationException.class,
+                () -> groundRepository.saveAndFlush(ground(" main ground")));
+        assertTrue(GroundService.violatesIndex(duplicate, Ground.NAME_INDEX));
+
+        testEntityManager.clear();
+        DataIntegrityViolationException missingPrice = assertThrows(DataIntegrityViolationException.class,
+                () -> groundRepository.saveAndFlush(ground("Priceless Ground", null)));
+        assertFalse(GroundService.violatesIndex(missingPrice, Ground.NAME_INDEX));
+    }
+
+    private String normalizedNet(Long id) {
+        netRepository.flush();
+        return jdbcTemplate.queryForObject("SELECT name_normalized FROM nets WHERE id = ?", String.class, id);
+    }
+
+    private String normalizedGround(Long id) {
+        groundRepository.flush();
+        return jdbcTemplate.queryForObject("SELECT name_normalized FROM grounds WHERE id = ?", String.class, id);
+    }
+
+    private static Ground ground(String name) {
+        return ground(name, new BigDecimal("1500"));
+    }
+
+    private static Ground ground(String name, BigDecimal pricePerHour) {
+        Ground ground = new Ground();
+        ground.setName(name);
+        ground.setPricePerHour(pricePerHour);
+        return ground;
+    }
+
+    private static NetRequestDTO netRequest(String name, String description) {
+        NetRequestDTO request = new NetRequestDTO();
+        request.setName(name);
+        request.setDescription(description);
+        request.setPricePerHour(new BigDecimal("500"));
+        request.setIsAvailable(true);
+        return request;
+    }
+}
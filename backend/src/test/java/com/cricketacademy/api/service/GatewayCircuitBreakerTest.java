@@ -0,0 +1,55 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.exception.PaymentGatewayException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayCircuitBreakerTest {
+
+    @Test
+    void opensAfterConsecutiveFailuresAndFailsFast() {
+        GatewayCircuitBreaker breaker = new GatewayCircuitBreaker("Test", 3, 60_000);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(PaymentGatewayException.class, () -> breaker.call(() -> {
+                calls.incrementAndGet();
+                throw new PaymentGatewayException("timeout");
+            }));
+        }
+
+        assertTrue(breaker.isOpen());
+        assertThrows(PaymentGatewayException.class, () -> breaker.call(calls::incrementAndGet));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void rejectedRequestsDoNotOpenTheCircuit() {
+        GatewayCircuitBreaker breaker = new GatewayCircuitBreaker("Test", 2, 60_000);
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(IllegalArgumentException.class, () -> breaker.call(() -> {
+                throw new IllegalArgumentException("bad amount");
+            }));
+        }
+
+        assertFalse(breaker.isOpen());
+    }
+
+    @Test
+    void successfulProbeClosesTheCircuit() throws InterruptedException {
+        GatewayCircuitBreaker breaker = new GatewayCircuitBreaker("Test", 1, 10);
+        assertThrows(PaymentGatewayException.class, () -> breaker.call(() -> {
+            throw new PaymentGatewayException("down");
+        }));
+        assertTrue(breaker.isOpen());
+
+        Thread.sleep(20);
+
+        assertEquals("ok", breaker.call(() -> "ok"));
+        assertFalse(breaker.isOpen());
+    }
+}
@@ -0,0 +1,145 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.ReviewSnapshot;
+import com.cricketacademy.api.repository.ReviewSnapshotRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GoogleReviewServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ReviewSnapshotRepository reviewSnapshotRepository;
+    private FakeScraper scraper;
+    private GoogleReviewService service;
+
+    @BeforeEach
+    void setUp() {
+        reviewSnapshotRepository = mock(ReviewSnapshotRepository.class);
+        when(reviewSnapshotRepository.findById(GoogleReviewService.SOURCE)).thenReturn(Optional.empty());
+        scraper = new FakeScraper();
+        service = new GoogleReviewService(scraper, reviewSnapshotRepository, objectMapper, 60, 15, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void refreshStoresAndPersistsScrapedReviews() throws Exception {
+        scraper.reviews = reviews("A", "B", "C");
+
+        assertTrue(service.refresh());
+
+        assertEquals(scraper.reviews, service.getGoogleReviews());
+        ArgumentCaptor<ReviewSnapshot> saved = ArgumentCaptor.forClass(ReviewSnapshot.class);
+        verify(reviewSnapshotRepository).save(saved.capture());
+        assertEquals(scraper.reviews, objectMapper.readValue(saved.getValue().getPayload(), List.class));
+    }
+
+    @Test
+    void coldStartServesPersistedReviewsWithoutScraping() throws Exception {
+        List<Map<String, Object>> stored = reviews("Stored 1", "Stored 2", "Stored 3");
+        ReviewSnapshot snapshot = new ReviewSnapshot();
+        snapshot.setSource(GoogleReviewService.SOURCE);
+        snapshot.setPayload(objectMapper.writeValueAsString(stored));
+        snapshot.setFetchedAt(LocalDateTime.now().minusMinutes(5));
+        when(reviewSnapshotRepository.findById(GoogleReviewService.SOURCE)).thenReturn(Optional.of(snapshot));
+
+        assertEquals(stored, service.getGoogleReviews());
+        assertEquals(stored, service.getGoogleReviews());
+        verify(reviewSnapshotRepository, times(1)).findById(GoogleReviewService.SOURCE);
+        assertEquals(0, scraper.calls.get());
+    }
+
+    @Test
+    void staleReviewsAreServedWhileRefreshingInBackground() throws Exception {
+        ReviewSnapshot snapshot = new ReviewSnapshot();
+        snapshot.setSource(GoogleReviewService.SOURCE);
+        snapshot.setPayload(objectMapper.writeValueAsString(reviews("Old 1", "Old 2", "Old 3")));
+        snapshot.setFetchedAt(LocalDateTime.now().minusHours(2));
+        when(reviewSnapshotRepository.findById(GoogleReviewService.SOURCE)).thenReturn(Optional.of(snapshot));
+        scraper.reviews = reviews("New 1", "New 2", "New 3");
+        scraper.release = new CountDownLatch(1);
+
+        // Answered from the stale copy while the scraper is still blocked
+        assertEquals("Old 1", service.getGoogleReviews().get(0).get("name"));
+        scraper.release.countDown();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!"New 1".equals(service.getGoogleReviews().get(0).get("name"))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("New 1", service.getGoogleReviews().get(0).get("name"));
+        assertEquals(1, scraper.calls.get());
+    }
+
+    @Test
+    void failedOrThinScrapeKeepsCurrentReviews() {
+        scraper.reviews = reviews("A", "B", "C");
+        assertTrue(service.refresh());
+
+        scraper.reviews = reviews("Only one");
+        assertFalse(service.refresh());
+        scraper.failure = new IOException("timed out");
+        assertFalse(service.refresh());
+
+        assertEquals(reviews("A", "B", "C"), service.getGoogleReviews());
+        verify(reviewSnapshotRepository, times(1)).save(any());
+    }
+
+    @Test
+    void servesFallbackBeforeAnyScrapeSucceeds() {
+        scraper.failure = new IOException("blocked");
+
+        assertFalse(service.getGoogleReviews().isEmpty());
+    }
+
+    private static List<Map<String, Object>> reviews(String... names) {
+        return Arrays.stream(names)
+                .map(name -> Map.<String, Object>of("name", name, "rating", 5, "comment", "Great", "photo", "",
+                        "date", "2026-10-01"))
+                .toList();
+    }
+
+    private static class FakeScraper implements ReviewScraper {
+        final AtomicInteger calls = new AtomicInteger();
+        volatile List<Map<String, Object>> reviews = List.of();
+        volatile IOException failure;
+        volatile CountDownLatch release;
+
+        @Override
+        public List<Map<String, Object>> fetchReviews() throws IOException {
+            calls.incrementAndGet();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return reviews;
+        }
+    }
+}
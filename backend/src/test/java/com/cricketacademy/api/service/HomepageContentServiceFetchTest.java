@@ -0,0 +1,118 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.dto.StarPlayerDTO;
+import com.cricketacademy.api.entity.StarPlayer;
+import com.cricketacademy.api.entity.StarPlayerStat;
+import com.cricketacademy.api.entity.StarPlayerTournament;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the StarPlayer fetch plan: listing players must cost a constant number
+ * of statements rather than one query per collection per player.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:star_players;MODE=MySQL;NON_KEYWORDS=YEAR,MONTH;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ HomepageContentService.class, HomepagePayloadCache.class, JacksonAutoConfiguration.class })
+class HomepageContentServiceFetchTest {
+
+    private static final int PLAYERS = 200;
+
+    @Autowired
+    private HomepageContentService service;
+
+    @MockBean
+    private ImageDerivativeService imageDerivativeService;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void seedPlayers() {
+        for (int i = 0; i < PLAYERS; i++) {
+            StarPlayer player = new StarPlayer();
+            player.setName("Player " + i);
+            player.setSortOrder(i);
+            player.getAchievements().add("Achievement " + i);
+            player.getPlayerType().add("STATE");
+            player.getRepresents().add("Tamil Nadu");
+            for (String year : List.of("2022", "2023")) {
+                StarPlayerStat stat = new StarPlayerStat(null, player, year, 100, 5, 10, 0, 1, 120.0, 6.5, 35.0);
+                player.getStats().add(stat);
+                StarPlayerTournament tournament = new StarPlayerTournament(null, player, "Cup " + year, "May", year,
+                        50, 2, 3);
+                player.getTournaments().add(tournament);
+            }
+            testEntityManager.persist(player);
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void listPlayersUsesConstantNumberOfStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<StarPlayerDTO> players = service.listPlayers();
+
+        assertEquals(PLAYERS, players.size());
+        assertEquals(2, players.get(PLAYERS - 1).getTournaments().size());
+        // One query for the players plus one per collection
+        assertTrue(statistics.getPrepareStatementCount() <= 6,
+                "Expected at most 6 statements but was " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updatePlayerOnlyWritesChangedRows() {
+        Long id = testEntityManager.getEntityManager()
+                .createQuery("SELECT p.id FROM StarPlayer p WHERE p.name = 'Player 0'", Long.class)
+                .getSingleResult();
+        StarPlayerDTO dto = service.getPlayerById(id);
+        String year = dto.getStats().get(0).getYear();
+        dto.getStats().get(0).setRuns(999);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        service.updatePlayer(id, dto);
+        testEntityManager.flush();
+
+        assertEquals(0, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityDeleteCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(0, statistics.getCollectionRecreateCount());
+        testEntityManager.clear();
+        assertTrue(service.getPlayerById(id).getStats().stream()
+                .anyMatch(stat -> year.equals(stat.getYear()) && stat.getRuns() == 999));
+    }
+}
@@ -0,0 +1,128 @@
+package com.cricketacademy.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HomepagePayloadCacheTest {
+
+    private static final HomepagePayloadCache.Section SECTION = HomepagePayloadCache.Section.PLAYERS;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void hitServesTheCachedPayloadWithoutLoading() {
+        HomepagePayloadCache cache = new HomepagePayloadCache(objectMapper, 300);
+
+        HomepagePayloadCache.Payload first = cache.json(SECTION, counting(() -> List.of("Virat")));
+        HomepagePayloadCache.Payload second = cache.json(SECTION, counting(() -> List.of("Rohit")));
+
+        assertSame(first, second);
+        assertEquals("[\"Virat\"]", new String(second.body(), StandardCharsets.UTF_8));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidateMakesTheNextReadRebuild() {
+        HomepagePayloadCache cache = new HomepagePayloadCache(objectMapper, 300);
+        HomepagePayloadCache.Payload before = cache.json(SECTION, counting(() -> List.of("Virat")));
+
+        cache.invalidate(SECTION);
+        HomepagePayloadCache.Payload after = cache.json(SECTION, counting(() -> List.of("Rohit")));
+
+        assertEquals("[\"Rohit\"]", new String(after.body(), StandardCharsets.UTF_8));
+        assertNotEquals(before.etag(), after.etag());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void expiredPayloadIsRebuilt() {
+        HomepagePayloadCache cache = new HomepagePayloadCache(objectMapper, 0);
+
+        cache.text(HomepagePayloadCache.Section.HERO_IMAGE, counting(() -> "/uploads/a.jpg"));
+        HomepagePayloadCache.Payload rebuilt = cache.text(HomepagePayloadCache.Section.HERO_IMAGE,
+                counting(() -> "/uploads/b.jpg"));
+
+        assertEquals("/uploads/b.jpg", new String(rebuilt.body(), StandardCharsets.UTF_8));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void concurrentMissesRunTheLoaderOnce() throws Exception {
+        HomepagePayloadCache cache = new HomepagePayloadCache(objectMapper, 300);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Object> slowLoader = counting(() -> {
+            entered.countDown();
+            await(release);
+            return List.of("Virat");
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<HomepagePayloadCache.Payload>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> cache.json(SECTION, slowLoader)));
+        }
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        release.countDown();
+
+        String etag = results.get(0).get(5, TimeUnit.SECONDS).etag();
+        for (Future<HomepagePayloadCache.Payload> result : results) {
+            assertEquals(etag, result.get(5, TimeUnit.SECONDS).etag());
+        }
+        executor.shutdown();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void expiredPayloadIsServedWhileAnotherCallerRebuilds() throws Exception {
+        HomepagePayloadCache cache = new HomepagePayloadCache(objectMapper, 0);
+        HomepagePayloadCache.Payload stale = cache.json(SECTION, counting(() -> List.of("Virat")));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<HomepagePayloadCache.Payload> rebuilding = executor.submit(() -> cache.json(SECTION, counting(() -> {
+            entered.countDown();
+            await(release);
+            return List.of("Rohit");
+        })));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        assertSame(stale, cache.json(SECTION, counting(() -> List.of("Unused"))));
+
+        release.countDown();
+        assertEquals("[\"Rohit\"]", new String(rebuilding.get(5, TimeUnit.SECONDS).body(), StandardCharsets.UTF_8));
+        executor.shutdown();
+        assertEquals(2, loads.get());
+    }
+
+    private <T> Supplier<T> counting(Supplier<T> loader) {
+        return () -> {
+            loads.incrementAndGet();
+            return loader.get();
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
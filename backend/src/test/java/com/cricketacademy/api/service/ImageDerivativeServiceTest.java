@@ -0,0 +1,135 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.dto.ImageVariantsDTO;
+import com.cricketacademy.api.repository.UploadObjectRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ImageDerivativeServiceTest {
+
+    private static final String HASH = "ab" + "0".repeat(62);
+    private static final String URL = "/uploads/objects/ab/" + HASH + ".jpg";
+
+    // APP1 payload holding only IFD0 with Orientation = 6 (rotate 90 degrees clockwise)
+    private static final byte[] EXIF_ROTATE_CW = {
+            'E', 'x', 'i', 'f', 0, 0, 'M', 'M', 0, 42, 0, 0, 0, 8,
+            0, 1, 0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, 6, 0, 0, 0, 0, 0, 0 };
+
+    @TempDir
+    Path uploadDir;
+
+    private Path original;
+    private ImageDerivativeService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UploadStore uploadStore = new UploadStore(mock(UploadObjectRepository.class), uploadDir.toString());
+        service = new ImageDerivativeService(uploadStore, mock(HomepagePayloadCache.class), 1, 4, 0.8f,
+                100_000_000L);
+        original = uploadDir.resolve("objects/ab/" + HASH + ".jpg");
+        Files.createDirectories(original.getParent());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void generatesEveryWidthKeepingAspectRatio() throws Exception {
+        ImageIO.write(image(2000, 1500), "jpg", original.toFile());
+
+        assertTrue(service.generate(original));
+
+        assertSize(ImageDerivativeService.Variant.THUMBNAIL, 320, 240);
+        assertSize(ImageDerivativeService.Variant.CARD, 640, 480);
+        assertSize(ImageDerivativeService.Variant.HERO, 1600, 1200);
+        ImageVariantsDTO variants = service.variants(URL);
+        assertEquals("/uploads/objects/ab/" + HASH + "-w320.jpg", variants.getThumbnailUrl());
+        assertEquals("/uploads/objects/ab/" + HASH + "-w1600.jpg", variants.getHeroUrl());
+    }
+
+    @Test
+    void neverUpscalesSmallImages() throws Exception {
+        ImageIO.write(image(500, 250), "jpg", original.toFile());
+
+        assertTrue(service.generate(original));
+
+        assertSize(ImageDerivativeService.Variant.THUMBNAIL, 320, 160);
+        assertSize(ImageDerivativeService.Variant.HERO, 500, 250);
+    }
+
+    @Test
+    void appliesExifOrientation() throws Exception {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(image(1200, 800), "jpg", encoded);
+        byte[] jpeg = encoded.toByteArray();
+        ByteArrayOutputStream withExif = new ByteArrayOutputStream();
+        withExif.write(jpeg, 0, 2);
+        withExif.write(new byte[] { (byte) 0xFF, (byte) 0xE1, 0, (byte) (EXIF_ROTATE_CW.length + 2) });
+        withExif.write(EXIF_ROTATE_CW);
+        withExif.write(jpeg, 2, jpeg.length - 2);
+        Files.write(original, withExif.toByteArray());
+
+        assertEquals(6, ImageDerivativeService.exifOrientation(original));
+        assertTrue(service.generate(original));
+
+        // Rotated upright, and the red left half of the source is now the top
+        BufferedImage card = ImageIO.read(
+                ImageDerivativeService.derivativePath(original, ImageDerivativeService.Variant.CARD).toFile());
+        assertEquals(640, card.getWidth());
+        assertEquals(960, card.getHeight());
+        assertTrue(new Color(card.getRGB(card.getWidth() - 5, 5)).getRed() > 200);
+        assertTrue(new Color(card.getRGB(card.getWidth() - 5, card.getHeight() - 5)).getGreen() > 200);
+    }
+
+    @Test
+    void completeVariantsAreServedWithoutCheckingTheDiskAgain() throws Exception {
+        ImageIO.write(image(800, 600), "jpg", original.toFile());
+        assertTrue(service.generate(original));
+        ImageVariantsDTO first = service.variants(URL);
+
+        // Gone from disk, but already known to be complete
+        Files.delete(ImageDerivativeService.derivativePath(original, ImageDerivativeService.Variant.HERO));
+
+        assertSame(first, service.variants(URL));
+    }
+
+    @Test
+    void ignoresUrlsOutsideTheStore() {
+        assertNull(service.variants("https://images.example.com/photo.jpg"));
+        assertNull(service.variants("/uploads/legacy.jpg"));
+        assertNull(service.variants(null));
+    }
+
+    private void assertSize(ImageDerivativeService.Variant variant, int width, int height) throws Exception {
+        BufferedImage derived = ImageIO.read(ImageDerivativeService.derivativePath(original, variant).toFile());
+        assertEquals(width, derived.getWidth());
+        assertEquals(height, derived.getHeight());
+    }
+
+    // Left half red, right half white
+    private static BufferedImage image(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, width / 2, height);
+        g.dispose();
+        return image;
+    }
+}
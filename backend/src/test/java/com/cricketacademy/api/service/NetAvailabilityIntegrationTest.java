@@ -0,0 +1,114 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.dto.BookingRequestDTO;
+import com.cricketacademy.api.dto.NetDTO;
+import com.cricketacademy.api.entity.Ground;
+import com.cricketacademy.api.entity.Net;
+import com.cricketacademy.api.repository.BookingRepository;
+import com.cricketacademy.api.repository.BookingSlotClaimRepository;
+import com.cricketacademy.api.repository.GroundRepository;
+import com.cricketacademy.api.repository.NetRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Books a net through {@link BookingService} the way the booking pages do and
+ * checks that {@link NetService} no longer offers it for that window, so the
+ * two agree on which id a net booking is stored under.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:net_availability;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class NetAvailabilityIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 10, 19);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingSlotClaimRepository bookingSlotClaimRepository;
+    @Autowired
+    private GroundRepository groundRepository;
+    @Autowired
+    private NetRepository netRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private BookingService bookingService;
+    private NetService netService;
+    private Ground ground;
+
+    @BeforeEach
+    void setUp() {
+        bookingService = new BookingService(bookingRepository, mock(EmailService.class),
+                new SlotOccupancyIndex(bookingRepository, 300), new BookingSlotLocks(),
+                bookingSlotClaimRepository, new TransactionTemplate(transactionManager));
+        netService = new NetService(netRepository, groundRepository, new ObjectMapper(), bookingRepository);
+
+        ground = new Ground();
+        ground.setName("Main Ground");
+        ground.setPricePerHour(new BigDecimal("1500"));
+        ground = groundRepository.saveAndFlush(ground);
+    }
+
+    @Test
+    void bookedNetIsNotOfferedForItsWindow() {
+        Net booked = net("Net 1");
+        Net other = net("Net 2");
+
+        bookingService.createBooking(netBooking(booked, "10:00", "11:00"));
+
+        assertEquals(List.of(other.getId()),
+                ids(netService.getAvailableNetsByDateAndTime(ground.getId(), DATE.toString(), "10:00-11:00")));
+        assertEquals(List.of(booked.getId(), other.getId()),
+                ids(netService.getAvailableNetsByDateAndTime(ground.getId(), DATE.toString(), "11:00-12:00")));
+    }
+
+    private Net net(String name) {
+        Net net = new Net();
+        net.setName(name);
+        net.setGround(ground);
+        net.setPricePerHour(new BigDecimal("500"));
+        net.setSlotDurationMinutes(60);
+        return netRepository.saveAndFlush(net);
+    }
+
+    private BookingRequestDTO netBooking(Net net, String start, String end) {
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setBookingType("net");
+        request.setGroundId(String.valueOf(net.getId()));
+        request.setGroundName(net.getName());
+        request.setBookingDate(DATE);
+        request.setStartTime(LocalTime.parse(start));
+        request.setEndTime(LocalTime.parse(end));
+        request.setPrice(500.0);
+        request.setCustomerName("Test Customer");
+        request.setCustomerEmail("customer@example.com");
+        request.setCustomerPhone("9876543210");
+        return request;
+    }
+
+    private static List<Long> ids(List<NetDTO> nets) {
+        return nets.stream().map(NetDTO::getId).toList();
+    }
+}
@@ -0,0 +1,154 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.dto.NetDTO;
+import com.cricketacademy.api.dto.NetRequestDTO;
+import com.cricketacademy.api.entity.Ground;
+import com.cricketacademy.api.entity.Net;
+import com.cricketacademy.api.repository.BookingRepository;
+import com.cricketacademy.api.repository.GroundRepository;
+import com.cricketacademy.api.repository.NetRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class NetServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 10, 19);
+
+    private NetRepository netRepository;
+    private GroundRepository groundRepository;
+    private BookingRepository bookingRepository;
+    private NetService netService;
+
+    @BeforeEach
+    void setUp() {
+        netRepository = mock(NetRepository.class);
+        groundRepository = mock(GroundRepository.class);
+        bookingRepository = mock(BookingRepository.class);
+        netService = new NetService(netRepository, groundRepository, new ObjectMapper(),
+                bookingRepository);
+
+        Ground ground = new Ground();
+        ground.setId(1L);
+        ground.setName("Main Ground");
+        Net hourly = net(10L, ground, 60);
+        Net halfHour = net(11L, ground, 30);
+        Net offline = net(12L, ground, 60);
+        offline.setBookingCalendarEnabled(false);
+        when(netRepository.findByGroundIdAndIsAvailableTrue(1L)).thenReturn(List.of(hourly, halfHour, offline));
+        when(groundRepository.findById(1L)).thenReturn(Optional.of(ground));
+    }
+
+    @Test
+    void rejectsDuplicateNameWithIndexedLookup() {
+        when(netRepository.existsByGroundIdAndNameNormalized(1L, "net a")).thenReturn(true);
+        NetRequestDTO request = new NetRequestDTO();
+        request.setName("  Net A ");
+
+        assertThrows(IllegalArgumentException.class, () -> netService.createNet(request, 1L));
+        verify(netRepository, never()).findAll();
+        verify(netRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void onlyNameIndexViolationsAreReportedAsDuplicates() {
+        NetRequestDTO request = new NetRequestDTO();
+        request.setName("Net A");
+        when(netRepository.saveAndFlush(any())).thenThrow(violation("nets.uk_nets_ground_name_normalized"));
+        assertThrows(IllegalArgumentException.class, () -> netService.createNet(request, 1L));
+
+        doThrow(violation("fk_nets_ground")).when(netRepository).saveAndFlush(any());
+        assertThrows(DataIntegrityViolationException.class, () -> netService.createNet(request, 1L));
+    }
+
+    @Test
+    void filtersNetsBookedForTheWindow() {
+        when(bookingRepository.findOccupiedIntervals(DATE, DATE)).thenReturn(List.of(
+                interval("net", "10", "10:00", "11:00"),
+                interval("ground", "11", "10:00", "11:00"),
+                interval("net", "11", "10:30", "11:00")));
+
+        assertEquals(List.of(11L), ids(netService.getAvailableNetsByDateAndTime(1L, "2026-10-19", "10:00")));
+        assertEquals(List.of(), ids(netService.getAvailableNetsByDateAndTime(1L, "2026-10-19", "10:00-11:00")));
+        assertEquals(List.of(10L, 11L), ids(netService.getAvailableNetsByDateAndTime(1L, "2026-10-19", "11:00")));
+    }
+
+    @Test
+    void dateOnlyKeepsNetsWithAnyFreeSlot() {
+        when(bookingRepository.findOccupiedIntervals(DATE, DATE)).thenReturn(List.of(
+                interval("net", "10", "09:00", "19:00"),
+                interval("net", "11", "09:00", "18:30")));
+
+        assertEquals(List.of(11L), ids(netService.getAvailableNetsByDate(1L, "2026-10-19")));
+        assertThrows(IllegalArgumentException.class, () -> netService.getAvailableNetsByDate(1L, "19/10/2026"));
+    }
+
+    @Test
+    void unsetBookingCalendarFlagCountsAsEnabled() {
+        Ground ground = new Ground();
+        ground.setId(2L);
+        Net unset = net(20L, ground, 60);
+        unset.setBookingCalendarEnabled(null);
+        Net disabled = net(21L, ground, 60);
+        disabled.setBookingCalendarEnabled(false);
+        when(netRepository.findByGroundIdAndIsAvailableTrue(2L)).thenReturn(List.of(unset, disabled));
+        when(bookingRepository.findOccupiedIntervals(DATE, DATE)).thenReturn(List.of());
+
+        assertEquals(List.of(20L), ids(netService.getAvailableNetsByDate(2L, "2026-10-19")));
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), constraintName));
+    }
+
+    private static List<Long> ids(List<NetDTO> nets) {
+        return nets.stream().map(NetDTO::getId).toList();
+    }
+
+    private static Net net(Long id, Ground ground, int slotMinutes) {
+        Net net = new Net();
+        net.setId(id);
+        net.setName("Net " + id);
+        net.setGround(ground);
+        net.setSlotDurationMinutes(slotMinutes);
+        return net;
+    }
+
+    private static BookingRepository.OccupiedInterval interval(String type, String facilityId, String start,
+            String end) {
+        return new BookingRepository.OccupiedInterval() {
+            public String getBookingType() {
+                return type;
+            }
+
+            public String getGroundId() {
+                return facilityId;
+            }
+
+            public LocalDate getBookingDate() {
+                return DATE;
+            }
+
+            public LocalTime getStartTime() {
+                return LocalTime.parse(start);
+            }
+
+            public LocalTime getEndTime() {
+                return LocalTime.parse(end);
+            }
+        };
+    }
+}
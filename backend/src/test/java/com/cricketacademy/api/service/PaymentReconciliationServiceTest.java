@@ -0,0 +1,122 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.Booking;
+import com.cricketacademy.api.repository.BookingRepository;
+import com.cricketacademy.api.repository.SchedulerLockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PaymentReconciliationServiceTest {
+
+    private BookingRepository bookingRepository;
+    private BookingService bookingService;
+    private SchedulerLockRepository schedulerLockRepository;
+    private JdbcTemplate jdbcTemplate;
+    private StubPaymentGateway gateway;
+    private PaymentReconciliationService service;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        bookingService = mock(BookingService.class);
+        schedulerLockRepository = mock(SchedulerLockRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        gateway = new StubPaymentGateway(0);
+        service = new PaymentReconciliationService(bookingRepository, bookingService, gateway, schedulerLockRepository,
+                jdbcTemplate, 2, 2, 15, 30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void settlesCapturedAndFailedOrdersInBatches() {
+        when(schedulerLockRepository.acquire(eq(PaymentReconciliationService.LOCK_NAME), anyString(), any(), any()))
+                .thenReturn(1);
+        gateway.putPayment(payment("pay_1", "order_1", "captured", 50000));
+        gateway.putPayment(payment("pay_2", "order_2", "failed", 50000));
+        when(bookingRepository.findPendingGatewayPayments(eq(0L), any(), any()))
+                .thenReturn(List.of(booking(1L, "order_1"), booking(2L, "order_2")));
+        when(bookingRepository.findPendingGatewayPayments(eq(2L), any(), any()))
+                .thenReturn(List.of(booking(3L, "order_3")));
+        when(jdbcTemplate.batchUpdate(contains("payment_status = 'PAID'"), anyList())).thenReturn(new int[] { 1 });
+
+        PaymentReconciliationService.Report report = service.run().orElseThrow();
+
+        assertEquals(3, report.scanned());
+        assertEquals(1, report.paid());
+        assertEquals(1, report.failed());
+        assertEquals(1, report.unchanged());
+        verify(jdbcTemplate).batchUpdate(contains("payment_status = 'PAID'"), anyList());
+        verify(jdbcTemplate).batchUpdate(contains("payment_status = 'FAILED'"), anyList());
+        verify(bookingService).completeReconciledPayments(List.of(1L));
+        verify(schedulerLockRepository).release(eq(PaymentReconciliationService.LOCK_NAME), anyString(), any());
+        assertSame(report, service.getLastReport().orElseThrow());
+    }
+
+    @Test
+    void bookingCancelledBeforeTheUpdateIsNotConfirmed() {
+        when(schedulerLockRepository.acquire(eq(PaymentReconciliationService.LOCK_NAME), anyString(), any(), any()))
+                .thenReturn(1);
+        gateway.putPayment(payment("pay_1", "order_1", "captured", 50000));
+        when(bookingRepository.findPendingGatewayPayments(eq(0L), any(), any()))
+                .thenReturn(List.of(booking(1L, "order_1")));
+        // The guarded UPDATE matched no row
+        when(jdbcTemplate.batchUpdate(contains("payment_status = 'PAID'"), anyList())).thenReturn(new int[] { 0 });
+
+        service.run();
+
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void reportsShortCaptureWithoutMarkingPaid() {
+        gateway.putPayment(payment("pay_9", "order_9", "captured", 100));
+
+        PaymentReconciliationService.Outcome outcome = service.check(booking(9L, "order_9"));
+
+        assertEquals(PaymentReconciliationService.Result.ERROR, outcome.result());
+        assertEquals("pay_9", outcome.paymentId());
+    }
+
+    @Test
+    void bareCapturedPaymentIdIsNotSettled() {
+        gateway.putPayment(payment("pay_other", "order_other", "captured", 50000));
+
+        PaymentReconciliationService.Outcome outcome = service.check(booking(5L, "pay_other"));
+
+        assertEquals(PaymentReconciliationService.Result.ERROR, outcome.result());
+        assertNull(outcome.paymentId());
+    }
+
+    @Test
+    void skipsWhenAnotherRunHoldsTheLease() {
+        when(schedulerLockRepository.acquire(anyString(), anyString(), any(), any())).thenReturn(0);
+
+        assertTrue(service.run().isEmpty());
+        verifyNoInteractions(bookingRepository, jdbcTemplate);
+    }
+
+    private static Booking booking(Long id, String reference) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setPrice(500.0);
+        booking.setPaymentStatus("PENDING");
+        booking.setPaymentId(reference);
+        return booking;
+    }
+
+    private static PaymentGateway.Payment payment(String id, String orderId, String status, long amount) {
+        return new PaymentGateway.Payment(id, orderId, status, amount, "INR", "card", null, null, 0L);
+    }
+}
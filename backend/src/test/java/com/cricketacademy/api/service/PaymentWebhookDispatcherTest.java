@@ -0,0 +1,114 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.Booking;
+import com.cricketacademy.api.entity.PaymentWebhookEvent;
+import com.cricketacademy.api.repository.BookingRepository;
+import com.cricketacademy.api.repository.PaymentWebhookEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PaymentWebhookDispatcherTest {
+
+    private static final String CAPTURED = "{\"event\":\"payment.captured\",\"payload\":{\"payment\":{\"entity\":"
+            + "{\"id\":\"pay_1\",\"order_id\":\"order_1\",\"status\":\"captured\",\"notes\":{\"bookingId\":\"7\"}}}}}";
+
+    private PaymentWebhookEventRepository eventRepository;
+    private BookingRepository bookingRepository;
+    private BookingService bookingService;
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentWebhookDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository = mock(PaymentWebhookEventRepository.class);
+        bookingRepository = mock(BookingRepository.class);
+        bookingService = mock(BookingService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new PaymentWebhookDispatcher(eventRepository, bookingRepository, bookingService, meterRegistry,
+                50, 1, 3, 10, 120);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void parseKeysEventsByPaymentAndEventId() {
+        PaymentWebhookEvent event = PaymentWebhookDispatcher.parse("razorpay", CAPTURED, "evt_1");
+
+        assertEquals("evt_1", event.getEventId());
+        assertEquals("payment.captured", event.getEventType());
+        assertEquals("pay_1", event.getPaymentKey());
+        assertEquals(event.getEventId(), PaymentWebhookDispatcher.parse("razorpay", CAPTURED, "evt_1").getEventId());
+    }
+
+    @Test
+    void capturedPaymentConfirmsTheBooking() {
+        Booking booking = new Booking();
+        booking.setId(7L);
+        booking.setPaymentStatus("PENDING");
+        when(bookingRepository.findById(7L)).thenReturn(Optional.of(booking));
+        PaymentWebhookEvent event = PaymentWebhookDispatcher.parse("razorpay", CAPTURED, "evt_1");
+
+        dispatcher.handle(event);
+
+        verify(bookingService).confirmBooking(7L, "pay_1");
+        assertEquals(PaymentWebhookEvent.Status.PROCESSED, event.getStatus());
+        assertEquals(1.0, meterRegistry.counter("payment.webhook.processed").count());
+    }
+
+    @Test
+    void alreadyPaidBookingIsNotConfirmedAgain() {
+        Booking booking = new Booking();
+        booking.setId(7L);
+        booking.setPaymentStatus("PAID");
+        when(bookingRepository.findById(7L)).thenReturn(Optional.of(booking));
+
+        dispatcher.handle(PaymentWebhookDispatcher.parse("razorpay", CAPTURED, "evt_2"));
+
+        verify(bookingService, never()).confirmBooking(anyLong(), any());
+    }
+
+    @Test
+    void captureForACancelledBookingIsFlaggedForRefundInsteadOfConfirmed() {
+        Booking booking = new Booking();
+        booking.setId(7L);
+        booking.setStatus("CANCELLED");
+        booking.setPaymentStatus("PENDING");
+        when(bookingRepository.findById(7L)).thenReturn(Optional.of(booking));
+        PaymentWebhookEvent event = PaymentWebhookDispatcher.parse("razorpay", CAPTURED, "evt_4");
+
+        dispatcher.handle(event);
+
+        verify(bookingService, never()).confirmBooking(anyLong(), any());
+        verify(bookingService).flagPaymentForRefund(7L, "pay_1");
+        assertEquals(PaymentWebhookEvent.Status.PROCESSED, event.getStatus());
+    }
+
+    @Test
+    void failureIsRetriedWithBackoff() {
+        Booking booking = new Booking();
+        booking.setId(7L);
+        booking.setPaymentStatus("PENDING");
+        when(bookingRepository.findById(7L)).thenReturn(Optional.of(booking));
+        when(bookingService.confirmBooking(anyLong(), any())).thenThrow(new RuntimeException("deadlock"));
+        PaymentWebhookEvent event = PaymentWebhookDispatcher.parse("razorpay", CAPTURED, "evt_3");
+        event.setAttempts(0);
+
+        dispatcher.handle(event);
+
+        assertEquals(PaymentWebhookEvent.Status.PENDING, event.getStatus());
+        assertEquals(1, event.getAttempts());
+        assertNotNull(event.getNextAttemptAt());
+        verify(eventRepository).save(event);
+    }
+}
@@ -0,0 +1,112 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.PricingPackage;
+import com.cricketacademy.api.repository.PricingPackageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PriceQuoteEngineTest {
+
+    private static final LocalDate WEDNESDAY = LocalDate.of(2026, 10, 14);
+    private static final LocalDate SATURDAY = LocalDate.of(2026, 10, 17);
+
+    private PricingPackageRepository pricingPackageRepository;
+    private PriceQuoteEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        pricingPackageRepository = mock(PricingPackageRepository.class);
+        when(pricingPackageRepository.findByIsActiveTrue()).thenReturn(List.of(hourlyNetPackage(),
+                halfDayNetPackage()));
+        // Advance discount disabled so results do not depend on today's date
+        engine = new PriceQuoteEngine(pricingPackageRepository, 17, 22, 36500, "2026-12-25");
+    }
+
+    @Test
+    void appliesOffPeakAndPeakRatesByTheMinute() {
+        assertEquals(765.0, quote(WEDNESDAY, 10, 0, 11, 0));
+        // Half an hour off-peak, half an hour peak
+        assertEquals(382.5 + 637.5, quote(WEDNESDAY, 16, 30, 17, 30));
+    }
+
+    @Test
+    void weekendsAndHolidaysUseTheirMultipliers() {
+        assertEquals(1530.0, quote(SATURDAY, 18, 0, 19, 0));
+        assertEquals(1530.0, quote(LocalDate.of(2026, 12, 25), 10, 0, 11, 0));
+    }
+
+    @Test
+    void appliesGroupDiscountAtThreshold() {
+        PriceQuoteEngine.Slot slot = new PriceQuoteEngine.Slot(WEDNESDAY, LocalTime.of(10, 0), LocalTime.of(11, 0));
+
+        assertEquals(765.0, engine.quote("NET", null, slot, 9).orElseThrow().amount());
+        assertEquals(688.5, engine.quote("NET", null, slot, 10).orElseThrow().amount());
+    }
+
+    @Test
+    void quotesTenThousandSlotsFromOneCompiledTable() {
+        List<PriceQuoteEngine.Slot> slots = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            int hour = 6 + i % 16;
+            slots.add(new PriceQuoteEngine.Slot(WEDNESDAY.plusDays(i / 16), LocalTime.of(hour, 0),
+                    LocalTime.of(hour + 1, 0)));
+        }
+
+        List<PriceQuoteEngine.Quote> quotes = engine.quoteAll("net", null, slots, null);
+
+        assertEquals(10_000, quotes.size());
+        assertTrue(quotes.stream().allMatch(quote -> quote.amount() > 0 && quote.packageId() == 1L));
+        verify(pricingPackageRepository, times(1)).findByIsActiveTrue();
+    }
+
+    @Test
+    void rejectsUnknownPackagesAndEmptySlots() {
+        PriceQuoteEngine.Slot slot = new PriceQuoteEngine.Slot(WEDNESDAY, LocalTime.of(11, 0), LocalTime.of(10, 0));
+
+        assertTrue(engine.quote("EVENT", null, slot, null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> engine.quote("NET", 99L, slot, null));
+        assertThrows(IllegalArgumentException.class, () -> engine.quote("NET", null, slot, null));
+    }
+
+    private double quote(LocalDate date, int startHour, int startMinute, int endHour, int endMinute) {
+        PriceQuoteEngine.Slot slot = new PriceQuoteEngine.Slot(date, LocalTime.of(startHour, startMinute),
+                LocalTime.of(endHour, endMinute));
+        return engine.quote("NET", null, slot, null).orElseThrow().amount();
+    }
+
+    private static PricingPackage hourlyNetPackage() {
+        PricingPackage pricingPackage = new PricingPackage();
+        pricingPackage.setId(1L);
+        pricingPackage.setPackageType("NET");
+        pricingPackage.setDurationType("HOURLY");
+        pricingPackage.setDurationValue(BigDecimal.ONE);
+        pricingPackage.setBasePrice(new BigDecimal("1000.00"));
+        pricingPackage.setDiscountedPrice(new BigDecimal("850.00"));
+        pricingPackage.setPeakHourMultiplier(new BigDecimal("1.5"));
+        pricingPackage.setOffPeakDiscount(new BigDecimal("10"));
+        pricingPackage.setWeekendMultiplier(new BigDecimal("1.2"));
+        pricingPackage.setHolidayMultiplier(new BigDecimal("2.0"));
+        pricingPackage.setGroupDiscountThreshold(10);
+        pricingPackage.setGroupDiscountPercentage(new BigDecimal("10"));
+        return pricingPackage;
+    }
+
+    private static PricingPackage halfDayNetPackage() {
+        PricingPackage pricingPackage = new PricingPackage();
+        pricingPackage.setId(2L);
+        pricingPackage.setPackageType("NET");
+        pricingPackage.setDurationType("HALF_DAY");
+        pricingPackage.setDurationValue(new BigDecimal("4.0"));
+        pricingPackage.setBasePrice(new BigDecimal("1800.00"));
+        return pricingPackage;
+    }
+}
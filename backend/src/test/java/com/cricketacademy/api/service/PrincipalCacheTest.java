@@ -0,0 +1,103 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Function<String, UserDetails> loader = email -> {
+        loads.incrementAndGet();
+        return org.springframework.security.core.userdetails.User.withUsername(email)
+                .password("{bcrypt}hash")
+                .roles("USER")
+                .build();
+    };
+
+    @Test
+    void cachesAnImmutableCopyOfTheLoadedPrincipal() {
+        PrincipalCache cache = new PrincipalCache(300);
+        User entity = new User();
+        entity.setEmail("player@test.com");
+        entity.setPassword("hash");
+        entity.setRole(User.UserRole.STUDENT);
+        entity.setIsActive(true);
+
+        UserDetails cached = cache.get("player@test.com", email -> entity);
+        entity.setIsActive(false);
+        entity.setRole(User.UserRole.ADMIN);
+
+        assertNotSame(entity, cached);
+        assertTrue(cached.isEnabled());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_STUDENT")), List.copyOf(cached.getAuthorities()));
+        assertEquals("", cached.getPassword());
+        assertSame(cached, cache.get("player@test.com", email -> fail("should be cached")));
+    }
+
+    @Test
+    void loadsOnceWithinTheTtl() {
+        PrincipalCache cache = new PrincipalCache(300);
+
+        cache.get("a@test.com", loader);
+        cache.get("a@test.com", loader);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void reloadsOnceTheTtlHasPassed() {
+        PrincipalCache cache = new PrincipalCache(0);
+
+        cache.get("a@test.com", loader);
+        cache.get("a@test.com", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateForcesAReload() {
+        PrincipalCache cache = new PrincipalCache(300);
+        cache.get("a@test.com", loader);
+
+        cache.invalidate("a@test.com");
+        cache.invalidate(null);
+        cache.get("a@test.com", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void failedLoadsAreNotCached() {
+        PrincipalCache cache = new PrincipalCache(300);
+
+        assertThrows(UsernameNotFoundException.class, () -> cache.get("gone@test.com", email -> {
+            throw new UsernameNotFoundException(email);
+        }));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void staysWithinItsBound() {
+        PrincipalCache cache = new PrincipalCache(300);
+        for (int i = 0; i < 10000; i++) {
+            cache.get("user" + i + "@test.com", loader);
+        }
+        assertEquals(10000, cache.size());
+
+        cache.get("one-more@test.com", loader);
+
+        assertTrue(cache.size() <= 10000);
+        assertEquals(1, loads.get() - 10000);
+    }
+}
@@ -0,0 +1,92 @@
+package com.cricketacademy.api.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RemoteFileFetcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private HttpServer server;
+    private RemoteFileFetcher fetcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hello", exchange -> {
+            byte[] body = "hello".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        // Sends the headers and a few bytes, then stops sending without closing
+        server.createContext("/stall", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream out = exchange.getResponseBody();
+            out.write("partial".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            try {
+                Thread.sleep(30_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            out.close();
+        });
+        server.setExecutor(executor);
+        server.start();
+        fetcher = new RemoteFileFetcher(2, 1000, 1000, 1000, 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        server.stop(0);
+        fetcher.shutdown();
+    }
+
+    @Test
+    void downloadsTheBodyIntoATempFile() throws Exception {
+        try (RemoteFileFetcher.Download download = fetcher.fetch(uri("/hello"), Map.of(), tempDir, 1024)) {
+            assertEquals(200, download.statusCode());
+            assertEquals(5, download.size());
+            assertEquals("hello", Files.readString(download.file()));
+        }
+    }
+
+    @Test
+    void stalledBodyFailsAtTheDeadlineAndLeavesNoTempFile() throws Exception {
+        long started = System.nanoTime();
+
+        assertThrows(HttpTimeoutException.class, () -> fetcher.fetch(uri("/stall"), Map.of(), tempDir, 1024));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toSeconds() < 10);
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+}
@@ -0,0 +1,134 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.SessionActivity;
+import com.cricketacademy.api.entity.User;
+import com.cricketacademy.api.repository.EmailVerificationTokenRepository;
+import com.cricketacademy.api.repository.PasswordResetTokenRepository;
+import com.cricketacademy.api.repository.RefreshTokenRepository;
+import com.cricketacademy.api.repository.SchedulerLockRepository;
+import com.cricketacademy.api.repository.SessionActivityRepository;
+import com.cricketacademy.api.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the session part of {@link TokenMaintenanceService#runSweeps} against
+ * H2 in MySQL mode: the heartbeat flush and the chunked
+ * {@code deactivateExpiredChunk} / {@code deleteInactiveChunk} statements are
+ * the real SQL, so a session kept alive only by a pending heartbeat must
+ * survive the sweep.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:session_expiry;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SessionExpirySweepTest {
+
+    @Autowired
+    private SessionActivityRepository sessionActivityRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SessionService sessionService;
+    private TokenMaintenanceService maintenance;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        SchedulerLockRepository schedulerLockRepository = mock(SchedulerLockRepository.class);
+        when(schedulerLockRepository.acquire(anyString(), anyString(), any(), any())).thenReturn(1);
+        sessionService = new SessionService(sessionActivityRepository, jdbcTemplate);
+        // Chunks of two so three expired sessions take more than one UPDATE
+        maintenance = new TokenMaintenanceService(mock(RefreshTokenRepository.class),
+                mock(EmailVerificationTokenRepository.class), mock(PasswordResetTokenRepository.class),
+                sessionActivityRepository, schedulerLockRepository, sessionService, new SimpleMeterRegistry(),
+                2, 24, 30, 900_000, 10);
+
+        user = new User();
+        user.setName("Player");
+        user.setEmail("player@test.com");
+        user.setPhone("9876543210");
+        user.setAge(20);
+        user.setExperienceLevel(User.ExperienceLevel.BEGINNER);
+        user.setPassword("password-hash");
+        user = userRepository.saveAndFlush(user);
+    }
+
+    @Test
+    void sweepDeactivatesExpiredSessionsInChunks() {
+        LocalDateTime now = LocalDateTime.now();
+        session("expired-1", now.minusMinutes(30), now.minusMinutes(10), true);
+        session("expired-2", now.minusMinutes(30), now.minusMinutes(10), true);
+        session("expired-3", now.minusMinutes(30), now.minusMinutes(10), true);
+        session("live", now.minusMinutes(5), now.plusMinutes(15), true);
+
+        maintenance.runSweeps();
+
+        assertFalse(isActive("expired-1"));
+        assertFalse(isActive("expired-2"));
+        assertFalse(isActive("expired-3"));
+        assertTrue(isActive("live"));
+    }
+
+    @Test
+    void pendingHeartbeatIsFlushedBeforeExpiry() {
+        LocalDateTime now = LocalDateTime.now();
+        session("revived", now.minusMinutes(25), now.minusMinutes(5), true);
+        sessionService.updateSessionActivity("revived");
+
+        maintenance.runSweeps();
+
+        assertTrue(isActive("revived"));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT activity_count FROM session_activities WHERE session_token = ?", Integer.class, "revived"));
+    }
+
+    @Test
+    void inactiveSessionsPastRetentionAreDeleted() {
+        LocalDateTime now = LocalDateTime.now();
+        session("old", now.minusDays(40), now.minusDays(40), false);
+        session("recent", now.minusDays(2), now.minusDays(2), false);
+
+        maintenance.runSweeps();
+
+        assertEquals(0, count("old"));
+        assertEquals(1, count("recent"));
+    }
+
+    private void session(String token, LocalDateTime lastActivity, LocalDateTime expiry, boolean active) {
+        SessionActivity session = new SessionActivity(user, token, "127.0.0.1", "JUnit");
+        session.setLastActivityTime(lastActivity);
+        session.setSessionStartTime(lastActivity);
+        session.setSessionExpiryTime(expiry);
+        session.setIsActive(active);
+        sessionActivityRepository.saveAndFlush(session);
+    }
+
+    private boolean isActive(String token) {
+        return jdbcTemplate.queryForObject("SELECT is_active FROM session_activities WHERE session_token = ?",
+                Boolean.class, token);
+    }
+
+    private int count(String token) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM session_activities WHERE session_token = ?",
+                Integer.class, token);
+    }
+}
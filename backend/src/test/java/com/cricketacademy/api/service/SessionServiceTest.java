@@ -0,0 +1,146 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.SessionActivity;
+import com.cricketacademy.api.repository.SessionActivityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SessionServiceTest {
+
+    private SessionActivityRepository sessionActivityRepository;
+    private JdbcTemplate jdbcTemplate;
+    private SessionService service;
+
+    @BeforeEach
+    void setUp() {
+        sessionActivityRepository = mock(SessionActivityRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        service = new SessionService(sessionActivityRepository, jdbcTemplate);
+    }
+
+    @Test
+    void heartbeatsStayInMemoryUntilTheFlush() {
+        service.updateSessionActivity("tok-a");
+        service.updateSessionActivity("tok-a");
+
+        verifyNoInteractions(jdbcTemplate, sessionActivityRepository);
+
+        service.flushActivity();
+
+        verify(jdbcTemplate).batchUpdate(eq(SessionService.FLUSH_SQL), anyList());
+    }
+
+    @Test
+    void heartbeatsAreCoalescedPerSessionIntoOneBatch() {
+        service.updateSessionActivity("tok-a");
+        service.updateSessionActivity("tok-b");
+        service.updateSessionActivity("tok-a");
+        service.updateSessionActivity("tok-a");
+
+        service.flushActivity();
+
+        Map<String, Object[]> rows = flushedRows(1).get(0);
+        assertEquals(2, rows.size());
+        assertEquals(3, rows.get("tok-a")[2]);
+        assertEquals(1, rows.get("tok-b")[2]);
+        Timestamp lastSeen = (Timestamp) rows.get("tok-a")[0];
+        Timestamp expiry = (Timestamp) rows.get("tok-a")[1];
+        assertEquals(lastSeen.toLocalDateTime().plusMinutes(20), expiry.toLocalDateTime());
+    }
+
+    @Test
+    void flushWithNothingPendingDoesNotTouchTheDatabase() {
+        service.flushActivity();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void flushedHeartbeatsAreNotWrittenTwice() {
+        service.updateSessionActivity("tok-a");
+        service.flushActivity();
+        service.flushActivity();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(SessionService.FLUSH_SQL), anyList());
+    }
+
+    @Test
+    void failedFlushKeepsHeartbeatsForTheNextOne() {
+        when(jdbcTemplate.batchUpdate(eq(SessionService.FLUSH_SQL), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[] { 1 });
+        service.updateSessionActivity("tok-a");
+        service.updateSessionActivity("tok-a");
+        service.flushActivity();
+
+        service.updateSessionActivity("tok-a");
+        service.flushActivity();
+
+        List<Map<String, Object[]>> batches = flushedRows(2);
+        assertEquals(2, batches.get(0).get("tok-a")[2]);
+        assertEquals(3, batches.get(1).get("tok-a")[2]);
+    }
+
+    @Test
+    void readingASessionFlushesItsPendingHeartbeatFirst() {
+        SessionActivity session = new SessionActivity();
+        when(sessionActivityRepository.findBySessionToken("tok-a")).thenReturn(session);
+        service.updateSessionActivity("tok-a");
+        service.updateSessionActivity("tok-a");
+        service.updateSessionActivity("tok-b");
+
+        assertSame(session, service.getSession("tok-a"));
+
+        InOrder inOrder = inOrder(jdbcTemplate, sessionActivityRepository);
+        inOrder.verify(jdbcTemplate).update(eq(SessionService.FLUSH_SQL), any(), any(), eq(2), eq("tok-a"));
+        inOrder.verify(sessionActivityRepository).findBySessionToken("tok-a");
+
+        // Only the other session is left for the periodic flush
+        service.flushActivity();
+        assertEquals(List.of("tok-b"), List.copyOf(flushedRows(1).get(0).keySet()));
+    }
+
+    @Test
+    void terminatingASessionDropsItsPendingHeartbeat() {
+        SessionActivity session = new SessionActivity();
+        session.setIsActive(true);
+        when(sessionActivityRepository.findBySessionToken("tok-a")).thenReturn(session);
+        service.updateSessionActivity("tok-a");
+
+        service.terminateSession("tok-a");
+        service.flushActivity();
+
+        assertFalse(session.getIsActive());
+        verify(sessionActivityRepository).save(session);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    /**
+     * Returns the rows of each batch flushed so far, keyed by session token.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object[]>> flushedRows(int expectedBatches) {
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(expectedBatches)).batchUpdate(eq(SessionService.FLUSH_SQL), batches.capture());
+        return batches.getAllValues().stream()
+                .map(batch -> {
+                    Map<String, Object[]> rows = new HashMap<>();
+                    batch.forEach(row -> rows.put((String) row[3], row));
+                    return rows;
+                })
+                .toList();
+    }
+}
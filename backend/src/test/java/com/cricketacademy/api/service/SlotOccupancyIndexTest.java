@@ -0,0 +1,97 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.Booking;
+import com.cricketacademy.api.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SlotOccupancyIndexTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 14);
+
+    private BookingRepository bookingRepository;
+    private SlotOccupancyIndex index;
+    private List<Booking> stored;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        stored = new ArrayList<>();
+        when(bookingRepository.findByBookingDateAndGroundId(DATE, "G1")).thenAnswer(invocation -> new ArrayList<>(stored));
+        index = new SlotOccupancyIndex(bookingRepository, 300);
+    }
+
+    @Test
+    void loadsDayOnceAndAnswersFromMemory() {
+        stored.add(booking("10:00", "11:00", "CONFIRMED"));
+
+        assertFalse(index.isFree("G1", DATE, LocalTime.of(10, 30), LocalTime.of(11, 30)));
+        assertTrue(index.isFree("G1", DATE, LocalTime.of(11, 0), LocalTime.of(12, 0)));
+        assertEquals(List.of("09:00-10:00", "11:00-12:00"),
+                index.availableSlots("G1", DATE, List.of("09:00-10:00", "10:00-11:00", "11:00-12:00")));
+
+        verify(bookingRepository, times(1)).findByBookingDateAndGroundId(DATE, "G1");
+    }
+
+    @Test
+    void occupyMarksCellsOfLoadedDay() {
+        assertTrue(index.isFree("G1", DATE, LocalTime.of(14, 0), LocalTime.of(15, 0)));
+
+        index.occupy(booking("14:00", "15:00", "PENDING"));
+
+        assertFalse(index.isFree("G1", DATE, LocalTime.of(14, 45), LocalTime.of(16, 0)));
+        verify(bookingRepository, times(1)).findByBookingDateAndGroundId(DATE, "G1");
+    }
+
+    @Test
+    void releaseReloadsSoOverlappingBookingsStayOccupied() {
+        Booking first = booking("10:00", "11:00", "CONFIRMED");
+        Booking second = booking("10:30", "11:30", "CONFIRMED");
+        stored.add(first);
+        stored.add(second);
+        assertFalse(index.isFree("G1", DATE, LocalTime.of(10, 0), LocalTime.of(10, 30)));
+
+        first.setStatus("CANCELLED");
+        index.release(first);
+
+        assertTrue(index.isFree("G1", DATE, LocalTime.of(10, 0), LocalTime.of(10, 30)));
+        assertFalse(index.isFree("G1", DATE, LocalTime.of(11, 0), LocalTime.of(11, 30)));
+    }
+
+    @Test
+    void cancelledBookingsDoNotOccupyCells() {
+        stored.add(booking("09:00", "10:00", "CANCELLED"));
+
+        assertTrue(index.isFree("G1", DATE, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+    }
+
+    @Test
+    void expiredDayIsReloadedToSeeBookingsFromOtherNodes() {
+        SlotOccupancyIndex expiring = new SlotOccupancyIndex(bookingRepository, 0);
+        assertTrue(expiring.isFree("G1", DATE, LocalTime.of(16, 0), LocalTime.of(17, 0)));
+
+        // Committed by another node, so occupy() never ran here
+        stored.add(booking("16:00", "17:00", "CONFIRMED"));
+
+        assertFalse(expiring.isFree("G1", DATE, LocalTime.of(16, 0), LocalTime.of(17, 0)));
+        verify(bookingRepository, times(2)).findByBookingDateAndGroundId(DATE, "G1");
+    }
+
+    private Booking booking(String start, String end, String status) {
+        Booking booking = new Booking();
+        booking.setGroundId("G1");
+        booking.setBookingDate(DATE);
+        booking.setStartTime(LocalTime.parse(start));
+        booking.setEndTime(LocalTime.parse(end));
+        booking.setStatus(status);
+        return booking;
+    }
+}
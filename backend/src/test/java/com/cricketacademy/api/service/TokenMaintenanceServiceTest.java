@@ -0,0 +1,88 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.repository.EmailVerificationTokenRepository;
+import com.cricketacademy.api.repository.PasswordResetTokenRepository;
+import com.cricketacademy.api.repository.RefreshTokenRepository;
+import com.cricketacademy.api.repository.SchedulerLockRepository;
+import com.cricketacademy.api.repository.SessionActivityRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TokenMaintenanceServiceTest {
+
+    private RefreshTokenRepository refreshTokenRepository;
+    private SchedulerLockRepository schedulerLockRepository;
+    private SessionActivityRepository sessionActivityRepository;
+    private SessionService sessionService;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenMaintenanceService service;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        schedulerLockRepository = mock(SchedulerLockRepository.class);
+        sessionActivityRepository = mock(SessionActivityRepository.class);
+        sessionService = mock(SessionService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new TokenMaintenanceService(refreshTokenRepository, mock(EmailVerificationTokenRepository.class),
+                mock(PasswordResetTokenRepository.class), sessionActivityRepository, schedulerLockRepository,
+                sessionService, meterRegistry, 100, 24, 30, 900_000, 10);
+    }
+
+    @Test
+    void deletesInChunksUntilAShortChunk() {
+        when(schedulerLockRepository.acquire(eq(TokenMaintenanceService.LOCK_NAME), anyString(), any(), any()))
+                .thenReturn(1);
+        when(refreshTokenRepository.deleteExpiredChunk(any(), eq(100))).thenReturn(100, 100, 42);
+
+        service.runSweeps();
+
+        verify(refreshTokenRepository, times(3)).deleteExpiredChunk(any(LocalDateTime.class), eq(100));
+        assertEquals(242.0, meterRegistry.get("maintenance.sweep.rows")
+                .tag("table", "refresh_tokens").counter().count());
+    }
+
+    @Test
+    void holdsTheLeaseUntilTheNextRunIsDue() {
+        when(schedulerLockRepository.acquire(anyString(), anyString(), any(), any())).thenReturn(1);
+
+        service.runSweeps();
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> until = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(schedulerLockRepository).acquire(eq(TokenMaintenanceService.LOCK_NAME), anyString(), now.capture(),
+                until.capture());
+        assertEquals(now.getValue().plusMinutes(15), until.getValue());
+        verify(schedulerLockRepository, never()).release(anyString(), anyString(), any());
+    }
+
+    @Test
+    void flushesHeartbeatsBeforeExpiringSessions() {
+        when(schedulerLockRepository.acquire(anyString(), anyString(), any(), any())).thenReturn(1);
+
+        service.runSweeps();
+
+        InOrder inOrder = inOrder(sessionService, sessionActivityRepository);
+        inOrder.verify(sessionService).flushActivity();
+        inOrder.verify(sessionActivityRepository).deactivateExpiredChunk(any(LocalDateTime.class), eq(100));
+    }
+
+    @Test
+    void skipsWhenAnotherNodeHoldsTheLease() {
+        when(schedulerLockRepository.acquire(anyString(), anyString(), any(), any())).thenReturn(0);
+
+        service.runSweeps();
+
+        verifyNoInteractions(refreshTokenRepository, sessionActivityRepository);
+        verify(schedulerLockRepository, never()).release(anyString(), anyString(), any());
+    }
+}
@@ -0,0 +1,137 @@
+package com.cricketacademy.api.service;
+
+import com.cricketacademy.api.entity.UploadObject;
+import com.cricketacademy.api.exception.FileTooLargeException;
+import com.cricketacademy.api.repository.UploadObjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UploadStoreTest {
+
+    // SHA-256 of "hello"
+    private static final String HELLO_SHA256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    Path uploadDir;
+
+    private UploadObjectRepository uploadObjectRepository;
+    private UploadStore uploadStore;
+
+    @BeforeEach
+    void setUp() {
+        uploadObjectRepository = mock(UploadObjectRepository.class);
+        when(uploadObjectRepository.findById(any())).thenReturn(Optional.empty());
+        uploadStore = new UploadStore(uploadObjectRepository, uploadDir.toString());
+    }
+
+    @Test
+    void storesUnderContentHash() throws Exception {
+        UploadStore.StoredFile stored = uploadStore.store(stream("hello"), ".jpg", "image/jpeg", 1024);
+
+        assertEquals(HELLO_SHA256, stored.sha256());
+        assertEquals("/uploads/objects/2c/" + HELLO_SHA256 + ".jpg", stored.url());
+        assertFalse(stored.deduplicated());
+        assertEquals("hello", Files.readString(uploadDir.resolve("objects/2c/" + HELLO_SHA256 + ".jpg")));
+        verify(uploadObjectRepository).save(any(UploadObject.class));
+        try (var files = Files.list(uploadDir)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void returnsExistingObjectForSameContent() throws Exception {
+        UploadObject existing = new UploadObject();
+        existing.setSha256(HELLO_SHA256);
+        existing.setPath("objects/2c/" + HELLO_SHA256 + ".png");
+        Files.createDirectories(uploadDir.resolve("objects/2c"));
+        Files.writeString(uploadDir.resolve(existing.getPath()), "hello");
+        when(uploadObjectRepository.findById(HELLO_SHA256)).thenReturn(Optional.of(existing));
+        when(uploadObjectRepository.touch(anyCollection(), any(LocalDateTime.class))).thenReturn(1);
+
+        UploadStore.StoredFile stored = uploadStore.store(stream("hello"), ".jpg", "image/jpeg", 1024);
+
+        assertTrue(stored.deduplicated());
+        assertEquals("/uploads/objects/2c/" + HELLO_SHA256 + ".png", stored.url());
+        assertFalse(Files.exists(uploadDir.resolve("objects/2c/" + HELLO_SHA256 + ".jpg")));
+        verify(uploadObjectRepository).touch(anyCollection(), any(LocalDateTime.class));
+        verify(uploadObjectRepository, never()).save(any());
+    }
+
+    @Test
+    void restoresObjectCollectedBetweenLookupAndTouch() throws Exception {
+        UploadObject existing = new UploadObject();
+        existing.setSha256(HELLO_SHA256);
+        existing.setPath("objects/2c/" + HELLO_SHA256 + ".jpg");
+        Files.createDirectories(uploadDir.resolve("objects/2c"));
+        Files.writeString(uploadDir.resolve(existing.getPath()), "stale");
+        when(uploadObjectRepository.findById(HELLO_SHA256)).thenReturn(Optional.of(existing));
+        when(uploadObjectRepository.touch(anyCollection(), any(LocalDateTime.class))).thenReturn(0);
+
+        UploadStore.StoredFile stored = uploadStore.store(stream("hello"), ".jpg", "image/jpeg", 1024);
+
+        assertFalse(stored.deduplicated());
+        assertEquals("/uploads/objects/2c/" + HELLO_SHA256 + ".jpg", stored.url());
+        assertEquals("hello", Files.readString(uploadDir.resolve(existing.getPath())));
+        ArgumentCaptor<UploadObject> saved = ArgumentCaptor.forClass(UploadObject.class);
+        verify(uploadObjectRepository).save(saved.capture());
+        assertNotSame(existing, saved.getValue());
+        assertEquals(HELLO_SHA256, saved.getValue().getSha256());
+        assertNotNull(saved.getValue().getCreatedAt());
+    }
+
+    @Test
+    void rejectsOversizedInput() {
+        assertThrows(FileTooLargeException.class,
+                () -> uploadStore.store(stream("hello"), ".jpg", "image/jpeg", 4));
+        verify(uploadObjectRepository, never()).save(any());
+    }
+
+    @Test
+    void deletesFileOnlyWhenRowWasDeleted() throws Exception {
+        UploadObject object = new UploadObject();
+        object.setSha256(HELLO_SHA256);
+        object.setPath("objects/2c/" + HELLO_SHA256 + ".jpg");
+        Files.createDirectories(uploadDir.resolve("objects/2c"));
+        Files.writeString(uploadDir.resolve(object.getPath()), "hello");
+        LocalDateTime cutoff = LocalDateTime.now();
+
+        when(uploadObjectRepository.deleteIfUnreferenced(eq(HELLO_SHA256), any())).thenReturn(0);
+        assertFalse(uploadStore.deleteIfUnreferenced(object, cutoff));
+        assertTrue(Files.exists(uploadDir.resolve(object.getPath())));
+
+        when(uploadObjectRepository.deleteIfUnreferenced(eq(HELLO_SHA256), any())).thenReturn(1);
+        assertTrue(uploadStore.deleteIfUnreferenced(object, cutoff));
+        assertFalse(Files.exists(uploadDir.resolve(object.getPath())));
+    }
+
+    @Test
+    void collectsHashesFromUrls() {
+        Set<String> hashes = new HashSet<>();
+        UploadStore.collectObjectHashes("https://example.com/uploads/objects/2c/" + HELLO_SHA256 + ".jpg", hashes);
+        UploadStore.collectObjectHashes("/uploads/legacy-name.jpg", hashes);
+        UploadStore.collectObjectHashes(null, hashes);
+
+        assertEquals(Set.of(HELLO_SHA256), hashes);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,72 @@
+package com.cricketacademy.api.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtClaimsCacheTest {
+
+    private static final String SECRET =
+            "Y3JpY2tldGFjYWRlbXlzZWNyZXRrZXl0aGF0aXNhdGxlYXN0MjU2Yml0c2xvbmdmb3JoczI1NmFsZ29yaXRobQ==";
+
+    private JwtClaimsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new JwtClaimsCache(SECRET, 3, 300);
+    }
+
+    @Test
+    void repeatedTokenIsServedFromCache() {
+        String token = token("a@test.com", 60_000);
+
+        Claims first = cache.parse(token);
+        Claims second = cache.parse(token);
+
+        assertSame(first, second);
+        assertEquals("a@test.com", second.getSubject());
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String token = token("a@test.com", 60_000);
+        cache.parse(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> cache.parse(tampered));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = token("a@test.com", -1_000);
+
+        assertThrows(ExpiredJwtException.class, () -> cache.parse(token));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void cacheStaysBounded() {
+        for (int i = 0; i < 10; i++) {
+            cache.parse(token("user" + i + "@test.com", 60_000));
+        }
+
+        assertTrue(cache.size() <= 3);
+    }
+
+    private String token(String subject, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(subject)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + ttlMillis))
+                .signWith(cache.getSigningKey())
+                .compact();
+    }
+}